@@ -9,6 +9,7 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main class of the E-Kart E-Commerce Backend application.
@@ -16,6 +17,7 @@ import org.springframework.core.env.Environment;
  */
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 @Slf4j
 @RequiredArgsConstructor
 public class EkartEcommerceBackendApplication {
@@ -0,0 +1,310 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link RedisCache} which can also read and write many entries in a single round trip: reads with one
+ * {@code MGET}, writes with one pipeline of {@code SET}s. Keys and values are converted exactly as for single
+ * entries, so both kinds of access share the same entries.
+ * <p>
+ * Loads through {@link #get(Object, Callable)}, i.e. {@code @Cacheable(sync = true)}, are also protected against
+ * stampedes across nodes:
+ * <ul>
+ *     <li>hot entries are refreshed ahead of their expiry with a probability which grows as the expiry nears and
+ *     as the value gets slower to compute (the XFetch algorithm), so they are recomputed once instead of being
+ *     missed by every node at the same time;</li>
+ *     <li>a missing or refreshed entry is recomputed by a single node, the one holding a short lived lock in Redis.
+ *     The other nodes keep serving the current value, or wait for the lock holder to write the new one;</li>
+ *     <li>within a node, a single thread per entry goes for the Redis lock. The other threads keep serving the
+ *     current value, or wait for that thread's result without polling Redis.</li>
+ * </ul>
+ * The time taken to compute an entry, the "delta" of XFetch, is stored next to it, under a key which expires with it.
+ */
+@Slf4j
+public class BulkRedisCache extends RedisCache {
+
+    private static final byte[] RELEASE_LOCK_SCRIPT = (
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end"
+    ).getBytes(StandardCharsets.UTF_8);
+    /**
+     * Stores the compute time of an entry with the remaining time to live of the entry, if it has one.
+     */
+    private static final byte[] STORE_DELTA_SCRIPT = (
+            "local ttl = redis.call('pttl', KEYS[1]) "
+                    + "if ttl > 0 then redis.call('set', KEYS[2], ARGV[1], 'px', ttl) return 1 else return 0 end"
+    ).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LOCK_SUFFIX = "~lock".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DELTA_SUFFIX = "~delta".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final EkartCacheProperties.Stampede stampede;
+
+    /**
+     * The loads of this node in progress, by cache key, which the other threads of this node wait for.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> loadsInFlight = new ConcurrentHashMap<>();
+
+    protected BulkRedisCache(
+            String name,
+            RedisCacheWriter cacheWriter,
+            RedisCacheConfiguration cacheConfiguration,
+            RedisConnectionFactory connectionFactory,
+            EkartCacheProperties.Stampede stampede
+    ) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+        this.stampede = stampede;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        String cacheKeyString = createCacheKey(key);
+        byte[] cacheKey = serializeCacheKey(cacheKeyString);
+        CachedEntry cached = lookup(cacheKey);
+        Object stored = cached != null ? deserializeCacheValue(cached.value()) : null;
+        if (stored != null && !shouldRefreshEarly(cached.remainingMillis(), cached.deltaMillis())) {
+            return (T) fromStoreValue(stored);
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> loadInFlight = this.loadsInFlight.putIfAbsent(cacheKeyString, load);
+        if (loadInFlight != null) {
+            return stored != null ? (T) fromStoreValue(stored) : (T) awaitLoad(loadInFlight);
+        }
+        try {
+            T value = lockAndLoad(key, cacheKey, stored, valueLoader);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loadsInFlight.remove(cacheKeyString, load);
+        }
+    }
+
+    /**
+     * @param keys the keys to look up
+     * @return the cached values by key, without the keys which are not cached
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        if (keys.isEmpty()) return Map.of();
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] cacheKeys = new byte[keyList.size()][];
+        for (int i = 0; i < cacheKeys.length; i++) cacheKeys[i] = serializeCacheKey(createCacheKey(keyList.get(i)));
+        List<byte[]> values;
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(cacheKeys);
+        }
+        Map<Object, Object> found = new HashMap<>();
+        if (values == null) return found;
+        for (int i = 0; i < cacheKeys.length; i++) {
+            byte[] value = values.get(i);
+            Object stored = value != null ? deserializeCacheValue(value) : null;
+            if (stored != null) found.put(keyList.get(i), fromStoreValue(stored));
+        }
+        return found;
+    }
+
+    /**
+     * Writes the given entries with the time to live of the cache. {@code null} values are skipped.
+     *
+     * @param entries the values to cache, by key
+     */
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) return;
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                if (value == null) return;
+                byte[] cacheKey = serializeCacheKey(createCacheKey(key));
+                byte[] cacheValue = serializeCacheValue(toStoreValue(value));
+                Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+                if (ttl.isZero() || ttl.isNegative()) connection.stringCommands().set(cacheKey, cacheValue);
+                else connection.stringCommands().set(cacheKey, cacheValue, Expiration.from(ttl), RedisStringCommands.SetOption.upsert());
+            });
+            connection.closePipeline();
+        }
+    }
+
+    /**
+     * Loads the entry if this node gets the lock, else waits for the lock holder to write it.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T lockAndLoad(Object key, byte[] cacheKey, @Nullable Object stored, Callable<T> valueLoader) {
+        byte[] lockKey = suffixed(cacheKey, LOCK_SUFFIX);
+        byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        if (tryLock(lockKey, token)) {
+            try {
+                return load(key, cacheKey, valueLoader);
+            } finally {
+                unlock(lockKey, token);
+            }
+        }
+        if (stored == null) stored = awaitValue(cacheKey);
+        if (stored != null) {
+            return (T) fromStoreValue(stored);
+        }
+        log.debug("Gave up waiting for the lock holder of {} in cache {}, computing it locally", key, getName());
+        return load(key, cacheKey, valueLoader);
+    }
+
+    private <T> T load(Object key, byte[] cacheKey, Callable<T> valueLoader) {
+        long start = System.nanoTime();
+        T value = loadCacheValue(key, valueLoader);
+        storeDelta(cacheKey, (System.nanoTime() - start) / 1_000_000);
+        return value;
+    }
+
+    /**
+     * A delta which could not be stored only disables the early refresh of the entry.
+     */
+    private void storeDelta(byte[] cacheKey, long deltaMillis) {
+        byte[] delta = String.valueOf(Math.max(deltaMillis, 1)).getBytes(StandardCharsets.UTF_8);
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            connection.scriptingCommands().eval(
+                    STORE_DELTA_SCRIPT, ReturnType.INTEGER, 2, cacheKey, suffixed(cacheKey, DELTA_SUFFIX), delta
+            );
+        } catch (RuntimeException e) {
+            log.warn("Could not store the compute time of an entry of cache {}", getName(), e);
+        }
+    }
+
+    /**
+     * Waits for the load of another thread of this node, failing as it failed.
+     */
+    @Nullable
+    private static Object awaitLoad(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Reads an entry along with its remaining time to live and its compute time, in a single round trip.
+     */
+    @Nullable
+    private CachedEntry lookup(byte[] cacheKey) {
+        List<Object> results;
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.stringCommands().get(cacheKey);
+            connection.keyCommands().pTtl(cacheKey);
+            connection.stringCommands().get(suffixed(cacheKey, DELTA_SUFFIX));
+            results = connection.closePipeline();
+        }
+        if (results.size() < 3 || !(results.get(0) instanceof byte[] value)) return null;
+        long remainingMillis = results.get(1) instanceof Long ttl ? ttl : -1;
+        long deltaMillis = results.get(2) instanceof byte[] delta ? parseDelta(delta) : 0;
+        return new CachedEntry(value, remainingMillis, deltaMillis);
+    }
+
+    private static long parseDelta(byte[] delta) {
+        try {
+            return Long.parseLong(new String(delta, StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * XFetch: refreshes when {@code -delta * beta * ln(random)} reaches the remaining time to live. Entries without
+     * expiry or without a known compute time are never refreshed early.
+     */
+    boolean shouldRefreshEarly(long remainingMillis, long deltaMillis) {
+        double beta = this.stampede.getEarlyRefreshBeta();
+        if (remainingMillis < 0 || beta <= 0 || deltaMillis <= 0) return false;
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return -deltaMillis * beta * Math.log(random) >= remainingMillis;
+    }
+
+    private boolean tryLock(byte[] lockKey, byte[] token) {
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            return Boolean.TRUE.equals(connection.stringCommands().set(
+                    lockKey,
+                    token,
+                    Expiration.from(this.stampede.getLockTimeout()),
+                    RedisStringCommands.SetOption.ifAbsent()
+            ));
+        }
+    }
+
+    /**
+     * Releases the lock only if it is still ours: it may have timed out and been taken by another node meanwhile.
+     */
+    private void unlock(byte[] lockKey, byte[] token) {
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            connection.scriptingCommands().eval(RELEASE_LOCK_SCRIPT, ReturnType.INTEGER, 1, lockKey, token);
+        } catch (RuntimeException e) {
+            log.warn("Could not release the lock of cache {}, it will expire by itself", getName(), e);
+        }
+    }
+
+    /**
+     * Polls for the entry the lock holder is computing, for at most the configured lock wait.
+     *
+     * @return the stored value, or {@code null} if it was not written in time
+     */
+    @Nullable
+    private Object awaitValue(byte[] cacheKey) {
+        long deadline = System.nanoTime() + this.stampede.getLockWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(this.stampede.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            byte[] value;
+            try (RedisConnection connection = this.connectionFactory.getConnection()) {
+                value = connection.stringCommands().get(cacheKey);
+            }
+            Object stored = value != null ? deserializeCacheValue(value) : null;
+            if (stored != null) return stored;
+        }
+        return null;
+    }
+
+    private static byte[] suffixed(byte[] cacheKey, byte[] suffix) {
+        byte[] suffixedKey = Arrays.copyOf(cacheKey, cacheKey.length + suffix.length);
+        System.arraycopy(suffix, 0, suffixedKey, cacheKey.length, suffix.length);
+        return suffixedKey;
+    }
+
+    private record CachedEntry(byte[] value, long remainingMillis, long deltaMillis) {
+    }
+
+}
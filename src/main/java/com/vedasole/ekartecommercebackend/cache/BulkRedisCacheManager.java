@@ -0,0 +1,68 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link RedisCacheManager} creating {@link BulkRedisCache}s, so that every cache supports multi-gets and is
+ * protected against stampedes. The values of each cache are written with a serializer of their own, which lets
+ * the serializers keep per-cache metrics.
+ */
+public class BulkRedisCacheManager extends RedisCacheManager {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final EkartCacheProperties.Stampede stampede;
+    private final Function<String, RedisSerializer<Object>> valueSerializers;
+
+    /**
+     * @param connectionFactory          the Redis connection factory
+     * @param defaultCacheConfiguration  the configuration of the caches without a configuration of their own
+     * @param initialCacheConfigurations the configurations of individual caches, by cache name
+     * @param stampede                   the stampede protection settings
+     * @param valueSerializers           creates the value serializer of a cache from its name
+     */
+    public BulkRedisCacheManager(
+            RedisConnectionFactory connectionFactory,
+            RedisCacheConfiguration defaultCacheConfiguration,
+            Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+            EkartCacheProperties.Stampede stampede,
+            Function<String, RedisSerializer<Object>> valueSerializers
+    ) {
+        super(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                defaultCacheConfiguration,
+                initialCacheConfigurations
+        );
+        this.connectionFactory = connectionFactory;
+        this.stampede = stampede;
+        this.valueSerializers = valueSerializers;
+    }
+
+    @Override
+    @NonNull
+    protected RedisCache createRedisCache(@NonNull String name, @Nullable RedisCacheConfiguration cacheConfiguration) {
+        RedisCacheConfiguration configuration = cacheConfiguration != null
+                ? cacheConfiguration
+                : getDefaultCacheConfiguration();
+        return new BulkRedisCache(
+                name,
+                getCacheWriter(),
+                configuration.serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(this.valueSerializers.apply(name))),
+                this.connectionFactory,
+                this.stampede
+        );
+    }
+
+}
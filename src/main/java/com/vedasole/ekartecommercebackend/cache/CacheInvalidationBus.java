@@ -0,0 +1,83 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache evictions to the other application nodes over Redis pub/sub and hands the evictions
+ * received from them to the local handlers, which drop the matching in-process entries.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final List<Consumer<CacheInvalidationMessage>> localHandlers = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    public void addLocalHandler(Consumer<CacheInvalidationMessage> localHandler) {
+        this.localHandlers.add(localHandler);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, TieredCache.localKey(key)));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        try {
+            CacheInvalidationMessage invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8),
+                    CacheInvalidationMessage.class
+            );
+            if (nodeId.equals(invalidation.nodeId())) return;
+            log.debug("Cache invalidation received from node {} for cache {} and key {}",
+                    invalidation.nodeId(), invalidation.cacheName(), invalidation.key());
+            localHandlers.forEach(localHandler -> localHandler.accept(invalidation));
+        } catch (Exception e) {
+            log.error("Failed to process cache invalidation message on channel {}", channel, e);
+        }
+    }
+
+    /**
+     * A failed broadcast must never fail the write which triggered it, so errors are only logged here;
+     * the other nodes will then serve their L1 copy until it expires.
+     */
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize cache invalidation message: {}", message, e);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast cache invalidation for cache {}: {}", message.cacheName(), e.getMessage());
+        }
+    }
+
+}
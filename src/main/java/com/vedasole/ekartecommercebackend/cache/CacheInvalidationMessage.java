@@ -0,0 +1,19 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Message broadcast over Redis pub/sub whenever a cache entry, or a whole cache, is evicted on one node.
+ *
+ * @param nodeId    id of the node which performed the eviction, so that it can ignore its own messages
+ * @param cacheName name of the affected cache
+ * @param key       string form of the evicted key, or {@code null} when the whole cache was cleared
+ */
+public record CacheInvalidationMessage(String nodeId, String cacheName, String key) {
+
+    @JsonIgnore
+    public boolean isClear() {
+        return key == null;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+/**
+ * Builds the keys and tags of the catalog caches. The key builders are used both from the {@code @Cacheable}
+ * SpEL expressions, e.g. {@code key = "T(com.vedasole.ekartecommercebackend.cache.CacheKeys).page(#page, #size, #sortBy, #sortOrder)"},
+ * and from code which has to tag or evict the very same entries.
+ */
+public final class CacheKeys {
+
+    private CacheKeys() {
+    }
+
+    public static String page(int page, int size, String sortBy, String sortOrder) {
+        return page + "-" + size + "-" + sortBy + "-" + sortOrder;
+    }
+
+    /**
+     * Key of a listing page within the partition of the given category, e.g. {@code 7:0-10-price-asc}.
+     */
+    public static String categoryPage(long categoryId, int page, int size, String sortBy, String sortOrder) {
+        return categoryId + ":" + page(page, size, sortBy, sortOrder);
+    }
+
+    /**
+     * Tag of every cached listing page which contains the given product.
+     */
+    public static String productTag(long productId) {
+        return "product:" + productId;
+    }
+
+    /**
+     * Tag of every cached entry which depends on the products of the given category: its listing pages and its product count.
+     */
+    public static String categoryTag(long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    /**
+     * Tag of every cached listing page ordered by the given field. Such pages have to be dropped when
+     * that field changes on any product, because the product may move in or out of them.
+     */
+    public static String sortTag(String sortBy) {
+        return "sort:" + sortBy;
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Redis backed index from tags (see {@link CacheKeys}) to the cache entries carrying them. It lets a write evict only
+ * the cached listing pages it actually affects, instead of wiping whole caches with {@code allEntries = true}.
+ * <p>
+ * Every tag is a Redis set of {@code cacheName::key} members which expires together with the pages it points to.
+ * Every eviction bumps a generation counter, which lets a loader tell whether an eviction ran while it was loading.
+ */
+@Slf4j
+@Component
+public class CacheTagIndex {
+
+    private static final String TAG_KEY_PREFIX = "ekart:cache:tag:";
+    private static final String GENERATION_KEY = "ekart:cache:tag-generation";
+    private static final String MEMBER_SEPARATOR = "::";
+
+    /**
+     * Bumps the generation in {@code KEYS[1]}, then reads and deletes the tag sets in the other keys, all at once, so
+     * that no member added in between is deleted without being evicted.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[1])
+            local members = {}
+            for i = 2, #KEYS do
+                for _, member in ipairs(redis.call('SMEMBERS', KEYS[i])) do
+                    members[#members + 1] = member
+                end
+                redis.call('DEL', KEYS[i])
+            end
+            return members
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheManager cacheManager;
+    private final Duration tagTimeToLive;
+
+    public CacheTagIndex(
+            StringRedisTemplate redisTemplate,
+            CacheManager cacheManager,
+            EkartCacheProperties ekartCacheProperties
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.cacheManager = cacheManager;
+        this.tagTimeToLive = ekartCacheProperties.getTagTimeToLive();
+    }
+
+    /**
+     * Returns the entry {@code key} of cache {@code cacheName}, loading it on a miss and tagging it with the tags of
+     * the loaded value. The tags are only known once the value is loaded, so an eviction of one of them may run between
+     * the read of the value and its tagging, and miss it; an entry loaded while any eviction ran is thus evicted again
+     * right after it was cached.
+     */
+    public <T> T get(String cacheName, String key, Supplier<T> loader, Function<? super T, Collection<String>> tagsOf) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return loader.get();
+        long[] generationAtLoad = new long[1];
+        boolean[] loaded = new boolean[1];
+        T value = cache.get(key, () -> {
+            generationAtLoad[0] = generation();
+            T loadedValue = loader.get();
+            tag(cacheName, key, tagsOf.apply(loadedValue));
+            loaded[0] = true;
+            return loadedValue;
+        });
+        if (loaded[0] && generation() != generationAtLoad[0]) {
+            cache.evict(key);
+            log.debug("Evicted cache entry {} of cache {} loaded during an eviction", key, cacheName);
+        }
+        return value;
+    }
+
+    /**
+     * Records that the entry {@code key} of cache {@code cacheName} carries the given tags.
+     */
+    private void tag(String cacheName, String key, Collection<String> tags) {
+        if (tags.isEmpty()) return;
+        String member = cacheName + MEMBER_SEPARATOR + key;
+        long ttlSeconds = tagTimeToLive.toSeconds();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (String tag : tags) {
+                    stringConnection.sAdd(TAG_KEY_PREFIX + tag, member);
+                    stringConnection.expire(TAG_KEY_PREFIX + tag, ttlSeconds);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to tag cache entry {} of cache {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the generation of the evictions, or {@code -1} if Redis cannot be reached
+     */
+    private long generation() {
+        try {
+            String generation = redisTemplate.opsForValue().get(GENERATION_KEY);
+            return generation != null ? Long.parseLong(generation) : 0;
+        } catch (Exception e) {
+            log.warn("Failed to read the cache tag generation: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Evicts every cache entry carrying at least one of the given tags. Inside a transaction the eviction is
+     * deferred until after commit, so that a concurrent reader cannot re-cache the pre-commit state.
+     * If the index itself cannot be read, the {@code fallbackCacheNames} are cleared entirely instead.
+     */
+    public void evictTagged(Collection<String> tags, String... fallbackCacheNames) {
+        if (tags.isEmpty()) return;
+        Set<String> tagsToEvict = Set.copyOf(tags);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictTagged(tagsToEvict, fallbackCacheNames);
+                }
+            });
+        } else {
+            doEvictTagged(tagsToEvict, fallbackCacheNames);
+        }
+    }
+
+    private void doEvictTagged(Set<String> tags, String... fallbackCacheNames) {
+        Set<String> members = new HashSet<>();
+        List<String> keys = new ArrayList<>(tags.size() + 1);
+        keys.add(GENERATION_KEY);
+        tags.forEach(tag -> keys.add(TAG_KEY_PREFIX + tag));
+        try {
+            List<?> tagged = redisTemplate.execute(EVICT_SCRIPT, keys);
+            if (tagged != null) tagged.forEach(member -> members.add(member.toString()));
+        } catch (Exception e) {
+            log.warn("Failed to read cache tags {}, clearing caches {} instead: {}",
+                    tags, List.of(fallbackCacheNames), e.getMessage());
+            for (String cacheName : fallbackCacheNames) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) cache.clear();
+            }
+            return;
+        }
+        for (String member : members) {
+            int separator = member.indexOf(MEMBER_SEPARATOR);
+            if (separator < 0) continue;
+            Cache cache = cacheManager.getCache(member.substring(0, separator));
+            if (cache != null) cache.evict(member.substring(separator + MEMBER_SEPARATOR.length()));
+        }
+        log.debug("Evicted {} cache entries tagged with {}", members.size(), tags);
+    }
+
+}
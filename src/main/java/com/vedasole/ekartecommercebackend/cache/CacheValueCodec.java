@@ -0,0 +1,163 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes the values of one Redis cache: the bytes of the underlying serializer, compressed when they are larger
+ * than a threshold, behind a small header carrying the schema version of the cached classes.
+ * <p>
+ * Entries which cannot be read back, because they were written with another schema version, by an older codec or
+ * with classes which have changed since, are treated as cache misses and get recomputed, rather than failing the
+ * request.
+ * <p>
+ * The encoded size and the encoding and decoding times are published per cache, as {@code cache.value.size} and
+ * {@code cache.codec.time}.
+ */
+@Slf4j
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xEC;
+    static final byte COMPRESSED = 1;
+    static final int FLAGS_OFFSET = 1 + 4;
+    static final int HEADER_LENGTH = FLAGS_OFFSET + 1 + 4;
+
+    private final String cacheName;
+    private final RedisSerializer<Object> serializer;
+    private final int schemaVersion;
+    private final long compressionThreshold;
+    private final DistributionSummary valueSize;
+    private final Timer encodeTime;
+    private final Timer decodeTime;
+
+    /**
+     * @param cacheName            the name of the cache, used in the metric tags
+     * @param serializer           serializes the values themselves
+     * @param schemaVersion        the current version of the cached classes
+     * @param compressionThreshold the size in bytes above which serialized values get compressed
+     * @param registry             the registry of the codec metrics
+     */
+    public CacheValueCodec(
+            String cacheName,
+            RedisSerializer<Object> serializer,
+            int schemaVersion,
+            long compressionThreshold,
+            MeterRegistry registry
+    ) {
+        this.cacheName = cacheName;
+        this.serializer = serializer;
+        this.schemaVersion = schemaVersion;
+        this.compressionThreshold = compressionThreshold;
+        this.valueSize = DistributionSummary.builder("cache.value.size")
+                .tag("cache", cacheName)
+                .baseUnit("bytes")
+                .description("Size of the values written to Redis, after compression")
+                .register(registry);
+        this.encodeTime = Timer.builder("cache.codec.time")
+                .tag("cache", cacheName).tag("operation", "encode")
+                .register(registry);
+        this.decodeTime = Timer.builder("cache.codec.time")
+                .tag("cache", cacheName).tag("operation", "decode")
+                .register(registry);
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) {
+        if (value == null) return new byte[0];
+        long start = System.nanoTime();
+        byte[] payload = this.serializer.serialize(value);
+        if (payload == null) payload = new byte[0];
+        int length = payload.length;
+        boolean compressed = length >= this.compressionThreshold;
+        if (compressed) payload = deflate(payload);
+        byte[] encoded = ByteBuffer.allocate(HEADER_LENGTH + payload.length)
+                .put(MAGIC)
+                .putInt(this.schemaVersion)
+                .put(compressed ? COMPRESSED : 0)
+                .putInt(length)
+                .put(payload)
+                .array();
+        this.encodeTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        this.valueSize.record(encoded.length);
+        return encoded;
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) {
+        if (bytes == null || bytes.length == 0) return null;
+        if (bytes.length < HEADER_LENGTH || bytes[0] != MAGIC) {
+            log.debug("Ignoring an entry of cache {} written by another codec", this.cacheName);
+            return null;
+        }
+        long start = System.nanoTime();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        int version = buffer.getInt();
+        if (version != this.schemaVersion) {
+            log.debug("Ignoring an entry of cache {} of schema version {}", this.cacheName, version);
+            return null;
+        }
+        boolean compressed = buffer.get() == COMPRESSED;
+        int length = buffer.getInt();
+        try {
+            byte[] payload = compressed
+                    ? inflate(bytes, HEADER_LENGTH, length)
+                    : Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+            return this.serializer.deserialize(payload);
+        } catch (SerializationException | DataFormatException e) {
+            log.warn("Ignoring an unreadable entry of cache {}: {}", this.cacheName, e.getMessage());
+            return null;
+        } finally {
+            this.decodeTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                deflated.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int length) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            byte[] inflated = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int count = inflater.inflate(inflated, read, length - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated value");
+                }
+                read += count;
+            }
+            return inflated;
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
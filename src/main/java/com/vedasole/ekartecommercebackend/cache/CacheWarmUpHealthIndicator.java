@@ -0,0 +1,29 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.lang.Nullable;
+
+/**
+ * Reports the node out of service while the {@link CatalogCacheWarmer} is running. Part of the readiness group,
+ * so that load balancers only send traffic once the caches are warm.
+ */
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CatalogCacheWarmer catalogCacheWarmer;
+
+    /**
+     * @param catalogCacheWarmer the warmer, {@code null} when the warm-up is disabled
+     */
+    public CacheWarmUpHealthIndicator(@Nullable CatalogCacheWarmer catalogCacheWarmer) {
+        this.catalogCacheWarmer = catalogCacheWarmer;
+    }
+
+    @Override
+    public Health health() {
+        return this.catalogCacheWarmer == null || this.catalogCacheWarmer.isCompleted()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "Warming up the catalog caches").build();
+    }
+
+}
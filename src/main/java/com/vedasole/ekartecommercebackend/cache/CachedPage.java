@@ -0,0 +1,35 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The cached form of a {@link Page}: its content and position, without the {@link PageImpl} and
+ * {@link PageRequest} classes, so that it is written by the {@link SmileCacheValueSerializer} like the other DTO
+ * caches. The page is rebuilt on read, with the sort of the request.
+ *
+ * @param content the elements of the page
+ * @param page    the number of the page
+ * @param size    the size of the page
+ * @param total   the number of elements across all pages
+ */
+public record CachedPage<T>(List<T> content, int page, int size, long total) implements Serializable {
+
+    public CachedPage {
+        content = List.copyOf(content);
+    }
+
+    public static <T> CachedPage<T> of(Page<T> page) {
+        return new CachedPage<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements());
+    }
+
+    public Page<T> toPage(Sort sort) {
+        return new PageImpl<>(content, PageRequest.of(page, size, sort), total);
+    }
+
+}
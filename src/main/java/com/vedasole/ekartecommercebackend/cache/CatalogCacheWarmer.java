@@ -0,0 +1,137 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import com.vedasole.ekartecommercebackend.payload.CategoryDto;
+import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
+import com.vedasole.ekartecommercebackend.service.service_interface.CategoryService;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preloads the hottest catalog entries into the caches once the application is ready, so that the first storefront
+ * requests after a deployment or a Redis flush do not all reach the database: the parent categories, the first pages
+ * of every category listing and the best selling products.
+ * <p>
+ * The loads go through the cached service methods, in parallel, and are bounded by a time budget. Until the warm-up
+ * is over, {@link CacheWarmUpHealthIndicator} keeps the node out of the readiness group.
+ */
+@Slf4j
+public class CatalogCacheWarmer {
+
+    private static final String SORT_BY = "productId";
+    private static final String SORT_ORDER = "asc";
+
+    private final CategoryService categoryService;
+    private final ProductService productService;
+    private final OrderItemRepo orderItemRepo;
+    private final EkartCacheProperties.WarmUp properties;
+
+    private volatile boolean completed;
+
+    public CatalogCacheWarmer(
+            CategoryService categoryService,
+            ProductService productService,
+            OrderItemRepo orderItemRepo,
+            EkartCacheProperties.WarmUp properties
+    ) {
+        this.categoryService = categoryService;
+        this.productService = productService;
+        this.orderItemRepo = orderItemRepo;
+        this.properties = properties;
+    }
+
+    /**
+     * Starts the warm-up in the background, leaving the other ready listeners free to run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::warmUp, "cache-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Loads the catalog entries, waiting at most for the time budget.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, this.properties.getParallelism()));
+        try {
+            List<Future<Object>> loads = executor.invokeAll(
+                    loads(),
+                    this.properties.getTimeBudget().toMillis(),
+                    TimeUnit.MILLISECONDS
+            );
+            int failed = 0;
+            int cancelled = 0;
+            for (Future<Object> load : loads) {
+                if (load.isCancelled()) {
+                    cancelled++;
+                    continue;
+                }
+                try {
+                    load.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.debug("Cache warm-up load failed", e.getCause());
+                }
+            }
+            log.info("Cache warm-up ran {} loads in {} ms, {} failed, {} abandoned past the time budget",
+                    loads.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed, cancelled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Cache warm-up failed", e);
+        } finally {
+            executor.shutdownNow();
+            this.completed = true;
+        }
+    }
+
+    /**
+     * @return whether the warm-up has completed, or given up
+     */
+    public boolean isCompleted() {
+        return this.completed;
+    }
+
+    private List<Callable<Object>> loads() {
+        List<Callable<Object>> loads = new ArrayList<>();
+        loads.add(this.categoryService::getAllParentCategories);
+        loads.add(this::loadTopSellingProducts);
+        for (CategoryDto category : this.categoryService.getAllCategories()) {
+            loads.add(() -> loadCategoryPages(category.getCategoryId()));
+        }
+        return loads;
+    }
+
+    private Object loadTopSellingProducts() {
+        if (this.properties.getTopSellingProducts() <= 0) return List.of();
+        List<Long> productIds = this.orderItemRepo.findTopSellingProductIds(
+                PageRequest.of(0, this.properties.getTopSellingProducts()));
+        return productIds.isEmpty() ? productIds : this.productService.getProductsByIds(productIds);
+    }
+
+    private Object loadCategoryPages(long categoryId) {
+        for (int page = 0; page < this.properties.getPagesPerCategory(); page++) {
+            Page<?> products = this.productService.getAllProductsByCategoryPerPage(
+                    categoryId, page, this.properties.getPageSize(), SORT_BY, SORT_ORDER);
+            if (!products.hasNext()) break;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import java.util.Set;
+
+/**
+ * Published by the {@link CatalogVersionTracker} once the versions of the given scopes have moved.
+ */
+public record CatalogChangedEvent(Set<String> scopes) { }
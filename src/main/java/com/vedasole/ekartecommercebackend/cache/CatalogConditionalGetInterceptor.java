@@ -0,0 +1,111 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.utility.Representation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Answers conditional GET requests of the catalog endpoints before they reach the controllers.
+ * <p>
+ * Every catalog response carries an {@code ETag} and a {@code Last-Modified} date derived from the
+ * {@link CatalogVersionTracker} version of the scope it depends on. When the request's {@code If-None-Match} or
+ * {@code If-Modified-Since} header still matches that version, a {@code 304 Not Modified} is sent straight away,
+ * so neither the service layer nor the caches are involved. The responses are marked {@code no-cache} instead of
+ * the default {@code no-store}, so that browsers keep them and revalidate them.
+ * <p>
+ * The HAL and the {@link Representation lean} representations of a resource get distinct ETags, as their bodies differ.
+ */
+@Component
+public class CatalogConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+    /**
+     * The conditional endpoints, each with the scope its responses depend on.
+     * Search and suggestions are left out as they are served from indexes refreshed asynchronously.
+     */
+    private static final Map<PathPattern, Function<Map<String, String>, String>> SCOPES = new LinkedHashMap<>();
+
+    static {
+        SCOPES.put(PARSER.parse("/api/v1/products/{productId:\\d+}"),
+                variables -> CacheKeys.productTag(Long.parseLong(variables.get("productId"))));
+        SCOPES.put(PARSER.parse("/api/v1/products/category/{categoryId:\\d+}"),
+                variables -> CacheKeys.categoryTag(Long.parseLong(variables.get("categoryId"))));
+        SCOPES.put(PARSER.parse("/api/v1/products/category/{categoryId:\\d+}/page"),
+                variables -> CacheKeys.categoryTag(Long.parseLong(variables.get("categoryId"))));
+        for (String path : new String[]{"/api/v1/products", "/api/v1/products/page", "/api/v1/products/cursor", "/api/v1/products/count"}) {
+            SCOPES.put(PARSER.parse(path), variables -> CatalogVersionTracker.ALL_PRODUCTS);
+        }
+        for (String path : new String[]{"/api/v1/categories", "/api/v1/categories/{categoryId:\\d+}", "/api/v1/categories/page",
+                "/api/v1/categories/parent", "/api/v1/categories/parent/page", "/api/v1/categories/count"}) {
+            SCOPES.put(PARSER.parse(path), variables -> CatalogVersionTracker.ALL_CATEGORIES);
+        }
+    }
+
+    private final CatalogVersionTracker catalogVersionTracker;
+
+    public CatalogConditionalGetInterceptor(CatalogVersionTracker catalogVersionTracker) {
+        this.catalogVersionTracker = catalogVersionTracker;
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) return true;
+        String scope = scopeOf(request.getRequestURI().substring(request.getContextPath().length()));
+        if (scope == null) return true;
+        long version = this.catalogVersionTracker.version(request, scope);
+        if (version < 0) return true;
+        return !checkNotModified(request, response, version);
+    }
+
+    /**
+     * @return the scope the responses of the given path depend on, or {@code null} if they are not conditional
+     */
+    static String scopeOf(String path) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Map.Entry<PathPattern, Function<Map<String, String>, String>> entry : SCOPES.entrySet()) {
+            PathPattern.PathMatchInfo matchInfo = entry.getKey().matchAndExtract(pathContainer);
+            if (matchInfo != null) return entry.getValue().apply(matchInfo.getUriVariables());
+        }
+        return null;
+    }
+
+    /**
+     * Sets the validators of the given version on the response and checks them against the request.
+     * The response may be stored by clients but must be revalidated before each use.
+     *
+     * @return whether a {@code 304 Not Modified} has been set on the response
+     */
+    static boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, long version) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return new ServletWebRequest(request, response).checkNotModified(etag(version, Representation.isLean(request)), version);
+    }
+
+    static String etag(long version) {
+        return etag(version, false);
+    }
+
+    static String etag(long version, boolean lean) {
+        return "\"" + Long.toString(version, 36) + (lean ? "-lean" : "") + "\"";
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis backed version counters of the catalog, used as HTTP validators of the catalog endpoints.
+ * <p>
+ * A version is kept per scope: {@link #ALL_PRODUCTS} for the product listings, a {@link CacheKeys#productTag product tag}
+ * for a single product, a {@link CacheKeys#categoryTag category tag} for the products of a category and
+ * {@link #ALL_CATEGORIES} for the category endpoints. Each version is the epoch time in milliseconds, rounded to the
+ * second, of the last change in its scope, and strictly increases with every change, so it serves both as a strong
+ * ETag and as an exact {@code Last-Modified} date.
+ */
+@Slf4j
+@Component
+public class CatalogVersionTracker {
+
+    public static final String ALL_PRODUCTS = "products";
+    public static final String ALL_CATEGORIES = "categories";
+
+    private static final String VERSION_KEY_PREFIX = "ekart:catalog:version:";
+    private static final String VERSION_ATTRIBUTE_PREFIX = CatalogVersionTracker.class.getName() + ".";
+
+    /**
+     * Moves the version to the current second, or to the second after the previous version if that is later.
+     */
+    private static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            local previous = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local next = math.max(tonumber(ARGV[1]), previous - previous % 1000 + 1000)
+            redis.call('SET', KEYS[1], next)
+            return next
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogVersionTracker(StringRedisTemplate redisTemplate, ApplicationEventPublisher eventPublisher) {
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Same as {@link #version(String)}, read once per request so that every layer handling the request
+     * sees the same version.
+     */
+    public long version(HttpServletRequest request, String scope) {
+        String attribute = VERSION_ATTRIBUTE_PREFIX + scope;
+        if (request.getAttribute(attribute) instanceof Long version) return version;
+        long version = version(scope);
+        request.setAttribute(attribute, version);
+        return version;
+    }
+
+    /**
+     * Returns the current version of a scope. A scope which has never changed is given the current second
+     * as its version, so that every node hands out the same validators from then on.
+     *
+     * @return the version, or {@code -1} if Redis cannot be reached and no validator should be used
+     */
+    public long version(String scope) {
+        String key = VERSION_KEY_PREFIX + scope;
+        try {
+            String version = redisTemplate.opsForValue().get(key);
+            if (version == null) {
+                redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(currentSecond()));
+                version = redisTemplate.opsForValue().get(key);
+            }
+            return version != null ? Long.parseLong(version) : -1;
+        } catch (Exception e) {
+            log.warn("Failed to read the catalog version of {}: {}", scope, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Records a change in the given scopes. Inside a transaction the versions move after commit, once the caches have
+     * been evicted, so that a client can never get the new version along with the old content.
+     */
+    public void changed(Collection<String> scopes) {
+        if (scopes.isEmpty()) return;
+        Set<String> scopesToBump = Set.copyOf(scopes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(scopesToBump);
+                }
+            });
+        } else {
+            bump(scopesToBump);
+        }
+    }
+
+    private void bump(Set<String> scopes) {
+        String now = String.valueOf(currentSecond());
+        for (String scope : scopes) {
+            try {
+                redisTemplate.execute(BUMP_SCRIPT, List.of(VERSION_KEY_PREFIX + scope), now);
+            } catch (Exception e) {
+                log.warn("Failed to bump the catalog version of {}, dropping it instead: {}", scope, e.getMessage());
+                dropVersion(scope);
+            }
+        }
+        log.debug("Bumped the catalog versions of {}", scopes);
+        eventPublisher.publishEvent(new CatalogChangedEvent(scopes));
+    }
+
+    /**
+     * A dropped version is recreated with the current second on the next read, which still invalidates the validators
+     * handed out so far, unless a change happens within the same second as that read.
+     */
+    private void dropVersion(String scope) {
+        try {
+            redisTemplate.delete(VERSION_KEY_PREFIX + scope);
+        } catch (Exception e) {
+            log.warn("Failed to drop the catalog version of {}: {}", scope, e.getMessage());
+        }
+    }
+
+    private static long currentSecond() {
+        long now = System.currentTimeMillis();
+        return now - now % 1000;
+    }
+
+}
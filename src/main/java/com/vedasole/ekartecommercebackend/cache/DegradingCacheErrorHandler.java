@@ -0,0 +1,45 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Keeps the {@code @Cacheable} methods working when a cache call fails: a failed lookup is treated as a miss, so the
+ * method reads from the database, and failed writes and evictions are logged rather than failing the request.
+ * <p>
+ * Redis outages are mostly absorbed by {@link TieredCache} and its {@link RedisCircuitBreaker} already; this handler
+ * covers whatever gets past them, e.g. values which cannot be serialized.
+ */
+@Slf4j
+public class DegradingCacheErrorHandler implements CacheErrorHandler {
+
+    @Override
+    public void handleCacheGetError(@NonNull RuntimeException exception, @NonNull Cache cache, @NonNull Object key) {
+        log.warn("Cache {} lookup of {} failed, reading from the database instead", cache.getName(), key, exception);
+    }
+
+    @Override
+    public void handleCachePutError(
+            @NonNull RuntimeException exception,
+            @NonNull Cache cache,
+            @NonNull Object key,
+            @Nullable Object value
+    ) {
+        log.warn("Cache {} write of {} failed", cache.getName(), key, exception);
+    }
+
+    @Override
+    public void handleCacheEvictError(@NonNull RuntimeException exception, @NonNull Cache cache, @NonNull Object key) {
+        log.error("Cache {} eviction of {} failed, the entry may be stale until it expires",
+                cache.getName(), key, exception);
+    }
+
+    @Override
+    public void handleCacheClearError(@NonNull RuntimeException exception, @NonNull Cache cache) {
+        log.error("Cache {} clear failed, its entries may be stale until they expire", cache.getName(), exception);
+    }
+
+}
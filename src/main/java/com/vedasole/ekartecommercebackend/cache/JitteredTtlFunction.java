@@ -0,0 +1,32 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time to live of the Redis entries, randomly shortened or lengthened by up to a share of the base TTL, so that
+ * entries written together, e.g. right after a deployment or a catalog change, do not all expire together.
+ *
+ * @param timeToLive the base time to live, zero for entries which never expire
+ * @param jitter     the share of the base TTL by which each entry's TTL may differ from it, between 0 and 1
+ */
+public record JitteredTtlFunction(Duration timeToLive, double jitter) implements RedisCacheWriter.TtlFunction {
+
+    public JitteredTtlFunction {
+        if (jitter < 0 || jitter >= 1) throw new IllegalArgumentException("The TTL jitter must be between 0 and 1");
+    }
+
+    @Override
+    @NonNull
+    public Duration getTimeToLive(@NonNull Object key, @Nullable Object value) {
+        long millis = this.timeToLive.toMillis();
+        long spread = (long) (millis * this.jitter);
+        if (millis <= 0 || spread == 0) return this.timeToLive;
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(-spread, spread + 1));
+    }
+
+}
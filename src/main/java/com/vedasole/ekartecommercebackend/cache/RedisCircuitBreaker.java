@@ -0,0 +1,115 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker of the Redis cache tier, shared by every {@link TieredCache}.
+ * <p>
+ * After a number of consecutive Redis failures the circuit opens: the caches stop calling Redis for a while and
+ * serve from their fallback tier or the database instead, rather than each request waiting for Redis to time out.
+ * Once the open duration has elapsed, a single call is let through as a probe; the circuit closes again if it
+ * succeeds. A probe which reports neither success nor failure within the probe timeout counts as failed, so that the
+ * circuit cannot be left half-open.
+ * <p>
+ * The state is published as {@code cache.redis.circuit.state}: 0 when closed, 1 when open, 2 when half-open.
+ */
+@Slf4j
+public class RedisCircuitBreaker implements MeterBinder {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    static final Duration DEFAULT_PROBE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Duration probeTimeout;
+    private final Clock clock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private volatile long openedAt;
+    private volatile long probedAt;
+
+    public RedisCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, DEFAULT_PROBE_TIMEOUT);
+    }
+
+    public RedisCircuitBreaker(int failureThreshold, Duration openDuration, Duration probeTimeout) {
+        this(failureThreshold, openDuration, probeTimeout, Clock.systemUTC());
+    }
+
+    RedisCircuitBreaker(int failureThreshold, Duration openDuration, Duration probeTimeout, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.probeTimeout = probeTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether Redis may be called. Once the circuit has been open long enough, the first caller gets to
+     * probe Redis while the others keep being rejected; a probe which does not report back in time opens the circuit
+     * again.
+     */
+    public boolean allowRequest() {
+        State current = this.state.get();
+        if (current == State.CLOSED) return true;
+        long now = this.clock.millis();
+        if (current == State.HALF_OPEN && now - this.probedAt >= this.probeTimeout.toMillis()) {
+            this.openedAt = now;
+            if (this.state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+                log.warn("The Redis probe did not complete within {}, keeping the cache circuit open", this.probeTimeout);
+            }
+        } else if (current == State.OPEN && now - this.openedAt >= this.openDuration.toMillis()) {
+            this.probedAt = now;
+            if (this.state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                log.info("Probing Redis after {} of open circuit", this.openDuration);
+                return true;
+            }
+        }
+        this.rejectedCalls.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        this.consecutiveFailures.set(0);
+        if (this.state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis is reachable again, closing the cache circuit");
+        }
+    }
+
+    public void onFailure(Throwable failure) {
+        if (this.state.get() == State.HALF_OPEN || this.consecutiveFailures.incrementAndGet() >= this.failureThreshold) {
+            this.openedAt = this.clock.millis();
+            if (this.state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Opening the cache circuit for {} after Redis failures: {}", this.openDuration, failure.toString());
+            }
+        }
+    }
+
+    public State getState() {
+        return this.state.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("cache.redis.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("State of the Redis cache circuit: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        FunctionCounter.builder("cache.redis.circuit.rejected", this.rejectedCalls, LongAdder::sum)
+                .description("Cache calls which skipped Redis because the circuit was open")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the final JSON bytes of the hottest storefront endpoints, along with a gzipped copy, and writes them straight
+ * to the response. A hit skips the controllers, the cache deserialization, the HATEOAS and Jackson serialization and
+ * the response compression altogether.
+ * <p>
+ * Entries are keyed by the {@link CatalogVersionTracker} version of the scope the response depends on, so the product
+ * and category eviction hooks which move those versions invalidate them too, on every node. Entries of older versions
+ * are dropped locally as soon as a change is seen, and everywhere else once they expire.
+ */
+@Component
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    private static final List<PathPattern> CACHED_PATHS = Stream.of(
+            "/api/v1/products/page",
+            "/api/v1/products/category/{categoryId:\\d+}/page",
+            "/api/v1/categories/parent"
+    ).map(PathPatternParser.defaultInstance::parse).toList();
+    private static final String GZIP = "gzip";
+
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final EkartCacheProperties.Response properties;
+    private final Cache<String, CachedResponse> responses;
+
+    public ResponseBodyCacheFilter(CatalogVersionTracker catalogVersionTracker, EkartCacheProperties ekartCacheProperties) {
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.properties = ekartCacheProperties.getResponse();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(this.properties.getMaximumSize().toBytes())
+                .weigher((String key, CachedResponse response) -> response.size())
+                .expireAfterWrite(this.properties.getTimeToLive())
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !this.properties.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !isCachedPath(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String scope = CatalogConditionalGetInterceptor.scopeOf(path(request));
+        long version = scope != null ? this.catalogVersionTracker.version(request, scope) : -1;
+        if (version < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = key(scope, version, request);
+        CachedResponse cached = this.responses.getIfPresent(key);
+        if (cached != null) {
+            if (!CatalogConditionalGetInterceptor.checkNotModified(request, response, version)) {
+                write(cached, request, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        byte[] body = responseWrapper.getContentAsByteArray();
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK
+                && isJson(responseWrapper.getContentType())
+                && body.length <= this.properties.getMaximumEntrySize().toBytes()) {
+            this.responses.put(key, new CachedResponse(responseWrapper.getContentType(), body, gzip(body)));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Drops the entries of the scopes which just changed. Their keys carry the old version, so they would never be
+     * read again anyway; this only frees the memory early.
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        this.responses.asMap().keySet().removeIf(key -> event.scopes().contains(key.substring(0, key.indexOf('@'))));
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(cached.contentType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = cached.body();
+        if (cached.gzippedBody() != null && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            body = cached.gzippedBody();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * The key holds everything the response depends on: the catalog version, the path and query, and the
+     * requested media type, which chooses between plain JSON, HAL and the lean representation.
+     */
+    private static String key(String scope, long version, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(scope).append('@').append(version).append(' ').append(path(request));
+        if (request.getQueryString() != null) key.append('?').append(request.getQueryString());
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) key.append(' ').append(accept);
+        return key.toString();
+    }
+
+    private byte[] gzip(byte[] body) {
+        if (body.length < this.properties.getCompressionThreshold().toBytes()) return null;
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return gzipped.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) return false;
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mediaType.getSubtype().equals("json") || mediaType.getSubtype().endsWith("+json");
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean isCachedPath(String path) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        return CACHED_PATHS.stream().anyMatch(pattern -> pattern.matches(pathContainer));
+    }
+
+    private record CachedResponse(String contentType, byte[] body, byte[] gzippedBody) {
+
+        int size() {
+            return body.length + (gzippedBody != null ? gzippedBody.length : 0);
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Map;
+
+/**
+ * Keeps the Hibernate second-level cache of the categories and products coherent across nodes.
+ * <p>
+ * Hibernate only invalidates the second-level cache of the node which made a change, so the changes committed here
+ * are broadcast through the {@link CacheInvalidationBus}, and the ones received from the other nodes are evicted
+ * from the local regions. A category change, including a new category, also drops the cached parent category query,
+ * whose results Hibernate would otherwise only invalidate on the node which made the change. A new product is not
+ * broadcast: no node can hold it yet, and no product query is cached.
+ */
+@Slf4j
+public class SecondLevelCacheInvalidator
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    /**
+     * Prefix of the invalidation messages of the second-level cache regions, so that they cannot be mistaken for the
+     * messages of the Spring caches.
+     */
+    static final String REGION_PREFIX = "hibernate:";
+
+    private static final Map<Class<?>, String> REGIONS = Map.of(
+            Category.class, Category.CACHE_REGION,
+            Product.class, Product.CACHE_REGION
+    );
+
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheImplementor cache;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheInvalidationBus invalidationBus) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.invalidationBus = invalidationBus;
+        this.cache = sessionFactory.getCache();
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        if (registry != null) {
+            registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+            registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+            registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        }
+        invalidationBus.addLocalHandler(this::applyRemoteInvalidation);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return REGIONS.containsKey(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Category) publish(Category.class, event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // nothing was committed, so the other nodes hold no stale entry
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getEntity().getClass(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // nothing was committed, so the other nodes hold no stale entry
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getEntity().getClass(), event.getId());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // nothing was committed, so the other nodes hold no stale entry
+    }
+
+    private void publish(Class<?> entityClass, Object id) {
+        String region = REGIONS.get(entityClass);
+        if (region != null) this.invalidationBus.publishEvict(REGION_PREFIX + region, id);
+    }
+
+    private void applyRemoteInvalidation(CacheInvalidationMessage message) {
+        if (!message.cacheName().startsWith(REGION_PREFIX)) return;
+        String region = message.cacheName().substring(REGION_PREFIX.length());
+        if (Category.CACHE_REGION.equals(region)) {
+            evict(Category.class, message.key());
+            this.cache.evictQueryRegion(CategoryRepo.PARENT_CATEGORIES_QUERY_REGION);
+        } else if (Product.CACHE_REGION.equals(region)) {
+            evict(Product.class, message.key());
+        }
+    }
+
+    private void evict(Class<?> entityClass, String id) {
+        if (id == null) this.cache.evictEntityData(entityClass);
+        else this.cache.evictEntityData(entityClass, Long.valueOf(id));
+        log.debug("Evicted {} {} from the second-level cache on remote change", entityClass.getSimpleName(), id);
+    }
+
+}
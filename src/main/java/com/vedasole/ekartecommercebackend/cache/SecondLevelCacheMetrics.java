@@ -0,0 +1,74 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the hits, misses and puts of the Hibernate second-level cache regions, e.g.
+ * {@code /actuator/metrics/cache.l2c.hits?tag=region:product}. Requires {@code hibernate.generate_statistics}.
+ */
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private static final List<String> ENTITY_REGIONS = List.of(Category.CACHE_REGION, Product.CACHE_REGION);
+    private static final List<String> QUERY_REGIONS = List.of(CategoryRepo.PARENT_CATEGORIES_QUERY_REGION);
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (String region : ENTITY_REGIONS) bindRegion(registry, region, false);
+        for (String region : QUERY_REGIONS) bindRegion(registry, region, true);
+    }
+
+    private void bindRegion(MeterRegistry registry, String region, boolean queryRegion) {
+        bindCount(registry, region, queryRegion, "cache.l2c.hits", CacheRegionStatistics::getHitCount);
+        bindCount(registry, region, queryRegion, "cache.l2c.misses", CacheRegionStatistics::getMissCount);
+        bindCount(registry, region, queryRegion, "cache.l2c.puts", CacheRegionStatistics::getPutCount);
+    }
+
+    private void bindCount(
+            MeterRegistry registry,
+            String region,
+            boolean queryRegion,
+            String name,
+            ToLongFunction<CacheRegionStatistics> count
+    ) {
+        FunctionCounter.builder(name, this, metrics -> {
+                    CacheRegionStatistics regionStatistics = metrics.regionStatistics(region, queryRegion);
+                    return regionStatistics != null ? count.applyAsLong(regionStatistics) : 0;
+                })
+                .tag("region", region)
+                .register(registry);
+    }
+
+    /**
+     * @return the statistics of the region, {@code null} while it does not exist yet: query regions are only created
+     * on their first use
+     */
+    private CacheRegionStatistics regionStatistics(String region, boolean queryRegion) {
+        try {
+            return queryRegion
+                    ? this.statistics.getQueryRegionStatistics(region)
+                    : this.statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
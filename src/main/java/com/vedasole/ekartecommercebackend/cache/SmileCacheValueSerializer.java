@@ -0,0 +1,89 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Serializes the values of a cache holding a single known type to Smile, the binary form of JSON. Unlike the JDK
+ * serializer it writes no class descriptors, so the values are smaller and faster to read, and it is used by the
+ * {@link CacheValueCodec}, which still adds its header, for the caches of the catalog DTOs.
+ * <p>
+ * The values are written in full: the JSON filters and date formats of the API representations are ignored, so a
+ * value reads back exactly as it was cached. A cached {@code null} is written as an empty payload.
+ */
+public class SmileCacheValueSerializer implements RedisSerializer<Object> {
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    /**
+     * @param smileMapper the mapper, see {@link #smileMapper()}
+     * @param valueType   the type of every value of the cache
+     */
+    public SmileCacheValueSerializer(ObjectMapper smileMapper, JavaType valueType) {
+        this.writer = smileMapper.writerFor(valueType);
+        this.reader = smileMapper.readerFor(valueType);
+    }
+
+    /**
+     * @return a Smile mapper writing the cached values in full, to share between the serializers of all caches
+     */
+    public static ObjectMapper smileMapper() {
+        ObjectMapper smileMapper = new SmileMapper();
+        smileMapper.registerModule(new JavaTimeModule());
+        smileMapper.setAnnotationIntrospector(new CacheAnnotationIntrospector());
+        smileMapper.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+        smileMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return smileMapper;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) {
+        if (value == null || value instanceof NullValue) return new byte[0];
+        try {
+            return this.writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write a cached value to Smile", e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) {
+        if (bytes == null) return null;
+        if (bytes.length == 0) return NullValue.INSTANCE;
+        try {
+            return this.reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read a cached value from Smile", e);
+        }
+    }
+
+    /**
+     * Ignores the {@link JsonFormat} patterns of the DTOs, which drop the fractions of seconds of their dates.
+     */
+    private static final class CacheAnnotationIntrospector extends JacksonAnnotationIntrospector {
+
+        @Override
+        public JsonFormat.Value findFormat(Annotated annotated) {
+            return JsonFormat.Value.empty();
+        }
+
+    }
+
+}
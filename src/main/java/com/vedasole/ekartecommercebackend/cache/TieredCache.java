@@ -0,0 +1,425 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Cache} which keeps an optional, bounded in-process (L1) tier in front of the shared Redis (L2) cache.
+ * <p>
+ * Reads are served from L1 when possible and fall through to Redis otherwise. Evictions are applied to both
+ * tiers and broadcast through the {@link CacheInvalidationBus} so that every other node drops its L1 copy too.
+ * <p>
+ * Redis calls go through the shared {@link RedisCircuitBreaker}. When Redis fails or the circuit is open, the cache
+ * degrades instead of failing: reads are served from L1, or from a bounded fallback tier for caches without one, and
+ * values are loaded straight from the database. The evictions Redis missed meanwhile are replayed once it is
+ * reachable again, so that it does not serve entries which changed during the outage.
+ */
+@Slf4j
+public class TieredCache implements Cache {
+
+    /**
+     * Beyond this many evictions pending, the whole cache is cleared once Redis is back.
+     */
+    private static final int MAX_PENDING_EVICTIONS = 10_000;
+
+    private final String name;
+    private final Cache redisCache;
+    @Nullable
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache;
+    @Nullable
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> fallbackCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder degradedCalls = new LongAdder();
+
+    private final Set<Object> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingClear = new AtomicBoolean();
+
+    /**
+     * @param name            the cache name
+     * @param redisCache      the Redis tier
+     * @param localCache      the L1 tier, {@code null} for caches without one
+     * @param fallbackCache   serves the caches without L1 tier while Redis is unavailable
+     * @param invalidationBus broadcasts the evictions to the other nodes
+     * @param circuitBreaker  guards the calls to Redis
+     */
+    public TieredCache(
+            String name,
+            Cache redisCache,
+            @Nullable com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache,
+            @Nullable com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> fallbackCache,
+            CacheInvalidationBus invalidationBus,
+            RedisCircuitBreaker circuitBreaker
+    ) {
+        this.name = name;
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.fallbackCache = fallbackCache;
+        this.invalidationBus = invalidationBus;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return this.redisCache.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper local = getLocal(key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        if (!this.circuitBreaker.allowRequest()) return getDegraded(key);
+        ValueWrapper remote;
+        try {
+            replayPendingEvictions();
+            remote = this.redisCache.get(key);
+            this.circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            this.circuitBreaker.onFailure(e);
+            return getDegraded(key);
+        }
+        if (remote == null) {
+            misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        putLocal(key, remote.get());
+        return remote;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper local = getLocal(key);
+        if (local != null) {
+            l1Hits.increment();
+            return (T) local.get();
+        }
+        if (!this.circuitBreaker.allowRequest()) return getDegraded(key, valueLoader);
+        AtomicBoolean loaded = new AtomicBoolean(false);
+        AtomicReference<T> loadedValue = new AtomicReference<>();
+        T value;
+        try {
+            replayPendingEvictions();
+            value = this.redisCache.get(key, () -> {
+                loaded.set(true);
+                loadedValue.set(valueLoader.call());
+                return loadedValue.get();
+            });
+            this.circuitBreaker.onSuccess();
+        } catch (ValueRetrievalException e) {
+            // the loader failed, not Redis, which answered the lookup
+            this.circuitBreaker.onSuccess();
+            throw e;
+        } catch (RuntimeException e) {
+            this.circuitBreaker.onFailure(e);
+            if (!loaded.get()) return getDegraded(key, valueLoader);
+            // the value was loaded but could not be written to Redis, which may still hold the previous one
+            this.pendingEvictions.add(key);
+            putDegraded(key, loadedValue.get());
+            return loadedValue.get();
+        }
+        if (loaded.get()) misses.increment();
+        else l2Hits.increment();
+        putLocal(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        if (!callRedis(() -> this.redisCache.put(key, value))) {
+            addPendingEviction(key);
+            putDegraded(key, value);
+        }
+        putLocal(key, value);
+    }
+
+    /**
+     * Looks up many keys at once: from L1 first, then the rest from Redis in a single round trip when the Redis cache
+     * supports it. The values found in Redis are copied to L1.
+     *
+     * @param keys the keys to look up
+     * @return the cached values by key, without the keys which are not cached
+     */
+    public Map<Object, Object> getAll(@NonNull Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            ValueWrapper local = getLocal(key);
+            if (local != null) found.put(key, local.get());
+            else remoteKeys.add(key);
+        }
+        l1Hits.add(found.size());
+        if (remoteKeys.isEmpty()) return found;
+        Map<Object, Object> remote = new HashMap<>();
+        boolean reachedRedis = callRedis(() -> {
+            if (this.redisCache instanceof BulkRedisCache bulkRedisCache) {
+                remote.putAll(bulkRedisCache.getAll(remoteKeys));
+            } else {
+                for (Object key : remoteKeys) {
+                    ValueWrapper wrapper = this.redisCache.get(key);
+                    if (wrapper != null) remote.put(key, wrapper.get());
+                }
+            }
+        });
+        if (!reachedRedis) {
+            for (Object key : remoteKeys) {
+                ValueWrapper wrapper = getDegraded(key);
+                if (wrapper != null) found.put(key, wrapper.get());
+            }
+            return found;
+        }
+        l2Hits.add(remote.size());
+        misses.add((long) remoteKeys.size() - remote.size());
+        remote.forEach(this::putLocal);
+        found.putAll(remote);
+        return found;
+    }
+
+    /**
+     * Writes many entries at once, to Redis in a single round trip when the Redis cache supports it, and to L1.
+     *
+     * @param entries the values to cache, by key
+     */
+    public void putAll(@NonNull Map<?, ?> entries) {
+        boolean reachedRedis = callRedis(() -> {
+            if (this.redisCache instanceof BulkRedisCache bulkRedisCache) bulkRedisCache.putAll(entries);
+            else entries.forEach(this.redisCache::put);
+        });
+        if (!reachedRedis) {
+            entries.forEach((key, value) -> {
+                addPendingEviction(key);
+                putDegraded(key, value);
+            });
+        }
+        entries.forEach(this::putLocal);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        if (!callRedis(() -> this.redisCache.evict(key))) addPendingEviction(key);
+        evictLocal(key);
+        this.invalidationBus.publishEvict(this.name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        AtomicBoolean present = new AtomicBoolean();
+        if (!callRedis(() -> present.set(this.redisCache.evictIfPresent(key)))) addPendingEviction(key);
+        evictLocal(key);
+        this.invalidationBus.publishEvict(this.name, key);
+        return present.get();
+    }
+
+    @Override
+    public void clear() {
+        if (!callRedis(this.redisCache::clear)) this.pendingClear.set(true);
+        clearLocal();
+        this.invalidationBus.publishClear(this.name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        AtomicBoolean invalidated = new AtomicBoolean();
+        if (!callRedis(() -> invalidated.set(this.redisCache.invalidate()))) this.pendingClear.set(true);
+        clearLocal();
+        this.invalidationBus.publishClear(this.name);
+        return invalidated.get();
+    }
+
+    /**
+     * Drops a single entry from the in-process tiers only. Used when another node reports an eviction.
+     *
+     * @param key the cache key, in its string form
+     */
+    public void evictLocal(@NonNull Object key) {
+        if (this.localCache != null) this.localCache.invalidate(localKey(key));
+        if (this.fallbackCache != null) this.fallbackCache.invalidate(localKey(key));
+    }
+
+    /**
+     * Drops every entry from the in-process tiers only. Used when another node reports a clear.
+     */
+    public void clearLocal() {
+        if (this.localCache != null) this.localCache.invalidateAll();
+        if (this.fallbackCache != null) this.fallbackCache.invalidateAll();
+    }
+
+    public boolean hasLocalTier() {
+        return this.localCache != null;
+    }
+
+    public long getL1Hits() {
+        return l1Hits.sum();
+    }
+
+    public long getL2Hits() {
+        return l2Hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of lookups served without Redis, because it failed or its circuit was open
+     */
+    public long getDegradedCalls() {
+        return degradedCalls.sum();
+    }
+
+    /**
+     * @return the share of all lookups answered by the in-process tier
+     */
+    public double getL1HitRatio() {
+        long total = getL1Hits() + getL2Hits() + getMisses();
+        return total == 0 ? 0.0 : (double) getL1Hits() / total;
+    }
+
+    /**
+     * @return the share of the lookups which reached Redis and were answered by it
+     */
+    public double getL2HitRatio() {
+        long reachedRedis = getL2Hits() + getMisses();
+        return reachedRedis == 0 ? 0.0 : (double) getL2Hits() / reachedRedis;
+    }
+
+    public long getL1Size() {
+        return this.localCache != null ? this.localCache.estimatedSize() : 0;
+    }
+
+    @Nullable
+    private ValueWrapper getLocal(Object key) {
+        return this.localCache != null ? this.localCache.getIfPresent(localKey(key)) : null;
+    }
+
+    private void putLocal(Object key, @Nullable Object value) {
+        if (this.localCache != null) this.localCache.put(localKey(key), new SimpleValueWrapper(value));
+    }
+
+    /**
+     * Runs a call to Redis through the circuit breaker.
+     *
+     * @return whether the call succeeded, {@code false} if it failed or the circuit was open
+     */
+    private boolean callRedis(Runnable call) {
+        if (!this.circuitBreaker.allowRequest()) return false;
+        try {
+            replayPendingEvictions();
+            call.run();
+            this.circuitBreaker.onSuccess();
+            return true;
+        } catch (RuntimeException e) {
+            this.circuitBreaker.onFailure(e);
+            log.debug("Redis call of cache {} failed: {}", this.name, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Applies to Redis the evictions it missed while it was unavailable. A failure leaves them pending.
+     */
+    private void replayPendingEvictions() {
+        if (this.pendingClear.compareAndSet(true, false)) {
+            try {
+                this.redisCache.clear();
+            } catch (RuntimeException e) {
+                this.pendingClear.set(true);
+                throw e;
+            }
+            this.pendingEvictions.clear();
+        }
+        for (Object key : this.pendingEvictions) {
+            this.redisCache.evict(key);
+            this.pendingEvictions.remove(key);
+        }
+    }
+
+    private void addPendingEviction(Object key) {
+        if (this.pendingEvictions.size() >= MAX_PENDING_EVICTIONS) this.pendingClear.set(true);
+        else this.pendingEvictions.add(key);
+    }
+
+    @Nullable
+    private ValueWrapper getDegraded(Object key) {
+        degradedCalls.increment();
+        return this.fallbackCache != null ? this.fallbackCache.getIfPresent(localKey(key)) : null;
+    }
+
+    /**
+     * Loads a value without Redis, at most once per key at a time on this node.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T> T getDegraded(Object key, Callable<T> valueLoader) {
+        degradedCalls.increment();
+        com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> degradedCache =
+                this.localCache != null ? this.localCache : this.fallbackCache;
+        if (degradedCache == null) return load(key, valueLoader);
+        return (T) degradedCache.get(localKey(key), k -> new SimpleValueWrapper(load(key, valueLoader))).get();
+    }
+
+    private void putDegraded(Object key, @Nullable Object value) {
+        if (this.fallbackCache != null) this.fallbackCache.put(localKey(key), new SimpleValueWrapper(value));
+    }
+
+    private static <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * L1 keys use the same string form the Redis cache uses, so that invalidation messages can carry them as text.
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CacheManager} which decorates every cache of the Redis cache manager with a {@link TieredCache}.
+ * Caches listed in {@code ekart.cache.near.cache-names} additionally get a bounded in-process L1 tier, the others a
+ * bounded fallback tier which is only used while Redis is unavailable.
+ */
+@Slf4j
+public class TieredCacheManager implements CacheManager {
+
+    private final CacheManager redisCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final EkartCacheProperties.Near nearProperties;
+    private final EkartCacheProperties.Fallback fallbackProperties;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ConcurrentMap<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(
+            CacheManager redisCacheManager,
+            CacheInvalidationBus invalidationBus,
+            EkartCacheProperties.Near nearProperties,
+            EkartCacheProperties.Fallback fallbackProperties,
+            RedisCircuitBreaker circuitBreaker
+    ) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.nearProperties = nearProperties;
+        this.fallbackProperties = fallbackProperties;
+        this.circuitBreaker = circuitBreaker;
+        this.invalidationBus.addLocalHandler(this::applyRemoteInvalidation);
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(@NonNull String name) {
+        TieredCache cache = this.caches.get(name);
+        if (cache != null) return cache;
+        Cache redisCache = this.redisCacheManager.getCache(name);
+        if (redisCache == null) return null;
+        return this.caches.computeIfAbsent(name, cacheName -> createTieredCache(cacheName, redisCache));
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(Set.copyOf(this.redisCacheManager.getCacheNames()));
+    }
+
+    /**
+     * @return the tiered caches created so far, for metrics and diagnostics
+     */
+    public Collection<TieredCache> getTieredCaches() {
+        return Collections.unmodifiableCollection(this.caches.values());
+    }
+
+    private TieredCache createTieredCache(String name, Cache redisCache) {
+        boolean nearCached = this.nearProperties.isEnabled() && this.nearProperties.getCacheNames().contains(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> localCache = nearCached
+                ? Caffeine.newBuilder()
+                        .maximumSize(this.nearProperties.getMaximumSize())
+                        .expireAfterWrite(this.nearProperties.getTimeToLive())
+                        .build()
+                : null;
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> fallbackCache = nearCached
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(this.fallbackProperties.getMaximumSize())
+                        .expireAfterWrite(this.fallbackProperties.getTimeToLive())
+                        .build();
+        log.debug("Created cache {} {} an in-process tier", name, nearCached ? "with" : "without");
+        return new TieredCache(name, redisCache, localCache, fallbackCache, this.invalidationBus, this.circuitBreaker);
+    }
+
+    private void applyRemoteInvalidation(CacheInvalidationMessage message) {
+        TieredCache cache = this.caches.get(message.cacheName());
+        if (cache == null) return;
+        if (message.isClear()) cache.clearLocal();
+        else cache.evictLocal(message.key());
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+
+/**
+ * Publishes per-cache L1 (in-process) and L2 (Redis) hit ratios and counters of the {@link TieredCacheManager},
+ * e.g. {@code /actuator/metrics/cache.tier.hit.ratio?tag=cache:product&tag=tier:l1}.
+ */
+public class TieredCacheMetrics implements MeterBinder {
+
+    private final TieredCacheManager cacheManager;
+    private final List<String> cacheNames;
+
+    public TieredCacheMetrics(TieredCacheManager cacheManager, List<String> cacheNames) {
+        this.cacheManager = cacheManager;
+        this.cacheNames = cacheNames;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TieredCache tieredCache) bindCache(registry, tieredCache);
+        }
+    }
+
+    private void bindCache(MeterRegistry registry, TieredCache cache) {
+        String name = cache.getName();
+        Gauge.builder("cache.tier.hit.ratio", cache, TieredCache::getL1HitRatio)
+                .tag("cache", name).tag("tier", "l1")
+                .description("Share of lookups answered by the in-process tier")
+                .register(registry);
+        Gauge.builder("cache.tier.hit.ratio", cache, TieredCache::getL2HitRatio)
+                .tag("cache", name).tag("tier", "l2")
+                .description("Share of lookups reaching Redis which were answered by it")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.hits", cache, TieredCache::getL1Hits)
+                .tag("cache", name).tag("tier", "l1")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.hits", cache, TieredCache::getL2Hits)
+                .tag("cache", name).tag("tier", "l2")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.misses", cache, TieredCache::getMisses)
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("cache.tier.degraded", cache, TieredCache::getDegradedCalls)
+                .tag("cache", name)
+                .description("Lookups served without Redis, because it failed or its circuit was open")
+                .register(registry);
+        Gauge.builder("cache.tier.size", cache, TieredCache::getL1Size)
+                .tag("cache", name).tag("tier", "l1")
+                .register(registry);
+    }
+
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.vedasole.ekartecommercebackend.repository.UserRepo;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
@@ -26,6 +27,8 @@ public class ApplicationConfig
 
     /**
      * Creates a new instance of the MapperConfig class.
+     * Entities and DTOs are mapped by the hand-written mappers of the mapper package;
+     * this reflective mapper is only a fallback for types which have none.
      *
      * @return a new MapperConfig instance
      */
@@ -46,6 +49,7 @@ public class ApplicationConfig
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.setFilterProvider(FieldSet.SERIALIZE_ALL);
         return objectMapper;
     }
 
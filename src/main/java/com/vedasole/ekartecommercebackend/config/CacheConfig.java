@@ -0,0 +1,240 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.vedasole.ekartecommercebackend.cache.BulkRedisCacheManager;
+import com.vedasole.ekartecommercebackend.cache.CacheInvalidationBus;
+import com.vedasole.ekartecommercebackend.cache.CacheValueCodec;
+import com.vedasole.ekartecommercebackend.cache.CacheWarmUpHealthIndicator;
+import com.vedasole.ekartecommercebackend.cache.CachedPage;
+import com.vedasole.ekartecommercebackend.cache.CatalogCacheWarmer;
+import com.vedasole.ekartecommercebackend.cache.DegradingCacheErrorHandler;
+import com.vedasole.ekartecommercebackend.cache.JitteredTtlFunction;
+import com.vedasole.ekartecommercebackend.cache.RedisCircuitBreaker;
+import com.vedasole.ekartecommercebackend.cache.SecondLevelCacheInvalidator;
+import com.vedasole.ekartecommercebackend.cache.SecondLevelCacheMetrics;
+import com.vedasole.ekartecommercebackend.cache.SmileCacheValueSerializer;
+import com.vedasole.ekartecommercebackend.cache.TieredCacheManager;
+import com.vedasole.ekartecommercebackend.cache.TieredCacheMetrics;
+import com.vedasole.ekartecommercebackend.payload.CategoryDto;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
+import com.vedasole.ekartecommercebackend.service.service_interface.CategoryService;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caching configuration. Replaces the auto-configured Redis cache manager with a {@link TieredCacheManager}
+ * which adds an in-process tier in front of Redis and keeps it coherent across nodes through Redis pub/sub.
+ * When Redis is unavailable the caches degrade to in-process tiers and database reads instead of failing.
+ */
+@Configuration
+@EnableConfigurationProperties({CacheProperties.class, EkartCacheProperties.class})
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class CacheConfig implements CachingConfigurer {
+
+    /**
+     * Creates the Redis backed cache manager, honouring the standard {@code spring.cache.redis.*} properties.
+     * The TTL of every entry is jittered, and can be set per cache with {@code ekart.cache.expiry.time-to-live.*}.
+     * Values are written by a {@link CacheValueCodec} of their cache, around a {@link SmileCacheValueSerializer} for
+     * the caches of the catalog DTOs and around the {@code cacheValueSerializer} for the others.
+     *
+     * @return the tiered cache manager used by all {@code @Cacheable} methods
+     */
+    @Bean
+    public TieredCacheManager cacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            CacheProperties cacheProperties,
+            EkartCacheProperties ekartCacheProperties,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Qualifier("cacheValueSerializer") RedisSerializer<Object> cacheValueSerializer,
+            MeterRegistry meterRegistry,
+            RedisCircuitBreaker redisCircuitBreaker
+    ) {
+        EkartCacheProperties.Codec codec = ekartCacheProperties.getCodec();
+        EkartCacheProperties.Expiry expiry = ekartCacheProperties.getExpiry();
+        ObjectMapper smileMapper = SmileCacheValueSerializer.smileMapper();
+        Map<String, JavaType> dtoCacheValueTypes = dtoCacheValueTypes(smileMapper.getTypeFactory());
+        RedisCacheConfiguration defaultCacheConfiguration = redisCacheConfiguration(cacheProperties.getRedis());
+        Duration defaultTimeToLive = cacheProperties.getRedis().getTimeToLive();
+        if (defaultTimeToLive != null) {
+            defaultCacheConfiguration = defaultCacheConfiguration.entryTtl(
+                    new JitteredTtlFunction(defaultTimeToLive, expiry.getJitter()));
+        }
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        for (Map.Entry<String, Duration> timeToLive : expiry.getTimeToLive().entrySet()) {
+            cacheConfigurations.put(timeToLive.getKey(), defaultCacheConfiguration.entryTtl(
+                    new JitteredTtlFunction(timeToLive.getValue(), expiry.getJitter())));
+        }
+        RedisCacheManager redisCacheManager = new BulkRedisCacheManager(
+                redisConnectionFactory,
+                defaultCacheConfiguration,
+                cacheConfigurations,
+                ekartCacheProperties.getStampede(),
+                cacheName -> new CacheValueCodec(
+                        cacheName,
+                        dtoCacheValueTypes.containsKey(cacheName)
+                                ? new SmileCacheValueSerializer(smileMapper, dtoCacheValueTypes.get(cacheName))
+                                : cacheValueSerializer,
+                        codec.getSchemaVersion(),
+                        codec.getCompressionThreshold().toBytes(),
+                        meterRegistry
+                )
+        );
+        redisCacheManager.afterPropertiesSet();
+        return new TieredCacheManager(
+                redisCacheManager,
+                cacheInvalidationBus,
+                ekartCacheProperties.getNear(),
+                ekartCacheProperties.getFallback(),
+                redisCircuitBreaker
+        );
+    }
+
+    /**
+     * @return the circuit breaker of the Redis cache tier, also publishing its state as a metric
+     */
+    @Bean
+    public RedisCircuitBreaker redisCircuitBreaker(EkartCacheProperties ekartCacheProperties) {
+        EkartCacheProperties.Fallback fallback = ekartCacheProperties.getFallback();
+        return new RedisCircuitBreaker(fallback.getFailureThreshold(), fallback.getOpenDuration(), fallback.getProbeTimeout());
+    }
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new DegradingCacheErrorHandler();
+    }
+
+    /**
+     * Serializes the values of the caches without a single DTO type, before the {@link CacheValueCodec} compresses
+     * them and adds its header. Declare a {@code cacheValueSerializer} bean to plug another format in.
+     *
+     * @return the JDK serializer, which handles every cached type including entities
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "cacheValueSerializer")
+    public RedisSerializer<Object> cacheValueSerializer() {
+        return new JdkSerializationRedisSerializer(getClass().getClassLoader());
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper,
+            EkartCacheProperties ekartCacheProperties
+    ) {
+        return new CacheInvalidationBus(stringRedisTemplate, objectMapper, ekartCacheProperties.getInvalidationChannel());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            CacheInvalidationBus cacheInvalidationBus
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public TieredCacheMetrics tieredCacheMetrics(
+            TieredCacheManager cacheManager,
+            EkartCacheProperties ekartCacheProperties
+    ) {
+        return new TieredCacheMetrics(cacheManager, ekartCacheProperties.getNear().getCacheNames());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ekart.cache.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+    public CatalogCacheWarmer catalogCacheWarmer(
+            CategoryService categoryService,
+            ProductService productService,
+            OrderItemRepo orderItemRepo,
+            EkartCacheProperties ekartCacheProperties
+    ) {
+        return new CatalogCacheWarmer(categoryService, productService, orderItemRepo, ekartCacheProperties.getWarmUp());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+    public SecondLevelCacheInvalidator secondLevelCacheInvalidator(
+            EntityManagerFactory entityManagerFactory,
+            CacheInvalidationBus cacheInvalidationBus
+    ) {
+        return new SecondLevelCacheInvalidator(entityManagerFactory, cacheInvalidationBus);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+    public SecondLevelCacheMetrics secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return new SecondLevelCacheMetrics(entityManagerFactory);
+    }
+
+    /**
+     * Registered even when the warm-up is disabled, as it is part of the readiness group.
+     */
+    @Bean
+    public CacheWarmUpHealthIndicator cacheWarmUpHealthIndicator(ObjectProvider<CatalogCacheWarmer> catalogCacheWarmer) {
+        return new CacheWarmUpHealthIndicator(catalogCacheWarmer.getIfAvailable());
+    }
+
+    /**
+     * @return the caches whose values are all of a single catalog DTO type, by name, with that type
+     */
+    private static Map<String, JavaType> dtoCacheValueTypes(TypeFactory typeFactory) {
+        JavaType productList = typeFactory.constructCollectionType(List.class, ProductDto.class);
+        JavaType productPage = typeFactory.constructParametricType(CachedPage.class, ProductDto.class);
+        JavaType categoryList = typeFactory.constructCollectionType(List.class, CategoryDto.class);
+        return Map.of(
+                "product", typeFactory.constructType(ProductDto.class),
+                "allProducts", productList,
+                "allProductsPage", productPage,
+                "allProductsPerCategoryPage", productPage,
+                "productsCountPerCategory", typeFactory.constructType(Long.class),
+                "category", typeFactory.constructType(CategoryDto.class),
+                "allCategories", categoryList,
+                "allParentCategories", categoryList
+        );
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(CacheProperties.Redis redisProperties) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader());
+        if (redisProperties.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redisProperties.getKeyPrefix());
+        }
+        if (!redisProperties.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redisProperties.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+
+}
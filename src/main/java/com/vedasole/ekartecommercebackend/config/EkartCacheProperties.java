@@ -0,0 +1,249 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application specific cache settings, bound from the {@code ekart.cache.*} properties.
+ * The Redis connection and the default entry TTL keep coming from the standard {@code spring.cache.redis.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ekart.cache")
+public class EkartCacheProperties {
+
+    /**
+     * Redis pub/sub channel used to broadcast cache invalidations to every node.
+     */
+    private String invalidationChannel = "ekart:cache:invalidation";
+
+    /**
+     * How long the tag index remembers which cached pages hold which products.
+     * Must be at least the longest Redis entry TTL, jitter included, otherwise pages could outlive their tags.
+     */
+    private Duration tagTimeToLive = Duration.ofMinutes(30);
+
+    private final Near near = new Near();
+
+    private final Response response = new Response();
+
+    private final Expiry expiry = new Expiry();
+
+    private final Stampede stampede = new Stampede();
+
+    private final Codec codec = new Codec();
+
+    private final WarmUp warmUp = new WarmUp();
+
+    private final Fallback fallback = new Fallback();
+
+    /**
+     * In-process (L1) cache kept in front of Redis for the hottest catalog caches.
+     */
+    @Getter
+    @Setter
+    public static class Near {
+
+        private boolean enabled = true;
+
+        /**
+         * Names of the caches which get an in-process L1 tier.
+         */
+        private List<String> cacheNames = new ArrayList<>(List.of(
+                "product", "allProductsPage", "category", "allCategories"
+        ));
+
+        /**
+         * Maximum number of entries held in the L1 tier of each cache.
+         */
+        private long maximumSize = 1_000;
+
+        /**
+         * Time after which an L1 entry is dropped and re-read from Redis. Keep it well below the Redis TTL.
+         */
+        private Duration timeToLive = Duration.ofSeconds(60);
+
+    }
+
+    /**
+     * In-process cache of the serialized responses of the hottest storefront endpoints.
+     */
+    @Getter
+    @Setter
+    public static class Response {
+
+        private boolean enabled = true;
+
+        /**
+         * Total size of the cached responses, counting both the plain and the gzipped bodies.
+         */
+        private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Responses larger than this are not cached.
+         */
+        private DataSize maximumEntrySize = DataSize.ofMegabytes(2);
+
+        /**
+         * Responses smaller than this are not gzipped, matching {@code server.compression.min-response-size}.
+         */
+        private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+
+        /**
+         * Time after which a cached response is dropped even though the catalog did not change.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+    }
+
+    /**
+     * Expiry of the Redis entries.
+     */
+    @Getter
+    @Setter
+    public static class Expiry {
+
+        /**
+         * Entry TTL of individual caches, by cache name, overriding {@code spring.cache.redis.time-to-live}.
+         */
+        private Map<String, Duration> timeToLive = new HashMap<>();
+
+        /**
+         * Share of the TTL by which the TTL of each entry is randomly shortened or lengthened, so that entries
+         * written together do not expire together.
+         */
+        private double jitter = 0.1;
+
+    }
+
+    /**
+     * Protection of the database against many nodes recomputing the same expired entry at once.
+     */
+    @Getter
+    @Setter
+    public static class Stampede {
+
+        /**
+         * Eagerness of the probabilistic early refresh: the higher, the earlier entries are refreshed before they
+         * expire. {@code 0} disables the early refresh.
+         */
+        private double earlyRefreshBeta = 1.0;
+
+        /**
+         * Time after which the recompute lock of an entry is released even if its holder did not release it.
+         */
+        private Duration lockTimeout = Duration.ofSeconds(10);
+
+        /**
+         * How long the other nodes wait for the lock holder to write the entry before computing it themselves.
+         */
+        private Duration lockWait = Duration.ofSeconds(3);
+
+        /**
+         * How often the waiting nodes check whether the entry has been written.
+         */
+        private Duration pollInterval = Duration.ofMillis(50);
+
+    }
+
+    /**
+     * Encoding of the values stored in Redis.
+     */
+    @Getter
+    @Setter
+    public static class Codec {
+
+        /**
+         * Version of the cached classes. Bump it on incompatible changes of the cached DTOs: entries written with
+         * another version are then treated as misses instead of failing to deserialize.
+         */
+        private int schemaVersion = 3;
+
+        /**
+         * Values smaller than this are stored uncompressed.
+         */
+        private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+
+    }
+
+    /**
+     * Preloading of the catalog caches once the application is ready. The node reports itself out of service to the
+     * readiness probe until the warm-up completes or runs out of time.
+     */
+    @Getter
+    @Setter
+    public static class WarmUp {
+
+        private boolean enabled = true;
+
+        /**
+         * Number of leading pages of each category listing to preload.
+         */
+        private int pagesPerCategory = 2;
+
+        /**
+         * Size of the preloaded category listing pages, matching the default page size of the storefront.
+         */
+        private int pageSize = 12;
+
+        /**
+         * Number of best selling products to preload.
+         */
+        private int topSellingProducts = 50;
+
+        /**
+         * Number of loads run in parallel.
+         */
+        private int parallelism = 4;
+
+        /**
+         * Time after which the remaining loads are abandoned and the node reports ready anyway.
+         */
+        private Duration timeBudget = Duration.ofSeconds(60);
+
+    }
+
+    /**
+     * Degradation of the caches while Redis is unavailable.
+     */
+    @Getter
+    @Setter
+    public static class Fallback {
+
+        /**
+         * Number of consecutive Redis failures after which the caches stop calling Redis.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long the caches stop calling Redis before probing it again.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * How long the single call probing Redis may take before the caches stop calling Redis again.
+         */
+        private Duration probeTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of entries of the fallback tier of each cache without L1 tier.
+         */
+        private long maximumSize = 500;
+
+        /**
+         * Time to live of the fallback entries. Keep it short: the invalidations of the other nodes go through Redis
+         * too, so they are missed while it is unavailable.
+         */
+        private Duration timeToLive = Duration.ofSeconds(30);
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk import settings, bound from the {@code ekart.import.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ekart.import")
+public class EkartImportProperties {
+
+    /**
+     * Number of rows validated together and inserted in one transaction, as JDBC batches of the same size.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of row errors listed in an import report; the counts always cover every row.
+     */
+    private int maxReportedErrors = 1000;
+
+}
@@ -0,0 +1,49 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Product search settings, bound from the {@code ekart.search.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ekart.search")
+public class EkartSearchProperties {
+
+    /**
+     * Search engine implementation: {@code memory} for the in-process inverted index,
+     * {@code database} for the plain {@code LIKE} queries.
+     */
+    private String engine = "memory";
+
+    /**
+     * How much more a match in the product name counts than a match in its description.
+     */
+    private double nameBoost = 3.0;
+
+    /**
+     * Maximum number of indexed words a partially typed last query word is expanded to.
+     */
+    private int maxPrefixExpansions = 50;
+
+    /**
+     * Whether words which are not in the index are matched against words at a small edit distance.
+     */
+    private boolean typoTolerance = true;
+
+    /**
+     * Number of completions kept per prefix by the suggestion index, i.e. the largest number the suggest endpoint returns.
+     */
+    private int suggestionLimit = 10;
+
+    /**
+     * Interval of the full re-index of the search and suggestion indexes from the database, which picks up the
+     * writes made on other nodes. Only used with the in-memory engine.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+}
@@ -0,0 +1,12 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@code ekart.import.*} properties used by the bulk import endpoints.
+ */
+@Configuration
+@EnableConfigurationProperties(EkartImportProperties.class)
+public class ImportConfig {
+}
@@ -0,0 +1,31 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import com.vedasole.ekartecommercebackend.search.DatabaseProductSearchEngine;
+import com.vedasole.ekartecommercebackend.search.InMemoryProductSearchEngine;
+import com.vedasole.ekartecommercebackend.search.ProductSearchEngine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link ProductSearchEngine} implementation with the {@code ekart.search.engine} property.
+ */
+@Configuration
+@EnableConfigurationProperties(EkartSearchProperties.class)
+public class SearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "ekart.search.engine", havingValue = "memory", matchIfMissing = true)
+    public ProductSearchEngine inMemoryProductSearchEngine(EkartSearchProperties ekartSearchProperties) {
+        return new InMemoryProductSearchEngine(ekartSearchProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ekart.search.engine", havingValue = "database")
+    public ProductSearchEngine databaseProductSearchEngine(ProductRepo productRepo) {
+        return new DatabaseProductSearchEngine(productRepo);
+    }
+
+}
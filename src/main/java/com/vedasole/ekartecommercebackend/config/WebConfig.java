@@ -0,0 +1,48 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import com.vedasole.ekartecommercebackend.cache.CatalogConditionalGetInterceptor;
+import com.vedasole.ekartecommercebackend.utility.Representation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spring MVC configuration. Registers the conditional GET handling of the catalog endpoints
+ * and the media type of the {@link Representation lean} representation.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogConditionalGetInterceptor catalogConditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogConditionalGetInterceptor)
+                .addPathPatterns("/api/v1/products/**", "/api/v1/categories/**");
+    }
+
+    /**
+     * Lets the plain Jackson converter write the lean media type. The HAL converters, which are subclasses of it,
+     * are left as they are.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.stream()
+                .filter(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .forEach(converter -> {
+                    List<MediaType> mediaTypes = new ArrayList<>(converter.getSupportedMediaTypes());
+                    mediaTypes.add(Representation.LEAN_MEDIA_TYPE);
+                    converter.setSupportedMediaTypes(mediaTypes);
+                });
+    }
+
+}
@@ -1,8 +1,11 @@
 package com.vedasole.ekartecommercebackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vedasole.ekartecommercebackend.payload.ApiResponse;
 import com.vedasole.ekartecommercebackend.payload.CategoryDto;
 import com.vedasole.ekartecommercebackend.service.service_interface.CategoryService;
+import com.vedasole.ekartecommercebackend.utility.ExportWriter;
+import com.vedasole.ekartecommercebackend.utility.Representation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -13,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -28,6 +32,7 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new category.
@@ -95,16 +100,18 @@ public class CategoryController {
      * @return the requested category, or a 404 Not Found error if the category does not exist
      */
     @GetMapping("/{categoryId}")
-    public ResponseEntity<EntityModel<CategoryDto>> getCategory(
+    public ResponseEntity<?> getCategory(
             @PathVariable Long categoryId
     ) {
         CategoryDto category = this.categoryService.getCategoryById(categoryId);
         if (category == null) {
             return ResponseEntity.notFound().build();
         } else {
-            Link selfLink = linkTo(CategoryController.class).slash(category.getCategoryId()).withSelfRel();
-            Link allCategoriesLink = linkTo(CategoryController.class).slash("all").withRel(CATEGORIES.getValue());
-            return ResponseEntity.ok(EntityModel.of(category, selfLink, allCategoriesLink));
+            return ResponseEntity.ok(Representation.of(category, categoryDto -> {
+                Link selfLink = linkTo(CategoryController.class).slash(categoryDto.getCategoryId()).withSelfRel();
+                Link allCategoriesLink = linkTo(CategoryController.class).slash("all").withRel(CATEGORIES.getValue());
+                return EntityModel.of(categoryDto, selfLink, allCategoriesLink);
+            }));
         }
     }
 
@@ -114,13 +121,13 @@ public class CategoryController {
      * @return a list of all parent categories
      */
     @GetMapping("/parent")
-    public ResponseEntity<CollectionModel<CategoryDto>> getAllParentCategories(){
+    public ResponseEntity<?> getAllParentCategories(){
         List<CategoryDto> allParentCategories = this.categoryService.getAllParentCategories();
         return new ResponseEntity<>(
-                CollectionModel.of(
-                        allParentCategories,
+                Representation.of(allParentCategories, categories -> CollectionModel.of(
+                        categories,
                         linkTo(methodOn(CategoryController.class).getAllParentCategories()).withSelfRel()
-                ),
+                )),
                 HttpStatus.OK
         );
     }
@@ -147,13 +154,13 @@ public class CategoryController {
      * @return a list of all categories
      */
     @GetMapping
-    public ResponseEntity<CollectionModel<CategoryDto>> getAllCategories(){
+    public ResponseEntity<?> getAllCategories(){
         List<CategoryDto> allCategories = this.categoryService.getAllCategories();
         return new ResponseEntity<>(
-                CollectionModel.of(
-                        allCategories,
+                Representation.of(allCategories, categories -> CollectionModel.of(
+                        categories,
                         linkTo(methodOn(CategoryController.class).getAllCategories()).withSelfRel()
-                ),
+                )),
                 HttpStatus.OK
         );
     }
@@ -188,4 +195,19 @@ public class CategoryController {
         return ResponseEntity.ok(this.categoryService.getTotalCategoriesCount());
     }
 
-}
\ No newline at end of file
+    /**
+     * Streams all categories as newline delimited JSON or CSV, written to the response as they are read
+     * from the database instead of being loaded and cached as a whole.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}
+     * @return the streamed export
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllCategories(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        return ExportWriter.response(format, "categories", objectMapper,
+                writer -> this.categoryService.streamAllCategories(writer::write));
+    }
+
+}
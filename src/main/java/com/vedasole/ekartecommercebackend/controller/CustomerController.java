@@ -1,14 +1,20 @@
 package com.vedasole.ekartecommercebackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vedasole.ekartecommercebackend.exception.APIException;
 import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
 import com.vedasole.ekartecommercebackend.payload.ApiResponse;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.CustomerDto;
 import com.vedasole.ekartecommercebackend.payload.NewCustomerDto;
 import com.vedasole.ekartecommercebackend.security.JwtService;
 import com.vedasole.ekartecommercebackend.service.service_interface.CustomerService;
 import com.vedasole.ekartecommercebackend.service.service_interface.UserService;
+import com.vedasole.ekartecommercebackend.utility.ExportWriter;
+import com.vedasole.ekartecommercebackend.utility.Representation;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,10 +26,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.MAX_PAGE_SIZE;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.CUSTOMERS;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -39,6 +47,7 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
     private final JwtService jwtService;
     private final UserService userService;
 
@@ -122,16 +131,18 @@ public class CustomerController {
      * @return the requested Customer, or a 404 Not Found error if the Customer does not exist
      */
     @GetMapping("/{customerId}")
-    public ResponseEntity<EntityModel<CustomerDto>> getCustomer(
+    public ResponseEntity<?> getCustomer(
             @PathVariable Long customerId
     ) {
         CustomerDto customer = this.customerService.getCustomerById(customerId);
         if (customer == null) {
             return ResponseEntity.notFound().build();
         } else {
-            Link selfLink = linkTo(CustomerController.class).slash(customer.getCustomerId()).withSelfRel();
-            Link allCategoriesLink = linkTo(CustomerController.class).slash("all").withRel(CUSTOMERS.getValue());
-            return ResponseEntity.ok(EntityModel.of(customer, selfLink, allCategoriesLink));
+            return ResponseEntity.ok(Representation.of(customer, customerDto -> {
+                Link selfLink = linkTo(CustomerController.class).slash(customerDto.getCustomerId()).withSelfRel();
+                Link allCategoriesLink = linkTo(CustomerController.class).slash("all").withRel(CUSTOMERS.getValue());
+                return EntityModel.of(customerDto, selfLink, allCategoriesLink);
+            }));
         }
     }
 
@@ -141,13 +152,13 @@ public class CustomerController {
      * @return a collection of all Customers
      */
     @GetMapping
-    public ResponseEntity<CollectionModel<CustomerDto>> getAllCustomers(){
+    public ResponseEntity<?> getAllCustomers(){
         List<CustomerDto> allCategories = this.customerService.getAllCustomers();
         return new ResponseEntity<>(
-                CollectionModel.of(
-                        allCategories,
+                Representation.of(allCategories, customers -> CollectionModel.of(
+                        customers,
                         linkTo(methodOn(CustomerController.class).getAllCustomers()).withSelfRel()
-                ),
+                )),
                 HttpStatus.OK
         );
     }
@@ -163,6 +174,27 @@ public class CustomerController {
         return new ResponseEntity<>(allCustomersByPage,HttpStatus.OK);
     }
   
+    /**
+     * Returns a slice of Customers using keyset pagination. Pass the returned cursor to get the next slice.
+     *
+     * @param cursor the cursor returned with the previous slice, omitted for the first slice
+     * @param size the number of Customers to return
+     * @param sortBy the field to sort by, used for the first slice only
+     * @param sortOrder the sort order, used for the first slice only
+     * @return the slice of Customers along with the cursor of the next slice
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<CustomerDto>> getAllCustomersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Size must be at most " + MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "customerId") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortOrder
+    ){
+        return ResponseEntity.ok(this.customerService.getAllCustomersByCursor(cursor, size, sortBy, sortOrder));
+    }
+
     /**
      * Returns the total number of Customers.
      *
@@ -173,4 +205,20 @@ public class CustomerController {
         return ResponseEntity.ok(this.customerService.getTotalCustomersCount());
     }
 
-}
\ No newline at end of file
+    /**
+     * Streams all customers as newline delimited JSON or CSV, written to the response as they are read
+     * from the database instead of being loaded and cached as a whole.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}
+     * @return the streamed export
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        return ExportWriter.response(format, "customers", objectMapper,
+                writer -> this.customerService.streamAllCustomers(writer::write));
+    }
+
+}
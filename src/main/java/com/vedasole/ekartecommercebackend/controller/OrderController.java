@@ -1,29 +1,43 @@
 package com.vedasole.ekartecommercebackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto;
 import com.vedasole.ekartecommercebackend.payload.OrderDto;
 import com.vedasole.ekartecommercebackend.service.service_interface.OrderService;
+import com.vedasole.ekartecommercebackend.utility.ExportWriter;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import com.vedasole.ekartecommercebackend.utility.Representation;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.MAX_PAGE_SIZE;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+@Validated
 @RestController
 @RequestMapping("/api/v1/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
     private static final String ORDER_ITEMS = "orderItems";
+    private static final String ORDER_ID = "orderId";
 
     @PostMapping
     //@PostAuthorize("hasRole('USER')")
@@ -33,7 +47,7 @@ public class OrderController {
         OrderDto order = orderService.createOrder(orderDto);
         EntityModel<OrderDto> orderDtoEntityModel = EntityModel.of(
                 order,
-                linkTo(methodOn(this.getClass()).getOrder(order.getOrderId())).withSelfRel(),
+                linkTo(methodOn(this.getClass()).getOrder(order.getOrderId(), null)).withSelfRel(),
                 linkTo(methodOn(OrderItemController.class).getAllOrderItems(order.getOrderId())).withRel(ORDER_ITEMS)
         );
         return ResponseEntity.ok(orderDtoEntityModel);
@@ -49,7 +63,7 @@ public class OrderController {
         OrderDto order = orderService.updateOrder(orderDto);
         EntityModel<OrderDto> orderDtoEntityModel = EntityModel.of(
                 order,
-                linkTo(methodOn(this.getClass()).getOrder(orderId)).withSelfRel(),
+                linkTo(methodOn(this.getClass()).getOrder(orderId, null)).withSelfRel(),
                 linkTo(methodOn(OrderItemController.class).getAllOrderItems(order.getOrderId())).withRel(ORDER_ITEMS)
         );
         return ResponseEntity.ok(orderDtoEntityModel);
@@ -65,52 +79,71 @@ public class OrderController {
     }
 
     @GetMapping("/{orderId}")
-    public ResponseEntity<EntityModel<OrderDto>> getOrder(
-            @PathVariable long orderId
+    public ResponseEntity<?> getOrder(
+            @PathVariable long orderId,
+            @RequestParam(required = false) String fields
     ) {
+        if (fields != null) {
+            FieldSet fieldSet = FieldSet.parse(OrderDto.class, ORDER_ID, fields);
+            return ResponseEntity.ok(fieldSet.filter(orderService.getOrder(orderId, fieldSet)));
+        }
         OrderDto order = orderService.getOrder(orderId);
-        EntityModel<OrderDto> orderDtoEntityModel = EntityModel.of(
-                order,
-                linkTo(methodOn(this.getClass()).getOrder(orderId)).withSelfRel(),
-                linkTo(methodOn(OrderItemController.class).getAllOrderItems(order.getOrderId())).withRel(ORDER_ITEMS)
-        );
-        return ResponseEntity.ok(orderDtoEntityModel);
+        return ResponseEntity.ok(Representation.of(order, this::toEntityModel));
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<CollectionModel<OrderDto>> getAllOrdersForCustomer(
+    public ResponseEntity<?> getAllOrdersForCustomer(
             @PathVariable long customerId
     ) {
         List<OrderDto> allOrdersByCustomer = orderService.getAllOrdersByCustomer(customerId);
-        CollectionModel<OrderDto> orderDtoCollectionModel = CollectionModel.of(
-                allOrdersByCustomer,
+        return ResponseEntity.ok(Representation.of(allOrdersByCustomer, orders -> CollectionModel.of(
+                orders,
                 linkTo(methodOn(OrderController.class).getAllOrdersForCustomer(customerId)).withSelfRel()
-        );
-        return ResponseEntity.ok(orderDtoCollectionModel);
+        )));
     }
 
 
 
     @GetMapping("/customer/{customerId}/page")
-    public ResponseEntity<Page<EntityModel<OrderDto>>> getAllOrdersByCustomerPerPage(
+    public ResponseEntity<?> getAllOrdersByCustomerPerPage(
             @PathVariable long customerId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "orderId") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String fields
     ) {
+        if (fields != null) {
+            FieldSet fieldSet = FieldSet.parse(OrderDto.class, ORDER_ID, fields);
+            return ResponseEntity.ok(fieldSet.filter(
+                    orderService.getAllOrdersbyCustomerPerPage(customerId, page, size, sortBy, sortOrder, fieldSet)
+            ));
+        }
         Page<OrderDto> orderDtoPage = orderService.getAllOrdersbyCustomerPerPage(customerId, page, size, sortBy, sortOrder);
         return getEntityModelPage(orderDtoPage);
     }
 
+    @GetMapping("/customer/{customerId}/cursor")
+    public ResponseEntity<?> getAllOrdersByCustomerByCursor(
+            @PathVariable long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Size must be at most " + MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "orderId") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortOrder
+    ) {
+        CursorPage<OrderDto> orderDtoPage = orderService.getAllOrdersByCustomerByCursor(customerId, cursor, size, sortBy, sortOrder);
+        return ResponseEntity.ok(Representation.of(orderDtoPage, orders -> orders.map(this::toEntityModel)));
+    }
+
     @GetMapping
-    public ResponseEntity<CollectionModel<OrderDto>> getAllOrders() {
+    public ResponseEntity<?> getAllOrders() {
         List<OrderDto> orderDtoList = orderService.getAllOrders();
-        CollectionModel<OrderDto> orderDtoCollectionModel = CollectionModel.of(
-                orderDtoList,
+        return ResponseEntity.ok(Representation.of(orderDtoList, orders -> CollectionModel.of(
+                orders,
                 linkTo(methodOn(OrderController.class).getAllOrders()).withSelfRel()
-        );
-        return ResponseEntity.ok(orderDtoCollectionModel);
+        )));
     }
 
     @GetMapping("/count")
@@ -129,22 +162,59 @@ public class OrderController {
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<EntityModel<OrderDto>>> getAllOrdersPerPage(
+    public ResponseEntity<?> getAllOrdersPerPage(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "orderId") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String fields
     ) {
+        if (fields != null) {
+            FieldSet fieldSet = FieldSet.parse(OrderDto.class, ORDER_ID, fields);
+            return ResponseEntity.ok(fieldSet.filter(orderService.getAllOrdersPerPage(page, size, sortBy, sortOrder, fieldSet)));
+        }
         Page<OrderDto> orderDtoPage = orderService.getAllOrdersPerPage(page, size, sortBy, sortOrder);
         return getEntityModelPage(orderDtoPage);
     }
 
-    private ResponseEntity<Page<EntityModel<OrderDto>>> getEntityModelPage(Page<OrderDto> orderDtoPage) {
-        Page<EntityModel<OrderDto>> entityModelPage = orderDtoPage.map(orderDto -> EntityModel.of(
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getAllOrdersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Size must be at most " + MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "orderId") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortOrder
+    ) {
+        CursorPage<OrderDto> orderDtoPage = orderService.getAllOrdersByCursor(cursor, size, sortBy, sortOrder);
+        return ResponseEntity.ok(Representation.of(orderDtoPage, orders -> orders.map(this::toEntityModel)));
+    }
+
+    private ResponseEntity<?> getEntityModelPage(Page<OrderDto> orderDtoPage) {
+        return new ResponseEntity<>(Representation.of(orderDtoPage, orders -> orders.map(this::toEntityModel)), HttpStatus.OK);
+    }
+
+    private EntityModel<OrderDto> toEntityModel(OrderDto orderDto) {
+        return EntityModel.of(
                 orderDto,
-                linkTo(methodOn(OrderController.class).getOrder(orderDto.getOrderId())).withSelfRel(),
-                linkTo(methodOn(OrderItemController.class).getAllOrderItems(orderDto.getOrderId())).withRel(ORDER_ITEMS)));
-        return new ResponseEntity<>(entityModelPage, HttpStatus.OK);
+                linkTo(methodOn(OrderController.class).getOrder(orderDto.getOrderId(), null)).withSelfRel(),
+                linkTo(methodOn(OrderItemController.class).getAllOrderItems(orderDto.getOrderId())).withRel(ORDER_ITEMS));
+    }
+
+    /**
+     * Streams all orders, with their items, as newline delimited JSON or CSV, written to the response as they are read
+     * from the database instead of being loaded and cached as a whole.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}
+     * @return the streamed export
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllOrders(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        return ExportWriter.response(format, "orders", objectMapper,
+                writer -> this.orderService.streamAllOrders(writer::write));
     }
 
-}
\ No newline at end of file
+}
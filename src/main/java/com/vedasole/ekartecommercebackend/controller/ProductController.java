@@ -1,22 +1,40 @@
 package com.vedasole.ekartecommercebackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vedasole.ekartecommercebackend.payload.ApiResponse;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
+import com.vedasole.ekartecommercebackend.payload.ImportReport;
 import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.payload.SuggestionDto;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductImportService;
 import com.vedasole.ekartecommercebackend.service.service_interface.ProductService;
+import com.vedasole.ekartecommercebackend.utility.ExportWriter;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import com.vedasole.ekartecommercebackend.utility.Representation;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.MAX_PAGE_SIZE;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.CATEGORY;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.PRODUCTS;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -28,7 +46,12 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final String PRODUCT_ID = "productId";
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new product.
@@ -43,13 +66,36 @@ public class ProductController {
         ProductDto createdProduct = this.productService.createProduct(productDto);
         EntityModel<ProductDto> productDtoEntityModel = EntityModel.of(
             createdProduct,
-            linkTo(methodOn(ProductController.class).getProduct(createdProduct.getProductId())).withSelfRel(),
+            linkTo(methodOn(ProductController.class).getProduct(createdProduct.getProductId(), null)).withSelfRel(),
             linkTo(methodOn(CategoryController.class).getCategory(createdProduct.getCategoryId())).withRel(CATEGORY.getValue()),
             linkTo(methodOn(ProductController.class).getAllProducts()).withRel(PRODUCTS.getValue())
         );
         return new ResponseEntity<>(productDtoEntityModel, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports products in bulk from an uploaded CSV or NDJSON file. Rows which fail validation
+     * are reported back and do not prevent the other rows from being imported.
+     *
+     * @param file the file to import, with one product per row
+     * @param format the format of the file, {@code csv} or {@code ndjson}; taken from the file extension when omitted
+     * @return the number of imported and rejected rows, along with the reason of each rejection
+     * @throws IOException if the uploaded file cannot be read
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReport> importProducts(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format
+    ) throws IOException {
+        ExportWriter.Format importFormat = format != null
+                ? ExportWriter.Format.fromString(format)
+                : ExportWriter.Format.fromFileName(file.getOriginalFilename());
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(this.productImportService.importProducts(inputStream, importFormat));
+        }
+    }
+
     /**
      * Updates an existing product.
      *
@@ -65,7 +111,7 @@ public class ProductController {
         ProductDto updatedProduct = this.productService.updateProduct(productDto, productId);
         EntityModel<ProductDto> productDtoEntityModel = EntityModel.of(
                 updatedProduct,
-                linkTo(methodOn(ProductController.class).getProduct(updatedProduct.getProductId())).withSelfRel(),
+                linkTo(methodOn(ProductController.class).getProduct(updatedProduct.getProductId(), null)).withSelfRel(),
                 linkTo(methodOn(CategoryController.class).getCategory(updatedProduct.getCategoryId())).withRel(CATEGORY.getValue()),
                 linkTo(methodOn(ProductController.class).getAllProducts()).withRel(PRODUCTS.getValue())
         );
@@ -99,24 +145,28 @@ public class ProductController {
      * Returns a product with the specified ID.
      *
      * @param productId the ID of the product to retrieve
+     * @param fields the comma separated fields to return, all of them if omitted
      * @return the product with the specified ID, or an error response if the product does not exist
      */
     @GetMapping("/{productId}")
-    public ResponseEntity<EntityModel<ProductDto>> getProduct(
-        @NotNull @Min(value = 0L, message = "Product id cannot be negative") @PathVariable Long productId
+    public ResponseEntity<?> getProduct(
+        @NotNull @Min(value = 0L, message = "Product id cannot be negative") @PathVariable Long productId,
+        @RequestParam(required = false) String fields
     ) {
+        if (fields != null) {
+            FieldSet fieldSet = FieldSet.parse(ProductDto.class, PRODUCT_ID, fields);
+            return ResponseEntity.ok(fieldSet.filter(this.productService.getProductById(productId, fieldSet)));
+        }
         ProductDto productDto = this.productService.getProductById(productId);
-        return ResponseEntity.ok(
-                    EntityModel.of(
-                            productDto,
-                            linkTo(methodOn(ProductController.class).getProduct(productDto.getProductId())).withSelfRel(),
-                            linkTo(methodOn(CategoryController.class).getCategory(productDto.getCategoryId())).withRel(CATEGORY.getValue())
-                    )
-            );
+        return ResponseEntity.ok(Representation.of(productDto, product -> EntityModel.of(
+                product,
+                linkTo(methodOn(ProductController.class).getProduct(product.getProductId(), null)).withSelfRel(),
+                linkTo(methodOn(CategoryController.class).getCategory(product.getCategoryId())).withRel(CATEGORY.getValue())
+        )));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<CollectionModel<ProductDto>> getProductsByNameOrDesc(
+    public ResponseEntity<?> getProductsByNameOrDesc(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "7") int size,
             @RequestParam String searchKey
@@ -125,38 +175,91 @@ public class ProductController {
         return productsByName == null || productsByName.isEmpty() ?
                 new ResponseEntity<>(HttpStatus.NO_CONTENT) :
                 new ResponseEntity<>(
-                        CollectionModel.of(
-                                productsByName,
+                        Representation.of(productsByName, products -> CollectionModel.of(
+                                products,
                                 linkTo(methodOn(ProductController.class).getProductsByNameOrDesc(page, size, searchKey)).withSelfRel()
-                        ),
+                        )),
                         HttpStatus.OK
                 );
     }
 
+    /**
+     * Returns many products at once, e.g. to render a cart or a wishlist with a single request.
+     *
+     * @param ids the IDs of the products, at most {@value #MAX_BATCH_SIZE}
+     * @return the products in the order of the IDs, without the IDs of missing products
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<?> getProductsByIds(
+            @RequestParam @NotEmpty(message = "Product ids are required")
+            @Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE + " products can be fetched at once")
+            List<Long> ids
+    ) {
+        List<ProductDto> products = this.productService.getProductsByIds(ids);
+        return ResponseEntity.ok(Representation.of(products, productDtos -> CollectionModel.of(
+                productDtos,
+                linkTo(methodOn(ProductController.class).getProductsByIds(ids)).withSelfRel()
+        )));
+    }
+
+    /**
+     * Returns the product and category names completing the text typed in the search box.
+     * Served from an in-memory index, so it is cheap enough to call on every keystroke.
+     *
+     * @param prefix the text typed so far
+     * @param limit the maximum number of suggestions to return
+     * @return the suggestions, most popular first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> getSuggestions(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") @Min(value = 1, message = "Limit must be at least 1") int limit
+    ) {
+        return ResponseEntity.ok(this.productService.getSuggestions(prefix, limit));
+    }
+
     /**
      * Returns a list of all products.
      *
      * @return a list of all products
      */
     @GetMapping
-    public ResponseEntity<CollectionModel<ProductDto>> getAllProducts(){
+    public ResponseEntity<?> getAllProducts(){
         List<ProductDto> allProducts = this.productService.getAllProducts();
         return new ResponseEntity<>(
-                CollectionModel.of(
-                        allProducts,
+                Representation.of(allProducts, products -> CollectionModel.of(
+                        products,
                         linkTo(methodOn(ProductController.class).getAllProducts()).withSelfRel()
-                ),
+                )),
                 HttpStatus.OK
         );
     }
 
+    /**
+     * Returns a page of products. With {@code fields}, only the listed fields are read and returned,
+     * e.g. {@code fields=name,image,price,discount} for the listing screens.
+     *
+     * @param page the page number
+     * @param size the number of products per page
+     * @param sortBy the field to sort by
+     * @param sortOrder the sort order
+     * @param fields the comma separated fields to return, all of them if omitted
+     * @return the page of products
+     */
     @GetMapping("/page")
-    public ResponseEntity<Page<ProductDto>> getAllProductsByPage(
+    public ResponseEntity<?> getAllProductsByPage(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(defaultValue = "productId") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false) String fields
     ){
+        if (fields != null) {
+            FieldSet fieldSet = FieldSet.parse(ProductDto.class, PRODUCT_ID, fields);
+            return ResponseEntity.ok(fieldSet.filter(
+                    this.productService.getAllProductsPerPage(page, size, sortBy, sortOrder, fieldSet)
+            ));
+        }
         Page<ProductDto> allProducts = this.productService.getAllProductsPerPage(page, size, sortBy, sortOrder);
         return new ResponseEntity<>(
                 allProducts,
@@ -164,31 +267,59 @@ public class ProductController {
         );
     }
 
+    /**
+     * Returns a slice of products using keyset pagination. Pass the returned cursor to get the next slice.
+     *
+     * @param cursor the cursor returned with the previous slice, omitted for the first slice
+     * @param size the number of products to return
+     * @param sortBy the field to sort by, used for the first slice only
+     * @param sortOrder the sort order, used for the first slice only
+     * @return the slice of products along with the cursor of the next slice
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProductDto>> getAllProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Size must be at most " + MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "productId") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortOrder
+    ){
+        return ResponseEntity.ok(this.productService.getAllProductsByCursor(cursor, size, sortBy, sortOrder));
+    }
+
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<CollectionModel<ProductDto>> getAllProductsByCategory(
+    public ResponseEntity<?> getAllProductsByCategory(
             @PathVariable long categoryId
     ){
         List<ProductDto> allProducts = this.productService.getAllProductsByCategory(categoryId);
         allProducts.forEach(productDto -> productDto.setQtyInStock(0));
         return new ResponseEntity<>(
-                CollectionModel.of(
-                        allProducts,
+                Representation.of(allProducts, products -> CollectionModel.of(
+                        products,
                         linkTo(methodOn(ProductController.class).getAllProductsByCategory(categoryId)).withSelfRel(),
                         linkTo(methodOn(CategoryController.class).getCategory(categoryId)).withRel(CATEGORY.getValue()),
                         linkTo(methodOn(ProductController.class).getAllProducts()).withRel(PRODUCTS.getValue())
-                ),
+                )),
                 HttpStatus.OK
         );
     }
   
     @GetMapping("/category/{categoryId}/page")
-    public ResponseEntity<Page<ProductDto>> getAllProductsByCategoryByPage(
+    public ResponseEntity<?> getAllProductsByCategoryByPage(
             @PathVariable long categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(defaultValue = "productId") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false) String fields
     ){
+        if (fields != null) {
+            FieldSet fieldSet = FieldSet.parse(ProductDto.class, PRODUCT_ID, fields);
+            return ResponseEntity.ok(fieldSet.filter(
+                    this.productService.getAllProductsByCategoryPerPage(categoryId, page, size, sortBy, sortOrder, fieldSet)
+            ));
+        }
         Page<ProductDto> allProducts = this.productService.getAllProductsByCategoryPerPage(
                 categoryId, page, size, sortBy, sortOrder
         );
@@ -208,4 +339,19 @@ public class ProductController {
         return ResponseEntity.ok(this.productService.getTotalProductsCount());
     }
 
-}
\ No newline at end of file
+    /**
+     * Streams all products as newline delimited JSON or CSV, written to the response as they are read
+     * from the database instead of being loaded and cached as a whole.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}
+     * @return the streamed export
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllProducts(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        return ExportWriter.response(format, "products", objectMapper,
+                writer -> this.productService.streamAllProducts(writer::write));
+    }
+
+}
@@ -11,6 +11,8 @@ import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -23,7 +25,7 @@ public class Address {
     @Id
     @Column(updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_seq")
-    @SequenceGenerator(name = "address_seq", allocationSize = 0)
+    @SequenceGenerator(name = "address_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long addressId;
 
     @Column(name = "add_line1", length = 100, nullable = false)
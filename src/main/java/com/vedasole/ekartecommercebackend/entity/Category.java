@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.validation.annotation.Validated;
@@ -14,12 +16,15 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 /**
  * Entity class for Category
  */
 @Builder
 @Validated
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CACHE_REGION)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -27,13 +32,18 @@ import java.time.LocalDateTime;
 @Table(name = "category")
 public class Category implements Serializable {
 
+    /**
+     * Hibernate second-level cache region of the categories.
+     */
+    public static final String CACHE_REGION = "category";
+
     @Serial
     private static final long serialVersionUID = -5392075886775352349L;
 
     @Id
     @Column(name = "category_id", updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
-    @SequenceGenerator(name = "category_seq", allocationSize = 0)
+    @SequenceGenerator(name = "category_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long categoryId;
 
     @Column(name = "name", nullable = false, length = 50)
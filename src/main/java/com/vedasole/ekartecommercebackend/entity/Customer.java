@@ -15,6 +15,8 @@ import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -27,7 +29,7 @@ public class Customer {
     @Id
     @Column(updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
-    @SequenceGenerator(name = "customer_seq", allocationSize = 1)
+    @SequenceGenerator(name = "customer_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long customerId;
 
     @NotNull(message = "First name is required")
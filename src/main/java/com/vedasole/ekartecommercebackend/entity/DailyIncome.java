@@ -0,0 +1,50 @@
+package com.vedasole.ekartecommercebackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The income of the orders created on a day, and their count, rolled up from the orders as they are placed, cancelled
+ * or refunded, so that the admin dashboard does not aggregate the order table. The month is kept along, in the
+ * {@code yyyy-MM} format of {@link com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto}, and indexed for the
+ * monthly income.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "daily_income", indexes = @Index(name = "daily_income_month_idx", columnList = "income_month"))
+public class DailyIncome {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Id
+    @Column(name = "income_date", updatable = false)
+    private LocalDate date;
+
+    @Column(name = "income_month", length = 7, nullable = false, updatable = false)
+    private String month;
+
+    @Column(nullable = false)
+    private double income;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    /**
+     * Also the constructor expression of {@link com.vedasole.ekartecommercebackend.repository.OrderRepo#getDailyIncome}.
+     */
+    public DailyIncome(LocalDate date, Double income, Long orderCount) {
+        this(date, monthOf(date), income, orderCount);
+    }
+
+    public static String monthOf(LocalDate date) {
+        return date.format(MONTH_FORMAT);
+    }
+
+}
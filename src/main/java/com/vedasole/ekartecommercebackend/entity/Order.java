@@ -13,6 +13,8 @@ import org.springframework.validation.annotation.Validated;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -32,7 +34,7 @@ public class Order {
     @Id
     @Column(updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
-    @SequenceGenerator(name = "order_seq", allocationSize = 0)
+    @SequenceGenerator(name = "order_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long orderId;
 
     @ManyToOne(optional = false)
@@ -84,7 +86,6 @@ public class Order {
             this.createdAt = LocalDateTime.now();
         }
         this.updatedAt = LocalDateTime.now();
-        calculateTotal();
     }
 
     public void setOrderItems(List<OrderItem> orderItems) {
@@ -98,14 +99,14 @@ public class Order {
         calculateTotal();
     }
 
+    /**
+     * Sets the total from the items. It is computed when the items are set, not on every flush, so updating an order
+     * does not load its items and their products.
+     */
     public void calculateTotal() {
         this.total=0;
         if(!(orderItems == null || orderItems.isEmpty())) {
-            this.total = orderItems.stream()
-                    .mapToDouble(orderItem -> {
-                        double finalPrice = orderItem.getProduct().getPrice() / 100 * (100 - orderItem.getProduct().getDiscount());
-                        return finalPrice * orderItem.getQuantity();
-                    }).reduce(0, Double::sum);
+            this.total = orderItems.stream().mapToDouble(OrderItem::calculateLineTotal).sum();
         }
     }
 
@@ -12,6 +12,8 @@ import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -24,7 +26,7 @@ public class OrderItem {
     @Id
     @Column(name = "order_item_id", updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
-    @SequenceGenerator(name = "order_item_seq", allocationSize = 0)
+    @SequenceGenerator(name = "order_item_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long orderItemId;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -35,6 +37,32 @@ public class OrderItem {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    /**
+     * Name of the product when it was ordered.
+     */
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+
+    /**
+     * Image of the product when it was ordered.
+     */
+    @Column(name = "product_image")
+    private String productImage;
+
+    /**
+     * Price of the product when it was ordered, before discount.
+     */
+    @Column(name = "unit_price", nullable = false)
+    @Min(value = 0, message = "Unit price cannot be negative")
+    private double unitPrice;
+
+    /**
+     * Discount of the product when it was ordered, in percent.
+     */
+    @Column(name = "discount", nullable = false)
+    @Min(value = 0, message = "Discount cannot be negative")
+    private double discount;
+
     @Column(name = "quantity", nullable = false)
     @Min(value = 0, message = "Product quantity cannot be negative")
     private long quantity;
@@ -49,20 +77,38 @@ public class OrderItem {
 
     public OrderItem(Order order, Product product, long quantity) {
         this.order = order;
-        this.product = product;
+        setProduct(product);
         this.quantity = quantity;
     }
 
-    @PrePersist
-    @PreUpdate
-    @PreRemove
-    private void onPersistOrUpdate() { this.getOrder().calculateTotal(); }
+    /**
+     * Sets the product and takes a snapshot of its name, image, price and discount, which the order keeps even when
+     * the product changes later. Order reads and totals only use the snapshot, never the product.
+     */
+    public void setProduct(Product product) {
+        this.product = product;
+        if (product != null) {
+            this.productName = product.getName();
+            this.productImage = product.getImage();
+            this.unitPrice = product.getPrice();
+            this.discount = product.getDiscount();
+        }
+    }
+
+    /**
+     * @return the price of this line: the discounted unit price times the quantity
+     */
+    public double calculateLineTotal() {
+        return unitPrice / 100 * (100 - discount) * quantity;
+    }
 
     @Override
     public String toString() {
         return "OrderItem{" +
                 "orderItemId=" + orderItemId +
-                ", product=" + product +
+                ", productName='" + productName + '\'' +
+                ", unitPrice=" + unitPrice +
+                ", discount=" + discount +
                 ", quantity=" + quantity +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
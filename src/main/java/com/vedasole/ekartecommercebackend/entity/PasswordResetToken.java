@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @Entity
 @Data
 @Builder
@@ -19,7 +21,7 @@ public class PasswordResetToken {
     @Id
     @Column(updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reset_token_seq")
-    @SequenceGenerator(name = "reset_token_seq", allocationSize = 1)
+    @SequenceGenerator(name = "reset_token_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true)
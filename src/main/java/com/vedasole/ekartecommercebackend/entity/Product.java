@@ -8,18 +8,23 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 @Builder
 @Validated
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
 @Table(
         name = "product",
         indexes = {
@@ -31,10 +36,15 @@ import java.time.LocalDateTime;
 )
 public class Product {
 
+    /**
+     * Hibernate second-level cache region of the products.
+     */
+    public static final String CACHE_REGION = "product";
+
     @Id
     @Column(name = "product_id" , updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
-    @SequenceGenerator(name = "product_seq", allocationSize = 0)
+    @SequenceGenerator(name = "product_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long productId;
 
     @NotNull(message = "Product name cannot be null")
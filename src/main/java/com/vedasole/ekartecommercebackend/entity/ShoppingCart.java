@@ -14,6 +14,8 @@ import org.springframework.validation.annotation.Validated;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -26,7 +28,7 @@ public class ShoppingCart {
     @Id
     @Column(updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq")
-    @SequenceGenerator(name = "cart_seq", allocationSize = 0)
+    @SequenceGenerator(name = "cart_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long cartId;
 
     @OneToOne(optional = false)
@@ -12,6 +12,8 @@ import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -24,7 +26,7 @@ public class ShoppingCartItem {
     @Id
     @Column(name = "cart_item_id", updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq")
-    @SequenceGenerator(name = "cart_item_seq", allocationSize = 0)
+    @SequenceGenerator(name = "cart_item_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long cartItemId;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
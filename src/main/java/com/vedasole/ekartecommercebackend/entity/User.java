@@ -20,6 +20,8 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.SEQUENCE_ALLOCATION_SIZE;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -32,7 +34,7 @@ public class User implements UserDetails {
     @Id
     @Column(updatable = false)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
-    @SequenceGenerator(name = "user_seq", allocationSize = 0)
+    @SequenceGenerator(name = "user_seq", allocationSize = SEQUENCE_ALLOCATION_SIZE)
     private long userId;
 
     @Email
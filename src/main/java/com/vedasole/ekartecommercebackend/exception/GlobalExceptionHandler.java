@@ -2,6 +2,7 @@ package com.vedasole.ekartecommercebackend.exception;
 
 import com.vedasole.ekartecommercebackend.payload.ApiResponse;
 import io.jsonwebtoken.*;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -68,7 +69,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({
             BadCredentialsException.class,
-            IllegalArgumentException.class
+            IllegalArgumentException.class,
+            ConstraintViolationException.class
     })
     public ResponseEntity<ApiResponse> badCredentialsOrIllegalArgumentExceptionHandler(RuntimeException ex) {
 
@@ -0,0 +1,39 @@
+package com.vedasole.ekartecommercebackend.mapper;
+
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.payload.AddressDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between {@link Address} and the immutable {@link AddressDto}.
+ */
+@Component
+public class AddressMapper {
+
+    public AddressDto toDto(Address address) {
+        if (address == null) return null;
+        return new AddressDto(
+                address.getAddressId(),
+                address.getAddLine1(),
+                address.getAddLine2(),
+                address.getCity(),
+                address.getState(),
+                address.getCountry(),
+                address.getPostalCode()
+        );
+    }
+
+    public Address toEntity(AddressDto addressDto) {
+        if (addressDto == null) return null;
+        return new Address(
+                addressDto.getAddressId(),
+                addressDto.getAddLine1(),
+                addressDto.getAddLine2(),
+                addressDto.getCity(),
+                addressDto.getState(),
+                addressDto.getCountry(),
+                addressDto.getPostalCode()
+        );
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.vedasole.ekartecommercebackend.mapper;
+
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.payload.CategoryDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between {@link Category} and {@link CategoryDto} with plain getters and setters.
+ */
+@Component
+public class CategoryMapper {
+
+    public CategoryDto toDto(Category category) {
+        if (category == null) return null;
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setCategoryId(category.getCategoryId());
+        categoryDto.setName(category.getName());
+        categoryDto.setImage(category.getImage());
+        categoryDto.setDesc(category.getDesc());
+        categoryDto.setParentCategory(category.getParentCategory());
+        categoryDto.setActive(category.isActive());
+        categoryDto.setCreatedAt(category.getCreatedAt());
+        categoryDto.setUpdatedAt(category.getUpdatedAt());
+        return categoryDto;
+    }
+
+    public Category toEntity(CategoryDto categoryDto) {
+        if (categoryDto == null) return null;
+        Category category = new Category();
+        category.setCategoryId(categoryDto.getCategoryId());
+        category.setName(categoryDto.getName());
+        category.setImage(categoryDto.getImage());
+        category.setDesc(categoryDto.getDesc());
+        category.setParentCategory(categoryDto.getParentCategory());
+        category.setActive(categoryDto.isActive());
+        category.setCreatedAt(categoryDto.getCreatedAt());
+        category.setUpdatedAt(categoryDto.getUpdatedAt());
+        return category;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.vedasole.ekartecommercebackend.mapper;
+
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
+import com.vedasole.ekartecommercebackend.payload.CustomerDto;
+import com.vedasole.ekartecommercebackend.payload.NewCustomerDto;
+import com.vedasole.ekartecommercebackend.payload.ShoppingCartDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between {@link Customer} and its DTOs with plain getters and setters.
+ * <p>
+ * The email and role come from the customer's user, and the password is never copied to a DTO.
+ * The shopping cart is mapped without its items, which are not part of the customer representation.
+ */
+@Component
+public class CustomerMapper {
+
+    public CustomerDto toDto(Customer customer) {
+        if (customer == null) return null;
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setCustomerId(customer.getCustomerId());
+        customerDto.setFirstName(customer.getFirstName());
+        customerDto.setLastName(customer.getLastName());
+        customerDto.setPhoneNumber(customer.getPhoneNumber());
+        if (customer.getUser() != null) {
+            customerDto.setEmail(customer.getUser().getEmail());
+            customerDto.setRole(customer.getUser().getRole());
+        } else {
+            customerDto.setEmail(customer.getEmail());
+        }
+        customerDto.setShoppingCart(toCartDto(customer.getShoppingCart(), customer.getCustomerId()));
+        customerDto.setCreatedAt(customer.getCreatedAt());
+        return customerDto;
+    }
+
+    /**
+     * The user of the returned customer is not set.
+     */
+    public Customer toEntity(CustomerDto customerDto) {
+        if (customerDto == null) return null;
+        Customer customer = new Customer();
+        customer.setCustomerId(customerDto.getCustomerId());
+        customer.setFirstName(customerDto.getFirstName());
+        customer.setLastName(customerDto.getLastName());
+        customer.setPhoneNumber(customerDto.getPhoneNumber());
+        customer.setEmail(customerDto.getEmail());
+        customer.setCreatedAt(customerDto.getCreatedAt());
+        return customer;
+    }
+
+    /**
+     * The user of the returned customer is not set.
+     */
+    public Customer toEntity(NewCustomerDto newCustomerDto) {
+        if (newCustomerDto == null) return null;
+        Customer customer = new Customer();
+        customer.setCustomerId(newCustomerDto.getCustomerId());
+        customer.setFirstName(newCustomerDto.getFirstName());
+        customer.setLastName(newCustomerDto.getLastName());
+        customer.setPhoneNumber(newCustomerDto.getPhoneNumber());
+        customer.setEmail(newCustomerDto.getEmail());
+        customer.setCreatedAt(newCustomerDto.getCreatedAt());
+        return customer;
+    }
+
+    private static ShoppingCartDto toCartDto(ShoppingCart shoppingCart, long customerId) {
+        if (shoppingCart == null) return null;
+        ShoppingCartDto shoppingCartDto = new ShoppingCartDto();
+        shoppingCartDto.setCartId(shoppingCart.getCartId());
+        shoppingCartDto.setCustomerId(customerId);
+        shoppingCartDto.setTotal(shoppingCart.getTotal());
+        shoppingCartDto.setDiscount(shoppingCart.getDiscount());
+        return shoppingCartDto;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.vedasole.ekartecommercebackend.mapper;
+
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.payload.OrderItemDto;
+import com.vedasole.ekartecommercebackend.payload.OrderItemSummaryDto;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between {@link OrderItem} and {@link OrderItemDto} with plain getters and setters.
+ * <p>
+ * The product of an item DTO is the snapshot taken when it was ordered: its name, image, price and discount. Mapping
+ * an item to its DTO never loads the product, and mapping a DTO to an item never trusts its product.
+ */
+@Component
+public class OrderItemMapper {
+
+    public OrderItemDto toDto(OrderItem orderItem) {
+        if (orderItem == null) return null;
+        OrderItemDto orderItemDto = new OrderItemDto();
+        orderItemDto.setOrderItemId(orderItem.getOrderItemId());
+        if (orderItem.getOrder() != null) orderItemDto.setOrderId(orderItem.getOrder().getOrderId());
+        orderItemDto.setProduct(ProductDto.builder()
+                .productId(orderItem.getProduct() != null ? orderItem.getProduct().getProductId() : 0)
+                .name(orderItem.getProductName())
+                .image(orderItem.getProductImage())
+                .price(orderItem.getUnitPrice())
+                .discount(orderItem.getDiscount())
+                .build());
+        orderItemDto.setQuantity(orderItem.getQuantity());
+        return orderItemDto;
+    }
+
+    public OrderItemDto toDto(OrderItemSummaryDto summary) {
+        if (summary == null) return null;
+        OrderItemDto orderItemDto = new OrderItemDto();
+        orderItemDto.setOrderItemId(summary.orderItemId());
+        orderItemDto.setOrderId(summary.orderId());
+        orderItemDto.setProduct(summary.product());
+        orderItemDto.setQuantity(summary.quantity());
+        return orderItemDto;
+    }
+
+    /**
+     * Maps a new item of the given order, taking its price snapshot from the given product, which must be the stored
+     * one and never the product of the DTO.
+     */
+    public OrderItem toEntity(OrderItemDto orderItemDto, Order order, Product product) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrderItemId(orderItemDto.getOrderItemId());
+        orderItem.setOrder(order);
+        orderItem.setProduct(product);
+        orderItem.setQuantity(orderItemDto.getQuantity());
+        return orderItem;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.vedasole.ekartecommercebackend.mapper;
+
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.payload.AddressDto;
+import com.vedasole.ekartecommercebackend.payload.CustomerDto;
+import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.payload.OrderItemDto;
+import com.vedasole.ekartecommercebackend.payload.OrderSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps between {@link Order} and {@link OrderDto}, along with the customer, address and items of the order.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderMapper {
+
+    private final CustomerMapper customerMapper;
+    private final AddressMapper addressMapper;
+    private final OrderItemMapper orderItemMapper;
+
+    public OrderDto toDto(Order order) {
+        if (order == null) return null;
+        List<OrderItemDto> orderItems = null;
+        if (order.getOrderItems() != null) {
+            orderItems = new ArrayList<>(order.getOrderItems().size());
+            for (OrderItem orderItem : order.getOrderItems()) orderItems.add(orderItemMapper.toDto(orderItem));
+        }
+        return toDto(order, orderItems);
+    }
+
+    /**
+     * Maps an order with items read separately, without touching its own, lazily loaded, items.
+     */
+    public OrderDto toDto(Order order, List<OrderItemDto> orderItems) {
+        if (order == null) return null;
+        OrderDto orderDto = new OrderDto();
+        orderDto.setOrderId(order.getOrderId());
+        orderDto.setCustomer(customerMapper.toDto(order.getCustomer()));
+        orderDto.setOrderItems(orderItems);
+        orderDto.setAddress(addressMapper.toDto(order.getAddress()));
+        orderDto.setTotal(order.getTotal());
+        orderDto.setOrderStatus(order.getOrderStatus());
+        orderDto.setCreatedAt(order.getCreatedAt());
+        orderDto.setUpdatedAt(order.getUpdatedAt());
+        return orderDto;
+    }
+
+    /**
+     * Assembles an order read through the projection queries from its summary and its items.
+     */
+    public OrderDto toDto(OrderSummaryDto summary, List<OrderItemDto> orderItems) {
+        if (summary == null) return null;
+        OrderDto orderDto = new OrderDto();
+        orderDto.setOrderId(summary.orderId());
+        orderDto.setCustomer(new CustomerDto(
+                summary.customerId(), summary.firstName(), summary.lastName(), summary.email(),
+                summary.phoneNumber(), summary.role(), summary.cartId(), summary.cartTotal(),
+                summary.cartDiscount(), summary.customerCreatedAt()
+        ));
+        orderDto.setOrderItems(orderItems);
+        if (summary.addressId() != null) {
+            orderDto.setAddress(new AddressDto(
+                    summary.addressId(), summary.addLine1(), summary.addLine2(), summary.city(),
+                    summary.state(), summary.country(), summary.postalCode()
+            ));
+        }
+        orderDto.setTotal(summary.total());
+        orderDto.setOrderStatus(summary.orderStatus());
+        orderDto.setCreatedAt(summary.createdAt());
+        orderDto.setUpdatedAt(summary.updatedAt());
+        return orderDto;
+    }
+
+    /**
+     * The customer of the returned order only carries the DTO fields; load it before saving the order. The items are
+     * not mapped: they take their price snapshot from the stored products, see
+     * {@link OrderItemMapper#toEntity(OrderItemDto, Order, com.vedasole.ekartecommercebackend.entity.Product)}.
+     */
+    public Order toEntity(OrderDto orderDto) {
+        if (orderDto == null) return null;
+        Order order = new Order();
+        order.setOrderId(orderDto.getOrderId());
+        order.setCustomer(customerMapper.toEntity(orderDto.getCustomer()));
+        order.setAddress(addressMapper.toEntity(orderDto.getAddress()));
+        order.setTotal(orderDto.getTotal());
+        order.setOrderStatus(orderDto.getOrderStatus());
+        order.setCreatedAt(orderDto.getCreatedAt());
+        order.setUpdatedAt(orderDto.getUpdatedAt());
+        return order;
+    }
+
+}
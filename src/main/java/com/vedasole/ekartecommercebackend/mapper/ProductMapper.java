@@ -0,0 +1,51 @@
+package com.vedasole.ekartecommercebackend.mapper;
+
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between {@link Product} and {@link ProductDto} with plain getters and setters.
+ */
+@Component
+public class ProductMapper {
+
+    public ProductDto toDto(Product product) {
+        if (product == null) return null;
+        ProductDto productDto = new ProductDto();
+        productDto.setProductId(product.getProductId());
+        productDto.setName(product.getName());
+        productDto.setImage(product.getImage());
+        productDto.setDesc(product.getDesc());
+        productDto.setPrice(product.getPrice());
+        productDto.setDiscount(product.getDiscount());
+        productDto.setQtyInStock(product.getQtyInStock());
+        if (product.getCategory() != null) productDto.setCategoryId(product.getCategory().getCategoryId());
+        productDto.setCreatedAt(product.getCreatedAt());
+        productDto.setUpdatedAt(product.getUpdatedAt());
+        return productDto;
+    }
+
+    /**
+     * The category of the returned product only carries its id; load it before saving the product.
+     */
+    public Product toEntity(ProductDto productDto) {
+        if (productDto == null) return null;
+        Product product = new Product();
+        product.setProductId(productDto.getProductId());
+        product.setName(productDto.getName());
+        product.setImage(productDto.getImage());
+        product.setDesc(productDto.getDesc());
+        product.setPrice(productDto.getPrice());
+        product.setDiscount(productDto.getDiscount());
+        product.setQtyInStock(productDto.getQtyInStock());
+        Category category = new Category();
+        category.setCategoryId(productDto.getCategoryId());
+        product.setCategory(category);
+        product.setCreatedAt(productDto.getCreatedAt());
+        product.setUpdatedAt(productDto.getUpdatedAt());
+        return product;
+    }
+
+}
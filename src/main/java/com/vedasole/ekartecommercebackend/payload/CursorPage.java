@@ -0,0 +1,24 @@
+package com.vedasole.ekartecommercebackend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of a keyset paginated listing. Pass {@code nextCursor} back as the {@code cursor} parameter
+ * to get the following slice; it is {@code null} on the last one.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
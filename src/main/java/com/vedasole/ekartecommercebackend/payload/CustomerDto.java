@@ -73,4 +73,38 @@ public class CustomerDto implements Serializable {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
 
-}
\ No newline at end of file
+    /**
+     * Used by the projection queries of {@code CustomerRepo}, which select only the columns listed here.
+     * The shopping cart only carries its header, as with the mapper; the cart columns are {@code null}
+     * for a customer without a cart.
+     */
+    public CustomerDto(
+            long customerId,
+            String firstName,
+            String lastName,
+            String email,
+            String phoneNumber,
+            Role role,
+            Long cartId,
+            Double cartTotal,
+            Double cartDiscount,
+            LocalDateTime createdAt
+    ) {
+        this.customerId = customerId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.role = role;
+        if (cartId != null) {
+            this.shoppingCart = ShoppingCartDto.builder()
+                    .cartId(cartId)
+                    .customerId(customerId)
+                    .total(cartTotal)
+                    .discount(cartDiscount)
+                    .build();
+        }
+        this.createdAt = createdAt;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.vedasole.ekartecommercebackend.payload;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were read, imported and rejected, and why each rejected row was rejected.
+ *
+ * @param totalRows       the number of rows read from the file
+ * @param imported        the number of rows inserted
+ * @param failed          the number of rows rejected
+ * @param errors          the rejected rows, at most {@code ekart.import.max-reported-errors} of them
+ * @param errorsTruncated whether more rows were rejected than listed in {@code errors}
+ */
+public record ImportReport(
+        long totalRows,
+        long imported,
+        long failed,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+
+    /**
+     * @param row     the 1-based number of the row in the file, not counting the CSV header
+     * @param message why the row was rejected
+     */
+    public record RowError(long row, String message) { }
+
+}
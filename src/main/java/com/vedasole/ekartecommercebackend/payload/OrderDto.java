@@ -1,5 +1,6 @@
 package com.vedasole.ekartecommercebackend.payload;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.vedasole.ekartecommercebackend.entity.Order;
 import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
@@ -25,6 +26,7 @@ import java.util.List;
 @NoArgsConstructor
 @Data
 @Relation(itemRelation = "order", collectionRelation = "orders")
+@JsonFilter("orderFields")
 public class OrderDto implements Serializable {
 
     @Serial
@@ -0,0 +1,37 @@
+package com.vedasole.ekartecommercebackend.payload;
+
+/**
+ * Projection of an order item, read by {@code OrderItemRepo} for a batch of orders at once from the order item rows
+ * alone.
+ */
+public record OrderItemSummaryDto(
+        long orderId,
+        long orderItemId,
+        long quantity,
+        ProductDto product
+) {
+
+    /**
+     * Used by the JPQL constructor expression, which cannot nest the product one. The product only carries the
+     * snapshot taken when it was ordered.
+     */
+    public OrderItemSummaryDto(
+            long orderId,
+            long orderItemId,
+            long quantity,
+            long productId,
+            String productName,
+            String productImage,
+            double unitPrice,
+            double discount
+    ) {
+        this(orderId, orderItemId, quantity, ProductDto.builder()
+                .productId(productId)
+                .name(productName)
+                .image(productImage)
+                .price(unitPrice)
+                .discount(discount)
+                .build());
+    }
+
+}
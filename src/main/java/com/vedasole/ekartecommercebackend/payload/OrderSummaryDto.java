@@ -0,0 +1,35 @@
+package com.vedasole.ekartecommercebackend.payload;
+
+import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of an order with its customer and address, read by {@code OrderRepo} in a single query.
+ * The address columns are {@code null} for orders without an address.
+ */
+public record OrderSummaryDto(
+        long orderId,
+        double total,
+        OrderStatus orderStatus,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long customerId,
+        String firstName,
+        String lastName,
+        String email,
+        String phoneNumber,
+        Role role,
+        Long cartId,
+        Double cartTotal,
+        Double cartDiscount,
+        LocalDateTime customerCreatedAt,
+        Long addressId,
+        String addLine1,
+        String addLine2,
+        String city,
+        String state,
+        String country,
+        Integer postalCode
+) { }
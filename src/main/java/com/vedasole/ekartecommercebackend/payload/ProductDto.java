@@ -1,5 +1,6 @@
 package com.vedasole.ekartecommercebackend.payload;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.vedasole.ekartecommercebackend.entity.Product;
 import jakarta.validation.constraints.Min;
@@ -24,6 +25,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Data
 @Relation(itemRelation = "product", collectionRelation = "products")
+@JsonFilter("productFields")
 public final class ProductDto implements Serializable {
 
     @Serial
@@ -0,0 +1,11 @@
+package com.vedasole.ekartecommercebackend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductPopularityDto {
+    private Long productId;
+    private Long quantitySold;
+}
@@ -0,0 +1,29 @@
+package com.vedasole.ekartecommercebackend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * DTO for a search box completion, pointing either to a product or to a category
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public final class SuggestionDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4417281720356153090L;
+
+    private String text;
+
+    private String type;
+
+    private long id;
+
+}
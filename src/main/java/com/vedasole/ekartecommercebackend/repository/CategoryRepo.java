@@ -1,17 +1,40 @@
 package com.vedasole.ekartecommercebackend.repository;
 
 import com.vedasole.ekartecommercebackend.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.STREAM_FETCH_SIZE;
 
 @Repository
 public interface CategoryRepo extends JpaRepository<Category, Long> {
 
+    /**
+     * Hibernate query cache region of {@link #findAllByParentCategoryIsNull()}.
+     */
+    String PARENT_CATEGORIES_QUERY_REGION = "parentCategories";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = PARENT_CATEGORIES_QUERY_REGION)
+    })
     List<Category> findAllByParentCategoryIsNull();
     Page<Category> findAllByParentCategoryIsNull(Pageable pageable);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.parentCategory ORDER BY c.categoryId")
+    Stream<Category> streamAll();
+
 }
\ No newline at end of file
@@ -1,14 +1,61 @@
 package com.vedasole.ekartecommercebackend.repository;
 
 import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.payload.CustomerDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.STREAM_FETCH_SIZE;
 
 @Repository
 public interface CustomerRepo extends JpaRepository<Customer, Long> {
 
+    /**
+     * Constructor expression selecting the columns of a {@link CustomerDto}, reading the email and role
+     * from the user and only the header of the shopping cart.
+     */
+    String CUSTOMER_DTO = "new com.vedasole.ekartecommercebackend.payload.CustomerDto(" +
+            "c.customerId, c.firstName, c.lastName, u.email, c.phoneNumber, u.role, " +
+            "sc.cartId, sc.total, sc.discount, c.createdAt)";
+
+    String CUSTOMER_DTO_FROM = " FROM Customer c JOIN c.user u LEFT JOIN c.shoppingCart sc";
+
     Optional<Customer> findByEmail(String email);
 
+    @Query("SELECT " + CUSTOMER_DTO + CUSTOMER_DTO_FROM + " WHERE c.customerId = :customerId")
+    Optional<CustomerDto> findCustomerDtoById(@Param("customerId") long customerId);
+
+    @Query("SELECT " + CUSTOMER_DTO + CUSTOMER_DTO_FROM + " WHERE c.email = :email")
+    Optional<CustomerDto> findCustomerDtoByEmail(@Param("email") String email);
+
+    @Query("SELECT " + CUSTOMER_DTO + CUSTOMER_DTO_FROM + " ORDER BY c.customerId")
+    List<CustomerDto> findAllCustomerDtos();
+
+    @Query(value = "SELECT " + CUSTOMER_DTO + CUSTOMER_DTO_FROM, countQuery = "SELECT COUNT(c) FROM Customer c")
+    Page<CustomerDto> findAllCustomerDtos(Pageable pageable);
+
+    Window<Customer> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Customer c JOIN FETCH c.user LEFT JOIN FETCH c.shoppingCart ORDER BY c.customerId")
+    Stream<Customer> streamAll();
+
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.vedasole.ekartecommercebackend.repository;
+
+import com.vedasole.ekartecommercebackend.entity.DailyIncome;
+import com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyIncomeRepo extends JpaRepository<DailyIncome, LocalDate> {
+
+    /**
+     * Adds to the income and order count of a day in place, so that concurrent orders of the same day all count.
+     *
+     * @return 1, or 0 if the day has no row yet
+     */
+    @Modifying
+    @Query("""
+    UPDATE DailyIncome d
+    SET d.income = d.income + :income, d.orderCount = d.orderCount + :orderCount
+    WHERE d.date = :date
+    """)
+    int addIncome(@Param("date") LocalDate date, @Param("income") double income, @Param("orderCount") long orderCount);
+
+    @Query("SELECT COALESCE(SUM(d.income), 0) FROM DailyIncome d")
+    Double getTotalIncome();
+
+    @Query("""
+    SELECT new com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto(d.month, SUM(d.income))
+    FROM DailyIncome d
+    GROUP BY d.month
+    ORDER BY d.month ASC
+    """)
+    List<MonthlyIncomeDto> getTotalIncomeByMonth();
+
+}
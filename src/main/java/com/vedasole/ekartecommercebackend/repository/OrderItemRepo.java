@@ -1,8 +1,14 @@
 package com.vedasole.ekartecommercebackend.repository;
 
 import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.payload.OrderItemSummaryDto;
+import com.vedasole.ekartecommercebackend.payload.ProductPopularityDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -11,4 +17,40 @@ public interface OrderItemRepo extends JpaRepository<OrderItem, Long> {
     void deleteAllByOrderOrderId(long orderId);
     List<OrderItem> findAllByOrderOrderId(long orderId);
 
+    /**
+     * Constructor expression selecting an order item along with the snapshot of its product. Only the foreign key
+     * of the product is read, the product table is not joined.
+     */
+    String ORDER_ITEM_SUMMARY = "new com.vedasole.ekartecommercebackend.payload.OrderItemSummaryDto(" +
+            "oi.order.orderId, oi.orderItemId, oi.quantity, " +
+            "oi.product.productId, oi.productName, oi.productImage, oi.unitPrice, oi.discount)";
+
+    @Query("SELECT " + ORDER_ITEM_SUMMARY + " FROM OrderItem oi WHERE oi.order.orderId IN :orderIds ORDER BY oi.orderItemId")
+    List<OrderItemSummaryDto> findSummariesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Reads the items of every order, for listings of all orders which would otherwise bind an IN list
+     * as long as the orders table.
+     */
+    @Query("SELECT " + ORDER_ITEM_SUMMARY + " FROM OrderItem oi ORDER BY oi.orderItemId")
+    List<OrderItemSummaryDto> findAllSummaries();
+
+    @Query("""
+    SELECT new com.vedasole.ekartecommercebackend.payload.ProductPopularityDto(oi.product.productId, SUM(oi.quantity))
+    FROM OrderItem oi
+    GROUP BY oi.product.productId
+    """)
+    List<ProductPopularityDto> getQuantitySoldPerProduct();
+
+    /**
+     * Reads the IDs of the best selling products, by quantity sold, best first.
+     */
+    @Query("""
+    SELECT oi.product.productId
+    FROM OrderItem oi
+    GROUP BY oi.product.productId
+    ORDER BY SUM(oi.quantity) DESC
+    """)
+    List<Long> findTopSellingProductIds(Pageable pageable);
+
 }
\ No newline at end of file
@@ -1,30 +1,107 @@
 package com.vedasole.ekartecommercebackend.repository;
 
+import com.vedasole.ekartecommercebackend.entity.DailyIncome;
 import com.vedasole.ekartecommercebackend.entity.Order;
-import com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto;
+import com.vedasole.ekartecommercebackend.payload.OrderSummaryDto;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.STREAM_FETCH_SIZE;
+
+
+public interface OrderRepo extends JpaRepository<Order, Long>, SparseOrderRepo {
+
+    /**
+     * Constructor expression selecting an order along with the columns of its customer and address.
+     * The items are read separately, see {@link OrderItemRepo#findSummariesByOrderIds}.
+     */
+    String ORDER_SUMMARY = "new com.vedasole.ekartecommercebackend.payload.OrderSummaryDto(" +
+            "o.orderId, o.total, o.orderStatus, o.createdAt, o.updatedAt, " +
+            "c.customerId, c.firstName, c.lastName, u.email, c.phoneNumber, u.role, " +
+            "sc.cartId, sc.total, sc.discount, c.createdAt, " +
+            "a.addressId, a.addLine1, a.addLine2, a.city, a.state, a.country, a.postalCode)";
+
+    String ORDER_SUMMARY_FROM = " FROM Order o JOIN o.customer c JOIN c.user u" +
+            " LEFT JOIN c.shoppingCart sc LEFT JOIN o.address a";
+
+    @Query("SELECT " + ORDER_SUMMARY + ORDER_SUMMARY_FROM + " WHERE o.orderId = :orderId")
+    Optional<OrderSummaryDto> findSummaryById(@Param("orderId") long orderId);
+
+    @Query("SELECT " + ORDER_SUMMARY + ORDER_SUMMARY_FROM + " ORDER BY o.orderId")
+    List<OrderSummaryDto> findAllSummaries();
+
+    @Query(value = "SELECT " + ORDER_SUMMARY + ORDER_SUMMARY_FROM, countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderSummaryDto> findAllSummaries(Pageable pageable);
+
+    @Query("SELECT " + ORDER_SUMMARY + ORDER_SUMMARY_FROM + " WHERE c.customerId = :customerId ORDER BY o.orderId")
+    List<OrderSummaryDto> findSummariesByCustomerId(@Param("customerId") long customerId);
+
+    @Query(
+            value = "SELECT " + ORDER_SUMMARY + ORDER_SUMMARY_FROM + " WHERE c.customerId = :customerId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.customer.customerId = :customerId"
+    )
+    Page<OrderSummaryDto> findSummariesByCustomerId(@Param("customerId") long customerId, Pageable pageable);
 
-public interface OrderRepo extends JpaRepository<Order, Long> {
     List<Order> findAllByCustomer_CustomerId(Long customerId);
     Page<Order> findAllByCustomer_CustomerId(Pageable pageable, Long customerId);
 
-    @Query(value = "SELECT COALESCE(SUM(o.\"total\"), 0) FROM \"order\" o", nativeQuery = true)
-    Double getTotalIncome();
+    /**
+     * Reads a slice of orders along with their customer, user, cart and address in one query. The items are read
+     * separately, see {@link OrderItemRepo#findSummariesByOrderIds}.
+     */
+    @EntityGraph(attributePaths = {"customer.user", "customer.shoppingCart", "address"})
+    Window<Order> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 
-    @Query(value = """
-    SELECT new com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto(
-        CONCAT(CAST(YEAR(o.createdAt) AS string), '-', LPAD(CAST(MONTH(o.createdAt) AS string), 2, '0')),
-        SUM(o.total)
-    )
+    @EntityGraph(attributePaths = {"customer.user", "customer.shoppingCart", "address"})
+    Window<Order> findAllByCustomer_CustomerId(Long customerId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Streams every order with its items in a single forward-only query. Ordering by the order id keeps
+     * the rows of one order together, so each order is handed out with its items fully assembled.
+     * The user and cart of the customer are fetched too, as they would otherwise be loaded eagerly one customer
+     * at a time.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT o FROM Order o
+    JOIN FETCH o.customer c
+    JOIN FETCH c.user
+    LEFT JOIN FETCH c.shoppingCart
+    LEFT JOIN FETCH o.address
+    LEFT JOIN FETCH o.orderItems
+    ORDER BY o.orderId
+    """)
+    Stream<Order> streamAll();
+
+    /**
+     * Rolls up the income of the orders in the given statuses by the day they were created, to rebuild the
+     * {@link DailyIncome} rows.
+     */
+    @Query("""
+    SELECT new com.vedasole.ekartecommercebackend.entity.DailyIncome(CAST(o.createdAt AS LocalDate), SUM(o.total), COUNT(o))
     FROM Order o
-    GROUP BY CONCAT(CAST(YEAR(o.createdAt) AS string), '-', LPAD(CAST(MONTH(o.createdAt) AS string), 2, '0'))
-    ORDER BY CONCAT(CAST(YEAR(o.createdAt) AS string), '-', LPAD(CAST(MONTH(o.createdAt) AS string), 2, '0')) ASC
+    WHERE o.orderStatus IN :orderStatuses
+    GROUP BY CAST(o.createdAt AS LocalDate)
     """)
-    List<MonthlyIncomeDto> getTotalIncomeByMonth();
+    List<DailyIncome> getDailyIncome(@Param("orderStatuses") Collection<OrderStatus> orderStatuses);
 }
\ No newline at end of file
@@ -1,13 +1,39 @@
 package com.vedasole.ekartecommercebackend.repository;
 
 import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.search.IndexedProduct;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface ProductRepo extends JpaRepository<Product, Long> {
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.STREAM_FETCH_SIZE;
+
+public interface ProductRepo extends JpaRepository<Product, Long>, SparseProductRepo {
+
+    /**
+     * Constructor expression selecting the columns of a {@link ProductDto}, so that read only listings
+     * skip the entities, their category and the persistence context altogether.
+     */
+    String PRODUCT_DTO = "new com.vedasole.ekartecommercebackend.payload.ProductDto(" +
+            "p.productId, p.name, p.image, p.desc, p.price, p.discount, p.qtyInStock, " +
+            "p.category.categoryId, p.createdAt, p.updatedAt)";
 
     List<Product> findByNameIsContainingIgnoreCaseOrDescContainingIgnoreCase(String name, String desc, Pageable pageable);
 
@@ -15,4 +41,42 @@ public interface ProductRepo extends JpaRepository<Product, Long> {
 
     Page<Product> findByCategoryCategoryId(long categoryId, Pageable pageable);
 
+    Slice<Product> findSliceByCategoryCategoryId(long categoryId, Pageable pageable);
+
+    long countByCategoryCategoryId(long categoryId);
+
+    @Query("SELECT " + PRODUCT_DTO + " FROM Product p ORDER BY p.productId")
+    List<ProductDto> findAllProductDtos();
+
+    @Query(value = "SELECT " + PRODUCT_DTO + " FROM Product p", countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductDto> findAllProductDtos(Pageable pageable);
+
+    @Query("SELECT " + PRODUCT_DTO + " FROM Product p WHERE p.productId = :productId")
+    Optional<ProductDto> findProductDtoById(@Param("productId") long productId);
+
+    @Query("SELECT " + PRODUCT_DTO + " FROM Product p WHERE p.productId IN :productIds")
+    List<ProductDto> findProductDtosByIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT " + PRODUCT_DTO + " FROM Product p WHERE p.category.categoryId = :categoryId ORDER BY p.productId")
+    List<ProductDto> findProductDtosByCategoryId(@Param("categoryId") long categoryId);
+
+    @Query("SELECT " + PRODUCT_DTO + " FROM Product p WHERE p.category.categoryId = :categoryId")
+    Slice<ProductDto> findProductDtoSliceByCategoryId(@Param("categoryId") long categoryId, Pageable pageable);
+
+    @Query("SELECT new com.vedasole.ekartecommercebackend.search.IndexedProduct(" +
+            "p.productId, p.name, p.desc, p.category.categoryId) FROM Product p")
+    List<IndexedProduct> findAllIndexedProducts();
+
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    Set<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.category ORDER BY p.productId")
+    Stream<Product> streamAll();
+
 }
\ No newline at end of file
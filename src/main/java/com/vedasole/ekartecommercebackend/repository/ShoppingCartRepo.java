@@ -2,6 +2,8 @@ package com.vedasole.ekartecommercebackend.repository;
 
 import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -10,6 +12,19 @@ public interface ShoppingCartRepo extends JpaRepository<ShoppingCart, Long> {
 
     Optional<ShoppingCart> findByCustomer_CustomerId(long customerId);
 
+    /**
+     * Reads the cart of a customer along with the customer, the items and their products in a single query,
+     * so that it can be priced without any further load.
+     */
+    @Query("""
+    SELECT sc FROM ShoppingCart sc
+    JOIN FETCH sc.customer c
+    LEFT JOIN FETCH sc.shoppingCartItems sci
+    LEFT JOIN FETCH sci.product
+    WHERE c.customerId = :customerId
+    """)
+    Optional<ShoppingCart> findWithItemsByCustomerId(@Param("customerId") long customerId);
+
     void deleteByCustomer_CustomerId(long customerId);
 
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.vedasole.ekartecommercebackend.repository;
+
+import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+/**
+ * Reads of orders selecting only the columns of a sparse fieldset: the customer and the address are only joined
+ * when requested. The items are never read here, see {@link OrderItemRepo#findSummariesByOrderIds}.
+ */
+public interface SparseOrderRepo {
+
+    Optional<OrderDto> findOrderDtoById(long orderId, FieldSet fields);
+
+    /**
+     * @param customerId the customer to read the orders of, or {@code null} for all orders
+     */
+    Page<OrderDto> findOrderDtos(Long customerId, FieldSet fields, Pageable pageable);
+
+}
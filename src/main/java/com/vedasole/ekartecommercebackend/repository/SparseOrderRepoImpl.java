@@ -0,0 +1,161 @@
+package com.vedasole.ekartecommercebackend.repository;
+
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
+import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.payload.AddressDto;
+import com.vedasole.ekartecommercebackend.payload.CustomerDto;
+import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.Role;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class SparseOrderRepoImpl implements SparseOrderRepo {
+
+    private static final String CUSTOMER = "customer";
+    private static final String ADDRESS = "address";
+    private static final String ORDER_ITEMS = "orderItems";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<OrderDto> findOrderDtoById(long orderId, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        query.multiselect(selections(order, fields))
+                .where(cb.equal(order.get("orderId"), orderId));
+        return entityManager.createQuery(query).getResultStream().findFirst().map(tuple -> toDto(tuple, fields));
+    }
+
+    @Override
+    public Page<OrderDto> findOrderDtos(Long customerId, FieldSet fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        query.multiselect(selections(order, fields))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), order, cb));
+        if (customerId != null) query.where(ofCustomer(cb, order, customerId));
+        List<OrderDto> orders = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream()
+                .map(tuple -> toDto(tuple, fields))
+                .toList();
+        return PageableExecutionUtils.getPage(orders, pageable, () -> count(customerId));
+    }
+
+    private long count(Long customerId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+        query.select(cb.count(order));
+        if (customerId != null) query.where(ofCustomer(cb, order, customerId));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate ofCustomer(CriteriaBuilder cb, Root<Order> order, long customerId) {
+        return cb.equal(order.get(CUSTOMER).get("customerId"), customerId);
+    }
+
+    /**
+     * Selects the order columns by their field name, and the customer and address columns, read through joins,
+     * by their path from the order.
+     */
+    private static List<Selection<?>> selections(Root<Order> order, FieldSet fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields.names()) {
+            switch (field) {
+                case CUSTOMER -> {
+                    Join<Order, Customer> customer = order.join(CUSTOMER);
+                    Join<Customer, User> user = customer.join("user");
+                    Join<Customer, ShoppingCart> cart = customer.join("shoppingCart", JoinType.LEFT);
+                    selections.add(customer.get("customerId").alias("customer.customerId"));
+                    selections.add(customer.get("firstName").alias("customer.firstName"));
+                    selections.add(customer.get("lastName").alias("customer.lastName"));
+                    selections.add(user.get("email").alias("customer.email"));
+                    selections.add(customer.get("phoneNumber").alias("customer.phoneNumber"));
+                    selections.add(user.get("role").alias("customer.role"));
+                    selections.add(cart.get("cartId").alias("customer.cartId"));
+                    selections.add(cart.get("total").alias("customer.cartTotal"));
+                    selections.add(cart.get("discount").alias("customer.cartDiscount"));
+                    selections.add(customer.get("createdAt").alias("customer.createdAt"));
+                }
+                case ADDRESS -> {
+                    Join<Order, Address> address = order.join(ADDRESS, JoinType.LEFT);
+                    for (String column : new String[]{"addressId", "addLine1", "addLine2", "city", "state", "country", "postalCode"}) {
+                        selections.add(address.get(column).alias("address." + column));
+                    }
+                }
+                case ORDER_ITEMS -> { }
+                default -> selections.add(order.get(field).alias(field));
+            }
+        }
+        return selections;
+    }
+
+    private static OrderDto toDto(Tuple tuple, FieldSet fields) {
+        OrderDto orderDto = new OrderDto();
+        for (String field : fields.names()) {
+            switch (field) {
+                case "orderId" -> orderDto.setOrderId(tuple.get(field, Long.class));
+                case "total" -> orderDto.setTotal(tuple.get(field, Double.class));
+                case "orderStatus" -> orderDto.setOrderStatus(tuple.get(field, OrderStatus.class));
+                case "createdAt" -> orderDto.setCreatedAt(tuple.get(field, LocalDateTime.class));
+                case "updatedAt" -> orderDto.setUpdatedAt(tuple.get(field, LocalDateTime.class));
+                case CUSTOMER -> orderDto.setCustomer(new CustomerDto(
+                        tuple.get("customer.customerId", Long.class),
+                        tuple.get("customer.firstName", String.class),
+                        tuple.get("customer.lastName", String.class),
+                        tuple.get("customer.email", String.class),
+                        tuple.get("customer.phoneNumber", String.class),
+                        tuple.get("customer.role", Role.class),
+                        tuple.get("customer.cartId", Long.class),
+                        tuple.get("customer.cartTotal", Double.class),
+                        tuple.get("customer.cartDiscount", Double.class),
+                        tuple.get("customer.createdAt", LocalDateTime.class)
+                ));
+                case ADDRESS -> {
+                    Long addressId = tuple.get("address.addressId", Long.class);
+                    if (addressId != null) {
+                        orderDto.setAddress(new AddressDto(
+                                addressId,
+                                tuple.get("address.addLine1", String.class),
+                                tuple.get("address.addLine2", String.class),
+                                tuple.get("address.city", String.class),
+                                tuple.get("address.state", String.class),
+                                tuple.get("address.country", String.class),
+                                tuple.get("address.postalCode", Integer.class)
+                        ));
+                    }
+                }
+                case ORDER_ITEMS -> { }
+                default -> throw new IllegalArgumentException("Unknown order field " + field);
+            }
+        }
+        return orderDto;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.vedasole.ekartecommercebackend.repository;
+
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+/**
+ * Reads of products selecting only the columns of a sparse fieldset. The fields left out keep their default value
+ * in the returned DTOs and are not serialized.
+ */
+public interface SparseProductRepo {
+
+    Optional<ProductDto> findProductDtoById(long productId, FieldSet fields);
+
+    /**
+     * @param categoryId the category to read the products of, or {@code null} for all products
+     */
+    Page<ProductDto> findProductDtos(Long categoryId, FieldSet fields, Pageable pageable);
+
+}
@@ -0,0 +1,104 @@
+package com.vedasole.ekartecommercebackend.repository;
+
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class SparseProductRepoImpl implements SparseProductRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<ProductDto> findProductDtoById(long productId, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        query.multiselect(selections(product, fields))
+                .where(cb.equal(product.get("productId"), productId));
+        return entityManager.createQuery(query).getResultStream().findFirst().map(tuple -> toDto(tuple, fields));
+    }
+
+    @Override
+    public Page<ProductDto> findProductDtos(Long categoryId, FieldSet fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        query.multiselect(selections(product, fields))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+        if (categoryId != null) query.where(inCategory(cb, product, categoryId));
+        List<ProductDto> products = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream()
+                .map(tuple -> toDto(tuple, fields))
+                .toList();
+        return PageableExecutionUtils.getPage(products, pageable, () -> count(categoryId));
+    }
+
+    private long count(Long categoryId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product));
+        if (categoryId != null) query.where(inCategory(cb, product, categoryId));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate inCategory(CriteriaBuilder cb, Root<Product> product, long categoryId) {
+        return cb.equal(product.get("category").get("categoryId"), categoryId);
+    }
+
+    private static List<Selection<?>> selections(Root<Product> product, FieldSet fields) {
+        List<Selection<?>> selections = new ArrayList<>(fields.names().size());
+        for (String field : fields.names()) selections.add(path(product, field).alias(field));
+        return selections;
+    }
+
+    /**
+     * The DTO fields are named after the entity fields, except for the category, read from the foreign key.
+     */
+    private static Path<?> path(Root<Product> product, String field) {
+        return field.equals("categoryId") ? product.get("category").get("categoryId") : product.get(field);
+    }
+
+    private static ProductDto toDto(Tuple tuple, FieldSet fields) {
+        ProductDto productDto = new ProductDto();
+        for (String field : fields.names()) {
+            Object value = tuple.get(field);
+            switch (field) {
+                case "productId" -> productDto.setProductId((Long) value);
+                case "name" -> productDto.setName((String) value);
+                case "image" -> productDto.setImage((String) value);
+                case "desc" -> productDto.setDesc((String) value);
+                case "price" -> productDto.setPrice((Double) value);
+                case "discount" -> productDto.setDiscount((Double) value);
+                case "qtyInStock" -> productDto.setQtyInStock((Integer) value);
+                case "categoryId" -> productDto.setCategoryId((Long) value);
+                case "createdAt" -> productDto.setCreatedAt((LocalDateTime) value);
+                case "updatedAt" -> productDto.setUpdatedAt((LocalDateTime) value);
+                default -> throw new IllegalArgumentException("Unknown product field " + field);
+            }
+        }
+        return productDto;
+    }
+
+}
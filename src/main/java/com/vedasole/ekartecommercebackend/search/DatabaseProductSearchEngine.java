@@ -0,0 +1,48 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link ProductSearchEngine} which runs a case-insensitive {@code LIKE} query on the product name and description.
+ * There is no index to maintain, so every query scans the product table.
+ */
+@RequiredArgsConstructor
+public class DatabaseProductSearchEngine implements ProductSearchEngine {
+
+    private final ProductRepo productRepo;
+
+    @Override
+    public List<Long> search(String query, int page, int size) {
+        return productRepo.findByNameIsContainingIgnoreCaseOrDescContainingIgnoreCase(query, query, PageRequest.of(page, size))
+                .stream()
+                .map(Product::getProductId)
+                .toList();
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void index(ProductSearchDocument document) {
+        // Nothing to index, queries always go to the database
+    }
+
+    @Override
+    public void remove(long productId) {
+        // Nothing to index, queries always go to the database
+    }
+
+    @Override
+    public void rebuild(Collection<ProductSearchDocument> documents) {
+        // Nothing to index, queries always go to the database
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import com.vedasole.ekartecommercebackend.config.EkartSearchProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link ProductSearchEngine} backed by an in-memory inverted index over product names and descriptions.
+ * <p>
+ * Documents are ranked with BM25F, i.e. BM25 over the name and description fields with a boost for the name.
+ * The last query word is also matched as a prefix of the indexed words, so that results show up while typing,
+ * and query words missing from the index are matched against indexed words within a small edit distance.
+ */
+@Slf4j
+public class InMemoryProductSearchEngine implements ProductSearchEngine {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.8;
+    private static final double ONE_TYPO_WEIGHT = 0.6;
+    private static final double TWO_TYPOS_WEIGHT = 0.4;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int TWO_TYPOS_MIN_LENGTH = 8;
+
+    private final double nameBoost;
+    private final int maxPrefixExpansions;
+    private final boolean typoTolerance;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private volatile boolean ready;
+
+    public InMemoryProductSearchEngine(EkartSearchProperties properties) {
+        this.nameBoost = properties.getNameBoost();
+        this.maxPrefixExpansions = properties.getMaxPrefixExpansions();
+        this.typoTolerance = properties.isTypoTolerance();
+    }
+
+    @Override
+    public List<Long> search(String query, int page, int size) {
+        List<String> words = TextAnalyzer.tokenize(query);
+        if (words.isEmpty() || size <= 0 || page < 0) return List.of();
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < words.size(); i++) {
+                Map<String, Double> terms = expand(words.get(i), i == words.size() - 1);
+                Map<Long, Double> wordScores = new HashMap<>();
+                terms.forEach((term, weight) -> scoreTerm(term, weight, wordScores));
+                wordScores.forEach((productId, score) -> scores.merge(productId, score, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .skip((long) page * size)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            index.remove(document.productId());
+            index.add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<ProductSearchDocument> documents) {
+        Index rebuilt = new Index();
+        documents.forEach(rebuilt::add);
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Product search index rebuilt with {} products and {} terms", rebuilt.documents.size(), rebuilt.postings.size());
+    }
+
+    /**
+     * Maps a query word to the index terms it should match, with the weight of each match.
+     * Typo tolerance only kicks in when the word matches nothing as it is.
+     */
+    private Map<String, Double> expand(String word, boolean lastWord) {
+        Map<String, Double> terms = new HashMap<>();
+        String stem = TextAnalyzer.stem(word);
+        if (index.postings.containsKey(stem)) terms.put(stem, 1.0);
+        if (lastWord && word.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (String surface : index.surfaces.subMap(word, true, word + Character.MAX_VALUE, true).keySet()) {
+                if (expansions++ >= maxPrefixExpansions) break;
+                terms.merge(TextAnalyzer.stem(surface), PREFIX_WEIGHT, Math::max);
+            }
+        }
+        if (terms.isEmpty() && typoTolerance && word.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = word.length() >= TWO_TYPOS_MIN_LENGTH ? 2 : 1;
+            for (String surface : index.surfaces.keySet()) {
+                if (Math.abs(surface.length() - word.length()) > maxEdits) continue;
+                int distance = boundedEditDistance(word, surface, maxEdits);
+                if (distance <= maxEdits) {
+                    terms.merge(TextAnalyzer.stem(surface), distance == 1 ? ONE_TYPO_WEIGHT : TWO_TYPOS_WEIGHT, Math::max);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private void scoreTerm(String term, double weight, Map<Long, Double> wordScores) {
+        Map<Long, int[]> postings = index.postings.get(term);
+        if (postings == null) return;
+        int documentCount = index.documents.size();
+        double idf = Math.log(1 + (documentCount - postings.size() + 0.5) / (postings.size() + 0.5));
+        double averageNameLength = Math.max(1.0, (double) index.totalNameLength / documentCount);
+        double averageDescLength = Math.max(1.0, (double) index.totalDescLength / documentCount);
+        postings.forEach((productId, frequencies) -> {
+            Document document = index.documents.get(productId);
+            double frequency = nameBoost * frequencies[0] / (1 - B + B * document.nameLength() / averageNameLength)
+                    + frequencies[1] / (1 - B + B * document.descLength() / averageDescLength);
+            double score = weight * idf * frequency * (K1 + 1) / (frequency + K1);
+            wordScores.merge(productId, score, Math::max);
+        });
+    }
+
+    /**
+     * Levenshtein distance which gives up as soon as it exceeds {@code maxEdits}.
+     *
+     * @return the distance, or {@code maxEdits + 1} if it is larger than {@code maxEdits}
+     */
+    static int boundedEditDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxEdits) return maxEdits + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+
+    private record Document(int nameLength, int descLength, Set<String> terms, Set<String> surfaces) {
+    }
+
+    /**
+     * The index data. Not thread-safe on its own; guarded by the engine's lock.
+     */
+    private static final class Index {
+
+        /**
+         * term -> product id -> term frequency in the name ([0]) and the description ([1])
+         */
+        private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        /**
+         * Sorted unstemmed words -> number of products containing them, for prefix and typo matching.
+         */
+        private final NavigableMap<String, Integer> surfaces = new TreeMap<>();
+        private long totalNameLength;
+        private long totalDescLength;
+
+        private void add(ProductSearchDocument document) {
+            List<String> nameWords = TextAnalyzer.tokenize(document.name());
+            List<String> descWords = TextAnalyzer.tokenize(document.desc());
+            Set<String> terms = new HashSet<>();
+            Set<String> surfaceWords = new HashSet<>();
+            addField(document.productId(), nameWords, 0, terms, surfaceWords);
+            addField(document.productId(), descWords, 1, terms, surfaceWords);
+            surfaceWords.forEach(surface -> surfaces.merge(surface, 1, Integer::sum));
+            documents.put(document.productId(), new Document(nameWords.size(), descWords.size(), terms, surfaceWords));
+            totalNameLength += nameWords.size();
+            totalDescLength += descWords.size();
+        }
+
+        private void addField(long productId, List<String> words, int field, Set<String> terms, Set<String> surfaceWords) {
+            for (String word : words) {
+                String term = TextAnalyzer.stem(word);
+                postings.computeIfAbsent(term, key -> new HashMap<>())
+                        .computeIfAbsent(productId, key -> new int[2])[field]++;
+                terms.add(term);
+                surfaceWords.add(word);
+            }
+        }
+
+        private void remove(long productId) {
+            Document document = documents.remove(productId);
+            if (document == null) return;
+            for (String term : document.terms()) {
+                Map<Long, int[]> termPostings = postings.get(term);
+                if (termPostings == null) continue;
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) postings.remove(term);
+            }
+            for (String surface : document.surfaces()) {
+                surfaces.computeIfPresent(surface, (key, count) -> count > 1 ? count - 1 : null);
+            }
+            totalNameLength -= document.nameLength();
+            totalDescLength -= document.descLength();
+        }
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.vedasole.ekartecommercebackend.search;
+
+/**
+ * The columns of a product read by a full rebuild of the search index and the suggestions, selected with a
+ * constructor expression so that the rebuild loads no entities and leaves the second-level cache alone.
+ *
+ * @param productId  id of the product
+ * @param name       name of the product
+ * @param desc       description of the product
+ * @param categoryId id of the category of the product
+ */
+public record IndexedProduct(long productId, String name, String desc, long categoryId) {
+
+    public ProductSearchDocument document() {
+        return new ProductSearchDocument(productId, name, desc);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.vedasole.ekartecommercebackend.search;
+
+/**
+ * Published by the product service whenever a product is created, updated or deleted.
+ * Listeners keeping in-memory indexes in sync should handle it after the transaction commits.
+ *
+ * @param productId id of the product
+ * @param document  the searchable fields after the change, or {@code null} when the product was deleted
+ */
+public record ProductChangedEvent(long productId, ProductSearchDocument document) {
+
+    public static ProductChangedEvent saved(ProductSearchDocument document) {
+        return new ProductChangedEvent(document.productId(), document);
+    }
+
+    public static ProductChangedEvent deleted(long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeleted() {
+        return document == null;
+    }
+
+}
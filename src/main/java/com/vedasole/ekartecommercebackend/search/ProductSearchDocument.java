@@ -0,0 +1,18 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import com.vedasole.ekartecommercebackend.entity.Product;
+
+/**
+ * The searchable fields of a product, as handed to a {@link ProductSearchEngine}.
+ *
+ * @param productId id of the product
+ * @param name      name of the product
+ * @param desc      description of the product
+ */
+public record ProductSearchDocument(long productId, String name, String desc) {
+
+    public static ProductSearchDocument of(Product product) {
+        return new ProductSearchDocument(product.getProductId(), product.getName(), product.getDesc());
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Full-text search over the product catalog. The implementation is selected with {@code ekart.search.engine}.
+ */
+public interface ProductSearchEngine {
+
+    /**
+     * Searches the products by name and description.
+     *
+     * @param query the text typed by the user
+     * @param page  the page number to retrieve
+     * @param size  the number of products per page
+     * @return the ids of the matching products, most relevant first
+     */
+    List<Long> search(String query, int page, int size);
+
+    /**
+     * @return whether the engine can answer queries, e.g. an index has been built
+     */
+    boolean isReady();
+
+    /**
+     * Adds a product to the index, or replaces it if it is already indexed.
+     */
+    void index(ProductSearchDocument document);
+
+    /**
+     * Removes a product from the index.
+     */
+    void remove(long productId);
+
+    /**
+     * Replaces the whole index with the given products.
+     */
+    void rebuild(Collection<ProductSearchDocument> documents);
+
+}
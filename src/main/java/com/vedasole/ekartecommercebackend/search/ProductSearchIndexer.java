@@ -0,0 +1,83 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@link ProductSearchEngine} and the {@link ProductSuggester} in sync with the database: a full build
+ * once the application is ready and after every import, incremental updates for the product writes made on this
+ * node, and, with the in-memory engine, a periodic full rebuild run by the {@link ProductSearchRefresher}.
+ * <p>
+ * A full rebuild reads the {@link IndexedProduct} columns once for both. The writes committed while it runs are
+ * applied to the old state, which the rebuild replaces, so they are recorded and applied again once the rebuilt
+ * state is in place.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+
+    private final ProductSearchEngine productSearchEngine;
+    private final ProductSuggester productSuggester;
+    private final ProductRepo productRepo;
+
+    private final Object rebuildLock = new Object();
+    /** The last write per product committed since the running rebuild loaded the products, null when none runs. */
+    private Map<Long, ProductChangedEvent> changesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        apply(event);
+        if (changesDuringRebuild != null) changesDuringRebuild.put(event.productId(), event);
+    }
+
+    /**
+     * Rebuilds everything once after a bulk import, rather than applying every imported product.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new LinkedHashMap<>();
+            }
+            try {
+                List<IndexedProduct> products = productRepo.findAllIndexedProducts();
+                productSearchEngine.rebuild(products.stream().map(IndexedProduct::document).toList());
+                productSuggester.refresh(products);
+            } catch (Exception e) {
+                log.error("Failed to rebuild the product search index", e);
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild.values().forEach(this::apply);
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.isDeleted()) productSearchEngine.remove(event.productId());
+        else productSearchEngine.index(event.document());
+        productSuggester.apply(event);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Has the {@link ProductSearchIndexer} rebuild every {@code ekart.search.refresh-interval}, which picks up the
+ * writes made on the other nodes. Only registered with the in-memory engine, as the database engine keeps no index.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ekart.search.engine", havingValue = "memory", matchIfMissing = true)
+public class ProductSearchRefresher {
+
+    private final ProductSearchIndexer productSearchIndexer;
+
+    @Scheduled(
+            initialDelayString = "${ekart.search.refresh-interval:PT5M}",
+            fixedDelayString = "${ekart.search.refresh-interval:PT5M}"
+    )
+    public void refresh() {
+        productSearchIndexer.rebuild();
+    }
+
+}
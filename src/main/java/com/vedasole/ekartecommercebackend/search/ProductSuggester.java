@@ -0,0 +1,107 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import com.vedasole.ekartecommercebackend.config.EkartSearchProperties;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.payload.ProductPopularityDto;
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serves search box completions from a {@link SuggestionIndex} over product and category names, without any
+ * database access. Products are weighted by the quantity sold, categories by the weight of their products.
+ * <p>
+ * Names and weights are reloaded by the {@link ProductSearchIndexer} with every full rebuild of the search index,
+ * from the same products, and the product writes made on this node are applied as soon as they are committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSuggester {
+
+    private final CategoryRepo categoryRepo;
+    private final OrderItemRepo orderItemRepo;
+    private final EkartSearchProperties ekartSearchProperties;
+
+    private final Map<Long, Suggestion> productSuggestions = new HashMap<>();
+    private final Map<Long, Suggestion> categorySuggestions = new HashMap<>();
+    private volatile SuggestionIndex index = SuggestionIndex.empty();
+
+    /**
+     * Returns the most popular product and category names completing the typed prefix.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of completions, capped at {@code ekart.search.suggestion-limit}
+     * @return the completions, most popular first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return index.complete(prefix, Math.min(limit, ekartSearchProperties.getSuggestionLimit()));
+    }
+
+    /**
+     * Reloads the names and weights.
+     *
+     * @param allProducts every product, as read for the search index
+     */
+    public void refresh(List<IndexedProduct> allProducts) {
+        try {
+            Map<Long, Long> quantitySold = orderItemRepo.getQuantitySoldPerProduct().stream()
+                    .collect(Collectors.toMap(ProductPopularityDto::getProductId, ProductPopularityDto::getQuantitySold));
+            Map<Long, Suggestion> products = new HashMap<>();
+            Map<Long, Long> categoryWeights = new HashMap<>();
+            for (IndexedProduct product : allProducts) {
+                long weight = 1 + quantitySold.getOrDefault(product.productId(), 0L);
+                products.put(product.productId(),
+                        new Suggestion(product.name(), Suggestion.PRODUCT, product.productId(), weight));
+                categoryWeights.merge(product.categoryId(), weight, Long::sum);
+            }
+            Map<Long, Suggestion> categories = new HashMap<>();
+            for (Category category : categoryRepo.findAll()) {
+                if (!category.isActive()) continue;
+                categories.put(category.getCategoryId(), new Suggestion(category.getName(), Suggestion.CATEGORY,
+                        category.getCategoryId(), 1 + categoryWeights.getOrDefault(category.getCategoryId(), 0L)));
+            }
+            synchronized (this) {
+                productSuggestions.clear();
+                productSuggestions.putAll(products);
+                categorySuggestions.clear();
+                categorySuggestions.putAll(categories);
+                rebuildIndex();
+            }
+            log.debug("Suggestion index rebuilt with {} products and {} categories", products.size(), categories.size());
+        } catch (Exception e) {
+            log.error("Failed to refresh the suggestion index", e);
+        }
+    }
+
+    /**
+     * Applies a product write. A new product starts with the lowest weight until the next refresh.
+     */
+    public synchronized void apply(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            productSuggestions.remove(event.productId());
+        } else {
+            Suggestion previous = productSuggestions.get(event.productId());
+            long weight = previous != null ? previous.weight() : 1;
+            productSuggestions.put(event.productId(),
+                    new Suggestion(event.document().name(), Suggestion.PRODUCT, event.productId(), weight));
+        }
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        List<Suggestion> suggestions = new ArrayList<>(productSuggestions.size() + categorySuggestions.size());
+        suggestions.addAll(productSuggestions.values());
+        suggestions.addAll(categorySuggestions.values());
+        index = SuggestionIndex.build(suggestions, ekartSearchProperties.getSuggestionLimit());
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.vedasole.ekartecommercebackend.search;
+
+/**
+ * Published once at the end of a bulk product import, in place of a {@link ProductChangedEvent} per product,
+ * so the search and suggestion indexes are rebuilt a single time.
+ *
+ * @param imported the number of products inserted
+ */
+public record ProductsImportedEvent(long imported) { }
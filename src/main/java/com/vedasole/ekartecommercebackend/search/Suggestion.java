@@ -0,0 +1,16 @@
+package com.vedasole.ekartecommercebackend.search;
+
+/**
+ * A completion offered by the {@link SuggestionIndex}.
+ *
+ * @param text   the product or category name, as displayed
+ * @param type   {@code product} or {@code category}
+ * @param id     id of the product or category
+ * @param weight popularity of the completion, higher first
+ */
+public record Suggestion(String text, String type, long id, long weight) {
+
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+
+}
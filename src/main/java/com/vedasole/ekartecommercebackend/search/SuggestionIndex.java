@@ -0,0 +1,121 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import java.util.*;
+
+/**
+ * Immutable prefix trie over product and category names. Every name is reachable from the start of each of its
+ * words, so {@code sho} completes both "Shoe Rack" and "Running Shoes".
+ * <p>
+ * Each node stores the best {@code k} completions of its subtree, computed once at build time, so a lookup costs
+ * one walk down the typed prefix and never visits the subtree. Children are kept in sorted arrays to stay compact.
+ */
+public final class SuggestionIndex {
+
+    private static final SuggestionIndex EMPTY = new SuggestionIndex(List.of(), new Node(new char[0], new Node[0], new int[0]));
+
+    private final List<Suggestion> suggestions;
+    private final Node root;
+
+    private SuggestionIndex(List<Suggestion> suggestions, Node root) {
+        this.suggestions = suggestions;
+        this.root = root;
+    }
+
+    public static SuggestionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param suggestions the completions to index
+     * @param topK        the number of completions kept per prefix, i.e. the largest limit {@link #complete} can serve
+     */
+    public static SuggestionIndex build(Collection<Suggestion> suggestions, int topK) {
+        List<Suggestion> ordered = new ArrayList<>(suggestions);
+        ordered.sort(Comparator.comparingLong(Suggestion::weight).reversed()
+                .thenComparingInt(suggestion -> suggestion.text().length())
+                .thenComparing(Suggestion::text)
+                .thenComparing(Suggestion::type)
+                .thenComparingLong(Suggestion::id));
+        MutableNode root = new MutableNode();
+        for (int i = 0; i < ordered.size(); i++) {
+            String text = TextAnalyzer.normalize(ordered.get(i).text());
+            for (int start = 0; start < text.length(); start = text.indexOf(' ', start) + 1) {
+                root.insert(text, start, i);
+                if (text.indexOf(' ', start) < 0) break;
+            }
+        }
+        return new SuggestionIndex(List.copyOf(ordered), root.freeze(topK));
+    }
+
+    /**
+     * Returns the best completions of the typed prefix.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of completions
+     * @return the completions, most popular first
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String normalized = TextAnalyzer.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) return List.of();
+        Node node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        if (node == null) return List.of();
+        int count = Math.min(limit, node.top.length);
+        List<Suggestion> completions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) completions.add(suggestions.get(node.top[i]));
+        return completions;
+    }
+
+    public int size() {
+        return suggestions.size();
+    }
+
+    private record Node(char[] labels, Node[] children, int[] top) {
+
+        private Node child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+    }
+
+    /**
+     * Trie node used while building. Suggestion indexes are positions in the weight-ordered list,
+     * so smaller means better and merging top lists is a plain sorted merge.
+     */
+    private static final class MutableNode {
+
+        private final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        private final TreeSet<Integer> terminal = new TreeSet<>();
+
+        private void insert(String text, int start, int suggestion) {
+            MutableNode node = this;
+            for (int i = start; i < text.length(); i++) {
+                node = node.children.computeIfAbsent(text.charAt(i), key -> new MutableNode());
+            }
+            node.terminal.add(suggestion);
+        }
+
+        private Node freeze(int topK) {
+            char[] labels = new char[children.size()];
+            Node[] frozenChildren = new Node[children.size()];
+            TreeSet<Integer> best = new TreeSet<>(terminal);
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                frozenChildren[i] = child.getValue().freeze(topK);
+                for (int suggestion : frozenChildren[i].top()) best.add(suggestion);
+                while (best.size() > topK) best.pollLast();
+                i++;
+            }
+            while (best.size() > topK) best.pollLast();
+            return new Node(labels, frozenChildren, best.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns product text and search queries into index terms: accent folding, lower-casing, splitting on
+ * anything that is not a letter or digit, stop word removal and a light English suffix stemmer.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "this", "to", "with"
+    );
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Splits the text into normalized words, without stemming them.
+     *
+     * @param text the text to split, may be {@code null}
+     * @return the words in their order of appearance, stop words excluded
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) return tokens;
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    /**
+     * Normalizes the text for prefix matching: accents folded, lower-cased, and every run of characters
+     * which are not letters or digits replaced by a single space. Stop words are kept.
+     *
+     * @param text the text to normalize, may be {@code null}
+     * @return the normalized text, empty if there is nothing to match
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) return "";
+        return SEPARATORS.matcher(fold(text)).replaceAll(" ").trim();
+    }
+
+    private static String fold(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Reduces a normalized word to its stem, so that e.g. {@code shoes}, {@code running} and {@code batteries}
+     * match {@code shoe}, {@code run} and {@code battery}. Deliberately conservative: short words are kept as they are.
+     *
+     * @param word a word returned by {@link #tokenize(String)}
+     * @return the stem of the word
+     */
+    public static String stem(String word) {
+        if (word.length() <= 3 || !Character.isLetter(word.charAt(word.length() - 1))) return word;
+        String stem = word;
+        if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("sses") || stem.endsWith("shes") || stem.endsWith("ches")
+                || stem.endsWith("xes") || stem.endsWith("zes")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        if (stem.endsWith("ing") && stem.length() >= 6) {
+            stem = undouble(stem.substring(0, stem.length() - 3));
+        } else if (stem.endsWith("ed") && stem.length() >= 5) {
+            stem = undouble(stem.substring(0, stem.length() - 2));
+        }
+        return stem;
+    }
+
+    private static String undouble(String stem) {
+        int length = stem.length();
+        if (length >= 3 && stem.charAt(length - 1) == stem.charAt(length - 2)
+                && "lsz".indexOf(stem.charAt(length - 1)) < 0 && isConsonant(stem.charAt(length - 1))) {
+            return stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+
+    private static boolean isConsonant(char c) {
+        return Character.isLetter(c) && "aeiou".indexOf(c) < 0;
+    }
+
+}
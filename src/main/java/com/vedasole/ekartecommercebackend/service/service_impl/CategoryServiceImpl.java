@@ -1,13 +1,15 @@
 package com.vedasole.ekartecommercebackend.service.service_impl;
 
+import com.vedasole.ekartecommercebackend.cache.CatalogVersionTracker;
 import com.vedasole.ekartecommercebackend.entity.Category;
 import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.CategoryMapper;
 import com.vedasole.ekartecommercebackend.payload.CategoryDto;
 import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
 import com.vedasole.ekartecommercebackend.service.service_interface.CategoryService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -18,6 +20,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.CATEGORY;
 
@@ -28,7 +33,9 @@ import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.C
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepo categoryRepo;
-    private final ModelMapper modelMapper;
+    private final EntityManager entityManager;
+    private final CategoryMapper categoryMapper;
+    private final CatalogVersionTracker catalogVersionTracker;
 
         /**
      * Creates a new Category record in the database and returns the CategoryDTO representation of the newly created record.
@@ -54,6 +61,7 @@ public class CategoryServiceImpl implements CategoryService {
             category.setParentCategory(parentCategory);
         }
         Category addedCategory = this.categoryRepo.save(category);
+        this.catalogVersionTracker.changed(Set.of(CatalogVersionTracker.ALL_CATEGORIES));
         return categoryToDto(addedCategory);
     }
 
@@ -94,6 +102,7 @@ public class CategoryServiceImpl implements CategoryService {
         categoryInDB.setActive(category.isActive());
 
         this.categoryRepo.save(categoryInDB);
+        this.catalogVersionTracker.changed(Set.of(CatalogVersionTracker.ALL_CATEGORIES));
 
         return categoryToDto(categoryInDB);
     }
@@ -114,6 +123,7 @@ public class CategoryServiceImpl implements CategoryService {
     })
     public void deleteCategory(Long categoryId) {
         this.categoryRepo.deleteById(categoryId);
+        this.catalogVersionTracker.changed(Set.of(CatalogVersionTracker.ALL_CATEGORIES));
     }
 
     /**
@@ -223,13 +233,28 @@ public class CategoryServiceImpl implements CategoryService {
         return dtoToCategory(categoryDto);
     }
 
+    /**
+     * This method streams all Categories to the consumer, one at a time, using a forward-only database cursor.
+     * Each entity is detached once consumed, so memory use does not grow with the number of rows
+     * and nothing is cached.
+     * @param consumer the consumer receiving each CategoryDto
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCategories(Consumer<CategoryDto> consumer) {
+        try (Stream<Category> categories = this.categoryRepo.streamAll()) {
+            categories.forEach(category -> {
+                consumer.accept(categoryToDto(category));
+                this.entityManager.detach(category);
+            });
+        }
+    }
+
     private Category dtoToCategory(CategoryDto categoryDto){
-        Category category = this.modelMapper.map(categoryDto, Category.class);
-        category.setParentCategory(categoryDto.getParentCategory());
-        return category;
+        return this.categoryMapper.toEntity(categoryDto);
     }
     private CategoryDto categoryToDto(Category category)
     {
-        return this.modelMapper.map(category, CategoryDto.class);
+        return this.categoryMapper.toDto(category);
     }
 }
\ No newline at end of file
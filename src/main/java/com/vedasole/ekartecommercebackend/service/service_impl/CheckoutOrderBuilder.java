@@ -0,0 +1,62 @@
+package com.vedasole.ekartecommercebackend.service.service_impl;
+
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCartItem;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus.ORDER_CREATED;
+
+/**
+ * Builds the order of a checkout from a shopping cart whose items and products are already loaded, see
+ * {@link ShoppingCartServiceImpl#getCartWithItems}.
+ * <p>
+ * The cart is priced in a single pass over its items, which takes the price snapshot of each item and sets the order
+ * total. Nothing is read from or written to the database: the returned order, its address and its items are all new,
+ * to be persisted together and inserted in one batched flush.
+ */
+@Component
+public class CheckoutOrderBuilder {
+
+    /**
+     * @param shoppingCart the cart, with its customer, items and products loaded
+     * @return the new order, with a placeholder address replaced by the shipping address once paid
+     */
+    public Order build(ShoppingCart shoppingCart) {
+        List<ShoppingCartItem> cartItems = shoppingCart.getShoppingCartItems() != null
+                ? shoppingCart.getShoppingCartItems()
+                : List.of();
+        List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
+        Order order = Order.builder()
+                .customer(shoppingCart.getCustomer())
+                .address(placeholderAddress())
+                .orderItems(orderItems)
+                .orderStatus(ORDER_CREATED)
+                .build();
+        double total = 0;
+        for (ShoppingCartItem cartItem : cartItems) {
+            OrderItem orderItem = new OrderItem(order, cartItem.getProduct(), cartItem.getQuantity());
+            total += orderItem.calculateLineTotal();
+            orderItems.add(orderItem);
+        }
+        order.setTotal(total);
+        return order;
+    }
+
+    private static Address placeholderAddress() {
+        return new Address(
+                "Dummy Address Line 1",
+                "Dummy Address Line 2",
+                "Dummy City",
+                "Dummy State",
+                "Dummy Country",
+                100001
+        );
+    }
+
+}
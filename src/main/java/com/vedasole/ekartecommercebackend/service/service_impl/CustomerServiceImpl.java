@@ -5,6 +5,8 @@ import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
 import com.vedasole.ekartecommercebackend.entity.User;
 import com.vedasole.ekartecommercebackend.exception.APIException;
 import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.CustomerMapper;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.CustomerDto;
 import com.vedasole.ekartecommercebackend.payload.NewCustomerDto;
 import com.vedasole.ekartecommercebackend.repository.CustomerRepo;
@@ -12,24 +14,31 @@ import com.vedasole.ekartecommercebackend.repository.ShoppingCartRepo;
 import com.vedasole.ekartecommercebackend.repository.UserRepo;
 import com.vedasole.ekartecommercebackend.service.service_interface.CustomerService;
 import com.vedasole.ekartecommercebackend.utility.AppConstant;
+import com.vedasole.ekartecommercebackend.utility.KeysetCursor;
 import jakarta.mail.MessagingException;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.CUSTOMER;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.USER;
@@ -46,10 +55,20 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepo customerRepo;
     private final UserRepo userRepo;
-    private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
     private final ShoppingCartRepo shoppingCartRepo;
     private final EmailServiceImpl emailService;
+    private final EntityManager entityManager;
+    private final CustomerMapper customerMapper;
+
+    private static final Map<String, Class<?>> CURSOR_SORT_FIELDS = Map.of(
+            "customerId", Long.class,
+            "firstName", String.class,
+            "lastName", String.class,
+            "email", String.class,
+            "createdAt", LocalDateTime.class,
+            "updatedAt", LocalDateTime.class
+    );
 
     /**
      * Creates a new customer and saves it to the database.
@@ -180,9 +199,7 @@ public class CustomerServiceImpl implements CustomerService {
     @Transactional(readOnly = true)
     @Cacheable(value = "allCustomers", sync = true)
     public List<CustomerDto> getAllCustomers() {
-        return this.customerRepo.findAll().stream()
-                .map(this::customerToDto)
-                .toList();
+        return this.customerRepo.findAllCustomerDtos();
     }
 
     @Override
@@ -194,8 +211,29 @@ public class CustomerServiceImpl implements CustomerService {
     )
     public Page<CustomerDto> getAllCustomersByPage(int page, int size, String sortBy, String sortOrder) {
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
-        return this.customerRepo.findAll(pageRequest)
-                .map(this::customerToDto);
+        return this.customerRepo.findAllCustomerDtos(pageRequest);
+    }
+
+    /**
+     * Returns a slice of customers using keyset pagination, without an OFFSET or a count query.
+     *
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size the number of customers to return
+     * @param sortBy the field to sort by, ignored when a cursor is given
+     * @param sortOrder the sort order, ignored when a cursor is given
+     * @return the slice of customers along with the cursor of the next slice
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerDto> getAllCustomersByCursor(String cursor, int size, String sortBy, String sortOrder) {
+        KeysetCursor keysetCursor = KeysetCursor.resolve(cursor, sortBy, sortOrder, CURSOR_SORT_FIELDS, "customerId");
+        Window<Customer> window = this.customerRepo.findAllBy(keysetCursor.getPosition(), keysetCursor.getSort(), Limit.of(size));
+        return new CursorPage<>(
+                window.map(this::customerToDto).getContent(),
+                window.size(),
+                window.hasNext(),
+                keysetCursor.next(window)
+        );
     }
 
     /**
@@ -209,8 +247,7 @@ public class CustomerServiceImpl implements CustomerService {
     @Cacheable(value = "customers", key = "#customerId")
     @Transactional(readOnly = true)
     public CustomerDto getCustomerById(Long customerId) {
-        return this.customerRepo.findById(customerId)
-                .map(this::customerToDto)
+        return this.customerRepo.findCustomerDtoById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         CUSTOMER.getValue(), "id", customerId)
                 );
@@ -226,8 +263,7 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     @Transactional(readOnly = true)
     public CustomerDto getCustomerByEmail(String email) {
-        return this.customerRepo.findByEmail(email)
-                .map(this::customerToDto)
+        return this.customerRepo.findCustomerDtoByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         CUSTOMER.getValue(), "email", email)
                 );
@@ -261,6 +297,23 @@ public class CustomerServiceImpl implements CustomerService {
         return this.customerRepo.count();
     }
 
+    /**
+     * This method streams all Customers to the consumer, one at a time, using a forward-only database cursor.
+     * Each entity is detached once consumed, so memory use does not grow with the number of rows
+     * and nothing is cached.
+     * @param consumer the consumer receiving each CustomerDto
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(Consumer<CustomerDto> consumer) {
+        try (Stream<Customer> customers = this.customerRepo.streamAll()) {
+            customers.forEach(customer -> {
+                consumer.accept(customerToDto(customer));
+                this.entityManager.detach(customer);
+            });
+        }
+    }
+
     /**
      * Sends a welcome email to a new customer.
      *
@@ -305,7 +358,7 @@ public class CustomerServiceImpl implements CustomerService {
      */
     private Customer dtoToCustomer(CustomerDto customerDto){
         User user = new User(customerDto.getEmail(), customerDto.getPassword(), customerDto.getRole());
-        Customer customer = this.modelMapper.map(customerDto, Customer.class);
+        Customer customer = this.customerMapper.toEntity(customerDto);
         customer.setUser(user);
         return customer;
     }
@@ -318,7 +371,7 @@ public class CustomerServiceImpl implements CustomerService {
      */
     private Customer newCustomerDtoToCustomer(NewCustomerDto newCustomerDto){
         User user = new User(newCustomerDto.getEmail(), passwordEncoder.encode(newCustomerDto.getPassword()), newCustomerDto.getRole());
-        Customer customer = this.modelMapper.map(newCustomerDto, Customer.class);
+        Customer customer = this.customerMapper.toEntity(newCustomerDto);
         customer.setUser(user);
         return customer;
     }
@@ -331,10 +384,7 @@ public class CustomerServiceImpl implements CustomerService {
      */
     private CustomerDto customerToDto(Customer customer)
     {
-        CustomerDto customerDto = this.modelMapper.map(customer, CustomerDto.class);
-        customerDto.setEmail(customer.getUser().getEmail());
-        customerDto.setRole(customer.getUser().getRole());
-        return customerDto;
+        return this.customerMapper.toDto(customer);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.vedasole.ekartecommercebackend.service.service_impl;
+
+import com.vedasole.ekartecommercebackend.entity.DailyIncome;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto;
+import com.vedasole.ekartecommercebackend.repository.DailyIncomeRepo;
+import com.vedasole.ekartecommercebackend.repository.OrderRepo;
+import com.vedasole.ekartecommercebackend.service.service_interface.IncomeRollupService;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus.*;
+
+/**
+ * Keeps the {@link DailyIncome} rollup in step with the orders, and serves the income of the admin dashboard from it.
+ * <p>
+ * An order counts as income, on the day it was created, from the time it is placed until it is cancelled, refunded or
+ * failed. Every change of the status or the total of an order is applied to its day as a difference, so a repeated
+ * webhook or an admin update which changes nothing counts nothing. The rollup is recomputed from the orders every
+ * night by {@link #rebuild}, on a single node, which also repairs the rare update lost to a concurrent rebuild.
+ */
+@Service
+@AllArgsConstructor
+@Transactional
+@Slf4j
+public class IncomeRollupServiceImpl implements IncomeRollupService {
+
+    /**
+     * The statuses of the orders which are paid for and not given back.
+     */
+    public static final Set<OrderStatus> INCOME_STATUSES = Collections.unmodifiableSet(EnumSet.of(
+            ORDER_PLACED, ORDER_DISPATCHED, ORDER_SHIPPED, ORDER_DELIVERED, ORDER_COMPLETED
+    ));
+
+    private static final String REBUILD_LOCK = "ekart:income:rebuild";
+    private static final Duration REBUILD_LOCK_TIMEOUT = Duration.ofMinutes(30);
+
+    private final DailyIncomeRepo dailyIncomeRepo;
+    private final OrderRepo orderRepo;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * This method applies a change of the status or the total of an order to the income of its day.
+     * It must run in the transaction which saves the order.
+     *
+     * @param order the order, with its new status and total.
+     * @param previousStatus the status of the order before the change.
+     * @param previousTotal the total of the order before the change.
+     */
+    @Override
+    public void recordChange(Order order, OrderStatus previousStatus, double previousTotal) {
+        boolean counted = INCOME_STATUSES.contains(previousStatus);
+        boolean counts = INCOME_STATUSES.contains(order.getOrderStatus());
+        double income = (counts ? order.getTotal() : 0) - (counted ? previousTotal : 0);
+        long orderCount = (counts ? 1 : 0) - (counted ? 1 : 0);
+        if (income != 0 || orderCount != 0) addIncome(order.getCreatedAt(), income, orderCount);
+    }
+
+    /**
+     * This method takes a deleted order out of the income of its day.
+     *
+     * @param order the order to delete.
+     */
+    @Override
+    public void recordRemoval(Order order) {
+        if (INCOME_STATUSES.contains(order.getOrderStatus())) addIncome(order.getCreatedAt(), -order.getTotal(), -1);
+    }
+
+    /**
+     * This method recomputes the whole rollup from the orders, every night by default. Every node runs it at the same
+     * time, and only the one taking the rebuild lock recomputes the rollup.
+     */
+    @Override
+    @Scheduled(cron = "${ekart.income.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        if (!lockRebuild()) return;
+        List<DailyIncome> dailyIncomes = this.orderRepo.getDailyIncome(INCOME_STATUSES);
+        this.dailyIncomeRepo.deleteAllInBatch();
+        dailyIncomes.forEach(this.entityManager::persist);
+        log.info("Income rollup rebuilt with {} days", dailyIncomes.size());
+    }
+
+    /**
+     * This method retrieves the total income of the orders in the system.
+     *
+     * @return the total income.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTotalIncome() {
+        return this.dailyIncomeRepo.getTotalIncome().longValue();
+    }
+
+    /**
+     * This method retrieves the total income of the orders in the system by month.
+     *
+     * @return the total income by month.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<MonthlyIncomeDto> getTotalIncomeByMonth() {
+        return this.dailyIncomeRepo.getTotalIncomeByMonth();
+    }
+
+    /**
+     * Adds to the row of the day in place, creating it first for the first order of the day.
+     */
+    private void addIncome(LocalDateTime createdAt, double income, long orderCount) {
+        LocalDate date = createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+        if (this.dailyIncomeRepo.addIncome(date, income, orderCount) == 0) {
+            createDay(date);
+            this.dailyIncomeRepo.addIncome(date, income, orderCount);
+        }
+        log.debug("Income of {} changed by {} for {} orders", date, income, orderCount);
+    }
+
+    /**
+     * Inserts the empty row of a day in a transaction of its own, committed before the income is added to it. When
+     * two transactions create the same day at once, the primary key fails the insert of one of them, but not its own
+     * transaction, which then adds to the row of the other.
+     */
+    private void createDay(LocalDate date) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!this.dailyIncomeRepo.existsById(date)) this.entityManager.persist(new DailyIncome(date, 0.0, 0L));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Income row of {} created concurrently", date);
+        }
+    }
+
+    /**
+     * Takes the rebuild lock, which is left to expire rather than released so that a node starting its rebuild late
+     * skips it too. When Redis is unavailable, no node rebuilds until the next run.
+     */
+    private boolean lockRebuild() {
+        try {
+            boolean locked = Boolean.TRUE.equals(this.redisTemplate.opsForValue()
+                    .setIfAbsent(REBUILD_LOCK, Instant.now().toString(), REBUILD_LOCK_TIMEOUT));
+            if (!locked) log.debug("Income rollup rebuilt by another node");
+            return locked;
+        } catch (RuntimeException e) {
+            log.warn("Skipping the income rollup rebuild, its lock could not be taken: {}", e.toString());
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.vedasole.ekartecommercebackend.service.service_impl;
+
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.OrderItemMapper;
+import com.vedasole.ekartecommercebackend.payload.OrderItemDto;
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.PRODUCT;
+
+/**
+ * Builds the order items of a request from the stored products, never from the product sent along with an item: the
+ * name, image, price and discount of an item are always the snapshot of the product as stored when it was ordered.
+ * <p>
+ * The products of a request are read with a single query. An item edited without changing its product keeps its
+ * snapshot; only an item whose product changed takes a new one.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderItemAssembler {
+
+    private final ProductRepo productRepo;
+    private final OrderItemMapper orderItemMapper;
+
+    /**
+     * @return the new items of the given order, one per DTO
+     * @throws ResourceNotFoundException if a product of the items does not exist
+     */
+    public List<OrderItem> build(List<OrderItemDto> orderItemDtos, Order order) {
+        Map<Long, Product> products = loadProducts(orderItemDtos);
+        List<OrderItem> orderItems = new ArrayList<>(orderItemDtos.size());
+        for (OrderItemDto orderItemDto : orderItemDtos) orderItems.add(build(orderItemDto, order, products));
+        return orderItems;
+    }
+
+    /**
+     * @param products the stored products of the items, see {@link #loadProducts}
+     * @return the new item of the given order
+     */
+    public OrderItem build(OrderItemDto orderItemDto, Order order, Map<Long, Product> products) {
+        return this.orderItemMapper.toEntity(orderItemDto, order, products.get(productIdOf(orderItemDto)));
+    }
+
+    /**
+     * Merges the items of a request into the stored items of an order: an item of the request matching a stored item
+     * by id updates it, any other one is a new item.
+     *
+     * @return the items of the order, in the order of the request
+     */
+    public List<OrderItem> merge(Order order, List<OrderItemDto> orderItemDtos) {
+        Map<Long, OrderItem> storedItems = order.getOrderItems() != null
+                ? order.getOrderItems().stream().collect(Collectors.toMap(OrderItem::getOrderItemId, Function.identity()))
+                : Map.of();
+        List<OrderItemDto> productChanges = orderItemDtos.stream()
+                .filter(orderItemDto -> {
+                    OrderItem storedItem = storedItems.get(orderItemDto.getOrderItemId());
+                    return storedItem == null || !isSameProduct(storedItem, orderItemDto);
+                })
+                .toList();
+        Map<Long, Product> products = loadProducts(productChanges);
+        List<OrderItem> orderItems = new ArrayList<>(orderItemDtos.size());
+        for (OrderItemDto orderItemDto : orderItemDtos) {
+            OrderItem storedItem = storedItems.get(orderItemDto.getOrderItemId());
+            if (storedItem == null) {
+                orderItems.add(build(orderItemDto, order, products));
+            } else {
+                merge(storedItem, orderItemDto, products);
+                orderItems.add(storedItem);
+            }
+        }
+        return orderItems;
+    }
+
+    /**
+     * Updates a stored item, taking a new snapshot only if its product changed.
+     */
+    public void merge(OrderItem orderItem, OrderItemDto orderItemDto) {
+        Map<Long, Product> products = isSameProduct(orderItem, orderItemDto)
+                ? Map.of()
+                : loadProducts(List.of(orderItemDto));
+        merge(orderItem, orderItemDto, products);
+    }
+
+    /**
+     * Reads the stored products of the given items with a single query.
+     *
+     * @return the products by id
+     * @throws ResourceNotFoundException if one of them does not exist
+     */
+    public Map<Long, Product> loadProducts(Collection<OrderItemDto> orderItemDtos) {
+        if (orderItemDtos.isEmpty()) return Map.of();
+        Set<Long> productIds = orderItemDtos.stream()
+                .map(OrderItemAssembler::productIdOf)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = new HashMap<>();
+        this.productRepo.findAllById(productIds).forEach(product -> products.put(product.getProductId(), product));
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new ResourceNotFoundException(PRODUCT.getValue(), "id", productId);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * @return the total of the given items, from their price snapshots
+     */
+    public static double total(List<OrderItem> orderItems) {
+        double total = 0;
+        for (OrderItem orderItem : orderItems) total += orderItem.calculateLineTotal();
+        return total;
+    }
+
+    private static void merge(OrderItem orderItem, OrderItemDto orderItemDto, Map<Long, Product> products) {
+        if (!isSameProduct(orderItem, orderItemDto)) orderItem.setProduct(products.get(productIdOf(orderItemDto)));
+        orderItem.setQuantity(orderItemDto.getQuantity());
+    }
+
+    private static boolean isSameProduct(OrderItem orderItem, OrderItemDto orderItemDto) {
+        return orderItem.getProduct() != null && orderItem.getProduct().getProductId() == productIdOf(orderItemDto);
+    }
+
+    private static long productIdOf(OrderItemDto orderItemDto) {
+        return orderItemDto.getProduct() != null ? orderItemDto.getProduct().getProductId() : 0;
+    }
+
+}
@@ -4,6 +4,7 @@ import com.vedasole.ekartecommercebackend.entity.Order;
 import com.vedasole.ekartecommercebackend.entity.OrderItem;
 import com.vedasole.ekartecommercebackend.entity.Product;
 import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.OrderItemMapper;
 import com.vedasole.ekartecommercebackend.payload.OrderItemDto;
 import com.vedasole.ekartecommercebackend.payload.ShoppingCartItemDto;
 import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
@@ -12,10 +13,10 @@ import com.vedasole.ekartecommercebackend.service.service_interface.OrderItemSer
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.ORDER_DETAIL;
 
@@ -27,7 +28,8 @@ public class OrderItemServiceImpl implements OrderItemService {
 
     private final OrderItemRepo orderItemRepo;
     private final OrderRepo orderRepo;
-    private final ModelMapper modelMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderItemAssembler orderItemAssembler;
 
     /**
      * Creates a new order detail in the database.
@@ -63,10 +65,10 @@ public class OrderItemServiceImpl implements OrderItemService {
     public List<OrderItemDto> createAllOrderItemsFromCartItems(List<ShoppingCartItemDto> shoppingCartItemDtos) {
         List<OrderItemDto> orderItems = shoppingCartItemDtos.stream()
                 .map(shoppingCartItemDto -> {
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setProduct(this.modelMapper.map(shoppingCartItemDto.getProduct(), Product.class));
-                    orderItem.setQuantity(shoppingCartItemDto.getQuantity());
-                    return orderItemToDto(orderItem);
+                    OrderItemDto orderItemDto = new OrderItemDto();
+                    orderItemDto.setProduct(shoppingCartItemDto.getProduct());
+                    orderItemDto.setQuantity(shoppingCartItemDto.getQuantity());
+                    return orderItemDto;
                 })
                 .toList();
         return createAllOrderItems(orderItems);
@@ -80,8 +82,9 @@ public class OrderItemServiceImpl implements OrderItemService {
      */
     @Override
     public List<OrderItemDto> createAllOrderItems(List<OrderItemDto> orderItemDtos) {
+        Map<Long, Product> products = this.orderItemAssembler.loadProducts(orderItemDtos);
         List<OrderItem> orderItems = orderItemDtos.stream()
-                .map(this::dtoToOrderItem)
+                .map(orderItemDto -> this.orderItemAssembler.build(orderItemDto, orderOf(orderItemDto), products))
                 .toList();
         List<OrderItemDto> savedOrderItemsDto = this.orderItemRepo.saveAll(orderItems).stream()
                 .map(this::orderItemToDto)
@@ -103,9 +106,7 @@ public class OrderItemServiceImpl implements OrderItemService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderItemDto.getOrderId()));
         return this.orderItemRepo.findById(orderItemDto.getOrderItemId())
                 .map(orderItem -> {
-                    orderItem.setQuantity(orderItemDto.getQuantity());
-                    orderItem.setProduct(this.modelMapper.map(orderItemDto.getProduct(), Product.class));
-                    orderItem.setQuantity(orderItemDto.getQuantity());
+                    this.orderItemAssembler.merge(orderItem, orderItemDto);
                     orderItem.setOrder(order);
                     log.info("Order detail {} updated successfully", orderItemDto.getOrderItemId());
                     return orderItemToDto(this.orderItemRepo.save(orderItem));
@@ -192,11 +193,21 @@ public class OrderItemServiceImpl implements OrderItemService {
     }
 
     private OrderItemDto orderItemToDto(OrderItem orderItem) {
-        return this.modelMapper.map(orderItem, OrderItemDto.class);
+        return this.orderItemMapper.toDto(orderItem);
     }
 
+    /**
+     * The order of the returned item only carries its id; load it before saving the item. The price snapshot of the
+     * item is taken from the stored product.
+     */
     private OrderItem dtoToOrderItem(OrderItemDto orderItemDto) {
-        return this.modelMapper.map(orderItemDto, OrderItem.class);
+        return this.orderItemAssembler.build(List.of(orderItemDto), orderOf(orderItemDto)).get(0);
+    }
+
+    private static Order orderOf(OrderItemDto orderItemDto) {
+        Order order = new Order();
+        order.setOrderId(orderItemDto.getOrderId());
+        return order;
     }
 
 }
\ No newline at end of file
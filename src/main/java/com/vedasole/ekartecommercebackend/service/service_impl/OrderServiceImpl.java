@@ -1,26 +1,44 @@
 package com.vedasole.ekartecommercebackend.service.service_impl;
 
-import com.vedasole.ekartecommercebackend.entity.Address;
 import com.vedasole.ekartecommercebackend.entity.Customer;
 import com.vedasole.ekartecommercebackend.entity.Order;
 import com.vedasole.ekartecommercebackend.entity.OrderItem;
 import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.AddressMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderItemMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderMapper;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto;
 import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.payload.OrderItemDto;
+import com.vedasole.ekartecommercebackend.payload.OrderItemSummaryDto;
+import com.vedasole.ekartecommercebackend.payload.OrderSummaryDto;
 import com.vedasole.ekartecommercebackend.repository.CustomerRepo;
 import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
 import com.vedasole.ekartecommercebackend.repository.OrderRepo;
+import com.vedasole.ekartecommercebackend.service.service_interface.IncomeRollupService;
 import com.vedasole.ekartecommercebackend.service.service_interface.OrderService;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import com.vedasole.ekartecommercebackend.utility.KeysetCursor;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.CUSTOMER;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.ORDER;
@@ -34,7 +52,19 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepo orderRepo;
     private final CustomerRepo customerRepo;
     private final OrderItemRepo orderItemsRepo;
-    private final ModelMapper modelMapper;
+    private final EntityManager entityManager;
+    private final AddressMapper addressMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderItemAssembler orderItemAssembler;
+    private final OrderMapper orderMapper;
+    private final IncomeRollupService incomeRollupService;
+
+    private static final String ORDER_ID = "orderId";
+    private static final Map<String, Class<?>> CURSOR_SORT_FIELDS = Map.of(
+            ORDER_ID, Long.class,
+            "total", Double.class,
+            "createdAt", LocalDateTime.class
+    );
 
     
     /**
@@ -65,24 +95,21 @@ public class OrderServiceImpl implements OrderService {
                         .orElseThrow(
                                 () -> new ResourceNotFoundException(ORDER.getValue(), "id", orderDto.getOrderId())
                         );
+        OrderStatus previousStatus = savedOrder.getOrderStatus();
+        double previousTotal = savedOrder.getTotal();
         savedOrder.setOrderStatus(orderDto.getOrderStatus());
 //        TODO: Remove null check after Address is implemented in Order
-        if(orderDto.getAddress()!=null) savedOrder.setAddress(this.modelMapper.map(orderDto.getAddress(), Address.class));
+        if(orderDto.getAddress()!=null) savedOrder.setAddress(this.addressMapper.toEntity(orderDto.getAddress()));
         Customer customer = this.customerRepo.findById(orderDto.getCustomer().getCustomerId())
                 .orElseThrow(() -> new ResourceNotFoundException(CUSTOMER.getValue(), "id", orderDto.getCustomer().getCustomerId()));
         savedOrder.setCustomer(customer);
         savedOrder.setOrderStatus(orderDto.getOrderStatus());
-        Order finalSavedOrder = savedOrder;
-        List<OrderItem> orderItems = orderDto.getOrderItems().stream()
-                .map(orderItemDto -> {
-                    OrderItem orderItem = this.modelMapper.map(orderItemDto, OrderItem.class);
-                    orderItem.setOrder(finalSavedOrder);
-                    return orderItem;
-                })
-                .toList();
+        List<OrderItem> orderItems = this.orderItemAssembler.merge(savedOrder, orderDto.getOrderItems());
         List<OrderItem> savedOrderItems = orderItemsRepo.saveAllAndFlush(orderItems);
         savedOrder.setOrderItems(savedOrderItems);
+        savedOrder.setTotal(OrderItemAssembler.total(savedOrderItems));
         savedOrder = this.orderRepo.save(savedOrder);
+        this.incomeRollupService.recordChange(savedOrder, previousStatus, previousTotal);
 
         log.info("Order {} updated successfully", orderDto.getOrderId());
         return orderToDto(savedOrder);
@@ -97,6 +124,7 @@ public class OrderServiceImpl implements OrderService {
     public void deleteOrder(Long orderId) {
         this.orderRepo.findById(orderId)
                 .ifPresentOrElse(order -> {
+                    this.incomeRollupService.recordRemoval(order);
                     this.orderRepo.delete(order);
                     log.info("Order deleted successfully");
                 }, () -> {
@@ -112,9 +140,28 @@ public class OrderServiceImpl implements OrderService {
      * @return the order DTO.
      */
     @Override
+    @Transactional(readOnly = true)
     public OrderDto getOrder(Long orderId) {
-        return this.orderRepo.findById(orderId)
-                .map(this::orderToDto)
+        return this.orderRepo.findSummaryById(orderId)
+                .map(summary -> summariesToDtos(List.of(summary)).get(0))
+                .orElseThrow(() -> {
+                    log.error("Order not found while fetching with id: {}", orderId);
+                    return new ResourceNotFoundException("Order", "id", orderId);
+                });
+    }
+
+    /**
+     * This method retrieves the requested fields of an order by its ID.
+     *
+     * @param orderId the ID of the order to retrieve.
+     * @param fields the fields to read.
+     * @return the sparse order DTO.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDto getOrder(Long orderId, FieldSet fields) {
+        return this.orderRepo.findOrderDtoById(orderId, fields)
+                .map(orderDto -> withOrderItems(List.of(orderDto), fields).get(0))
                 .orElseThrow(() -> {
                     log.error("Order not found while fetching with id: {}", orderId);
                     return new ResourceNotFoundException("Order", "id", orderId);
@@ -128,11 +175,9 @@ public class OrderServiceImpl implements OrderService {
      * @return the list of order DTOs.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDto> getAllOrdersByCustomer(Long customerId) {
-        return this.orderRepo.findAllByCustomer_CustomerId(customerId)
-                .stream()
-                .map(this::orderToDto)
-                .toList();
+        return summariesToDtos(this.orderRepo.findSummariesByCustomerId(customerId));
     }
 
     /**
@@ -146,10 +191,31 @@ public class OrderServiceImpl implements OrderService {
      * @return the list of order DTOs.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDto> getAllOrdersbyCustomerPerPage(long customerId, int page, int size, String sortBy, String sortOrder) {
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
-        Page<Order> ordersPage = orderRepo.findAllByCustomer_CustomerId(pageRequest, customerId);
-        return ordersPage.map(this::orderToDto);
+        return summariesToDtos(orderRepo.findSummariesByCustomerId(customerId, pageRequest));
+    }
+
+    /**
+     * This method retrieves the requested fields of the orders of a customer.
+     *
+     * @param customerId the ID of the customer.
+     * @param page the page number.
+     * @param size the page size.
+     * @param sortBy the field to sort by.
+     * @param sortOrder the sort order.
+     * @param fields the fields to read.
+     * @return the page of sparse order DTOs.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrderDto> getAllOrdersbyCustomerPerPage(
+            long customerId, int page, int size, String sortBy, String sortOrder, FieldSet fields
+    ) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
+        Page<OrderDto> orders = orderRepo.findOrderDtos(customerId, fields, pageRequest);
+        return new PageImpl<>(withOrderItems(orders.getContent(), fields), pageRequest, orders.getTotalElements());
     }
 
     /**
@@ -158,11 +224,9 @@ public class OrderServiceImpl implements OrderService {
      * @return the list of order DTOs.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDto> getAllOrders() {
-        return this.orderRepo.findAll()
-                .stream()
-                .map(this::orderToDto)
-                .toList();
+        return summariesToDtos(this.orderRepo.findAllSummaries(), this.orderItemsRepo.findAllSummaries());
     }
 
     /**
@@ -175,10 +239,66 @@ public class OrderServiceImpl implements OrderService {
      * @return the list of order DTOs.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDto> getAllOrdersPerPage(int page, int size, String sortBy, String sortOrder) {
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
-        Page<Order> ordersPage = orderRepo.findAll(pageRequest);
-        return ordersPage.map(this::orderToDto);
+        return summariesToDtos(orderRepo.findAllSummaries(pageRequest));
+    }
+
+    /**
+     * This method retrieves the requested fields of all orders in the system.
+     *
+     * @param page the page number.
+     * @param size the page size.
+     * @param sortBy the field to sort by.
+     * @param sortOrder the sort order.
+     * @param fields the fields to read.
+     * @return the page of sparse order DTOs.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrderDto> getAllOrdersPerPage(int page, int size, String sortBy, String sortOrder, FieldSet fields) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
+        Page<OrderDto> orders = orderRepo.findOrderDtos(null, fields, pageRequest);
+        return new PageImpl<>(withOrderItems(orders.getContent(), fields), pageRequest, orders.getTotalElements());
+    }
+
+    /**
+     * This method retrieves a slice of all orders in the system using keyset pagination,
+     * which reads deep slices as fast as the first one and skips the count query.
+     *
+     * @param cursor the cursor returned with the previous slice, or null for the first slice.
+     * @param size the slice size.
+     * @param sortBy the field to sort by, ignored when a cursor is given.
+     * @param sortOrder the sort order, ignored when a cursor is given.
+     * @return the slice of order DTOs along with the cursor of the next slice.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getAllOrdersByCursor(String cursor, int size, String sortBy, String sortOrder) {
+        KeysetCursor keysetCursor = KeysetCursor.resolve(cursor, sortBy, sortOrder, CURSOR_SORT_FIELDS, ORDER_ID);
+        Window<Order> window = orderRepo.findAllBy(keysetCursor.getPosition(), keysetCursor.getSort(), Limit.of(size));
+        return toCursorPage(window, keysetCursor);
+    }
+
+    /**
+     * This method retrieves a slice of the orders of a customer using keyset pagination.
+     *
+     * @param customerId the ID of the customer.
+     * @param cursor the cursor returned with the previous slice, or null for the first slice.
+     * @param size the slice size.
+     * @param sortBy the field to sort by, ignored when a cursor is given.
+     * @param sortOrder the sort order, ignored when a cursor is given.
+     * @return the slice of order DTOs along with the cursor of the next slice.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getAllOrdersByCustomerByCursor(long customerId, String cursor, int size, String sortBy, String sortOrder) {
+        KeysetCursor keysetCursor = KeysetCursor.resolve(cursor, sortBy, sortOrder, CURSOR_SORT_FIELDS, ORDER_ID);
+        Window<Order> window = orderRepo.findAllByCustomer_CustomerId(
+                customerId, keysetCursor.getPosition(), keysetCursor.getSort(), Limit.of(size)
+        );
+        return toCursorPage(window, keysetCursor);
     }
 
     /**
@@ -193,26 +313,25 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * This method retrieves the total income from all orders in the system.
+     * This method retrieves the total income of the placed orders in the system, from the income rollup.
      *
      * @return the total income.
      */
     @Override
     @Transactional(readOnly = true)
     public Long getTotalIncome() {
-        Double totalIncome = this.orderRepo.getTotalIncome();
-        return totalIncome.longValue();
+        return this.incomeRollupService.getTotalIncome();
     }
 
     /**
-     * This method retrieves the total income from all orders in the system by month.
+     * This method retrieves the total income of the placed orders in the system by month, from the income rollup.
      *
      * @return the total income by month.
      */
     @Override
     @Transactional(readOnly = true)
     public List<MonthlyIncomeDto> getTotalIncomeByMonth() {
-        return this.orderRepo.getTotalIncomeByMonth();
+        return this.incomeRollupService.getTotalIncomeByMonth();
     }
 
     /**
@@ -226,6 +345,87 @@ public class OrderServiceImpl implements OrderService {
         return dtoToOrder(orderDto);
     }
 
+    /**
+     * Maps a slice of orders, whose customer and address were read along, reading the items of all of them
+     * with a single query.
+     */
+    private CursorPage<OrderDto> toCursorPage(Window<Order> window, KeysetCursor keysetCursor) {
+        List<Long> orderIds = window.stream().map(Order::getOrderId).toList();
+        Map<Long, List<OrderItemDto>> itemsByOrder = orderIds.isEmpty()
+                ? Map.of()
+                : groupByOrder(this.orderItemsRepo.findSummariesByOrderIds(orderIds));
+        return new CursorPage<>(
+                window.map(order -> this.orderMapper.toDto(
+                        order, itemsByOrder.getOrDefault(order.getOrderId(), List.of())
+                )).getContent(),
+                window.size(),
+                window.hasNext(),
+                keysetCursor.next(window)
+        );
+    }
+
+    /**
+     * This method streams all Orders, with their items, to the consumer, one at a time, using a forward-only database cursor.
+     * Each entity is detached once consumed, so memory use does not grow with the number of rows
+     * and nothing is cached.
+     * @param consumer the consumer receiving each OrderDto
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<OrderDto> consumer) {
+        try (Stream<Order> orders = this.orderRepo.streamAll()) {
+            orders.forEach(order -> {
+                consumer.accept(orderToDto(order));
+                this.entityManager.detach(order);
+            });
+        }
+    }
+
+    /**
+     * This method assembles orders read through the projection queries, reading the items of all of them
+     * with a single query instead of one per order.
+     *
+     * @param summaries the orders to assemble
+     * @return the assembled OrderDtos, in the order of the summaries
+     */
+    private List<OrderDto> summariesToDtos(List<OrderSummaryDto> summaries) {
+        if (summaries.isEmpty()) return List.of();
+        List<Long> orderIds = summaries.stream().map(OrderSummaryDto::orderId).toList();
+        return summariesToDtos(summaries, this.orderItemsRepo.findSummariesByOrderIds(orderIds));
+    }
+
+    private Page<OrderDto> summariesToDtos(Page<OrderSummaryDto> summaries) {
+        return new PageImpl<>(summariesToDtos(summaries.getContent()), summaries.getPageable(), summaries.getTotalElements());
+    }
+
+    /**
+     * Reads the items of sparse orders in one query, only if they were requested.
+     */
+    private List<OrderDto> withOrderItems(List<OrderDto> orders, FieldSet fields) {
+        if (orders.isEmpty() || !fields.contains("orderItems")) return orders;
+        List<Long> orderIds = orders.stream().map(OrderDto::getOrderId).toList();
+        Map<Long, List<OrderItemDto>> itemsByOrder = groupByOrder(this.orderItemsRepo.findSummariesByOrderIds(orderIds));
+        orders.forEach(order -> order.setOrderItems(itemsByOrder.getOrDefault(order.getOrderId(), List.of())));
+        return orders;
+    }
+
+    private List<OrderDto> summariesToDtos(List<OrderSummaryDto> summaries, List<OrderItemSummaryDto> items) {
+        Map<Long, List<OrderItemDto>> itemsByOrder = groupByOrder(items);
+        return summaries.stream()
+                .map(summary -> this.orderMapper.toDto(
+                        summary, itemsByOrder.getOrDefault(summary.orderId(), List.of())
+                ))
+                .toList();
+    }
+
+    private Map<Long, List<OrderItemDto>> groupByOrder(List<OrderItemSummaryDto> items) {
+        return items.stream()
+                .collect(Collectors.groupingBy(
+                        OrderItemSummaryDto::orderId,
+                        Collectors.mapping(this.orderItemMapper::toDto, Collectors.toList())
+                ));
+    }
+
     /**
      * This method maps an Order object to a OrderDto.
      *
@@ -233,19 +433,23 @@ public class OrderServiceImpl implements OrderService {
      * @return the mapped OrderDto object
      */
     private OrderDto orderToDto(Order order) {
-        OrderDto orderDto = this.modelMapper.map(order, OrderDto.class);
-        orderDto.setOrderId(order.getOrderId());
-        return orderDto;
+        return this.orderMapper.toDto(order);
     }
 
     /**
-     * This method maps an OrderDto object to an Order.
+     * This method maps an OrderDto object to an Order, along with its items, whose price snapshots and the total
+     * are taken from the stored products.
      *
      * @param orderDto the OrderDto object to map
      * @return the mapped Order object
      */
     private Order dtoToOrder(OrderDto orderDto) {
-        return this.modelMapper.map(orderDto, Order.class);
+        Order order = this.orderMapper.toEntity(orderDto);
+        if (orderDto.getOrderItems() != null) {
+            order.setOrderItems(this.orderItemAssembler.build(orderDto.getOrderItems(), order));
+            order.setTotal(OrderItemAssembler.total(order.getOrderItems()));
+        }
+        return order;
     }
 
 }
\ No newline at end of file
@@ -36,6 +36,7 @@ public class PaymentServiceImpl implements PaymentService {
     private final CustomerService customerService;
     private final AddressRepo addressRepo;
     private final EmailService emailService;
+    private final IncomeRollupService incomeRollupService;
     private static final String ORDER_ID_STRING = "order_id";
     private static final String CUSTOMERID_STRING = "customerId";
     private static final String CUSTOMER_ID_STRING = "customer_id";
@@ -51,13 +52,13 @@ public class PaymentServiceImpl implements PaymentService {
      */
     @Override
     public Session createCheckoutSession(ShoppingCartDto shoppingCartDto) {
-        ShoppingCartDto savedShoppingCartDto;
+        ShoppingCart shoppingCart;
         try {
-            savedShoppingCartDto = shoppingCartService.getCart(shoppingCartDto.getCustomerId());
+            shoppingCart = shoppingCartService.getCartWithItems(shoppingCartDto.getCustomerId());
         } catch (ResourceNotFoundException e) {
-            savedShoppingCartDto = shoppingCartService.createCartWithItems(shoppingCartDto);
+            shoppingCartService.createCartWithItems(shoppingCartDto);
+            shoppingCart = shoppingCartService.getCartWithItems(shoppingCartDto.getCustomerId());
         }
-        ShoppingCart shoppingCart = shoppingCartService.convertToShoppingCart(savedShoppingCartDto);
         try {
             return stripeService.createCheckoutSession(shoppingCart);
         } catch (StripeException ex) {
@@ -122,8 +123,10 @@ public class PaymentServiceImpl implements PaymentService {
                 .ifPresentOrElse(
                         order -> {
                             if (order.getCustomer().getCustomerId() == customerId) {
+                                AppConstant.OrderStatus previousStatus = order.getOrderStatus();
                                 order.setOrderStatus(AppConstant.OrderStatus.ORDER_EXPIRED);
                                 orderRepo.save(order);
+                                incomeRollupService.recordChange(order, previousStatus, order.getTotal());
                             } else {
                                 log.error("Order {} does not belong to same customerId : {}", orderId, customerId);
                                 throw new ResourceNotFoundException(ORDER_STRING, CUSTOMERID_STRING, customerId);
@@ -156,6 +159,9 @@ public class PaymentServiceImpl implements PaymentService {
 
                                 shoppingCartItemService.deleteAllShoppingCartItems(customer.getShoppingCart().getCartId());
 
+                                AppConstant.OrderStatus previousStatus = order.getOrderStatus();
+                                double previousTotal = order.getTotal();
+
                                 // Format order total
                                 order.setTotal(Math.round(order.getTotal()));
 
@@ -173,6 +179,7 @@ public class PaymentServiceImpl implements PaymentService {
                                 order.setAddress(savedAddress);
                                 order.setOrderStatus(AppConstant.OrderStatus.ORDER_PLACED);
                                 order = orderRepo.save(order);
+                                incomeRollupService.recordChange(order, previousStatus, previousTotal);
 
                                 Context context = new Context();
                                 context.setVariable("order", order);
@@ -230,8 +237,10 @@ public class PaymentServiceImpl implements PaymentService {
                     .ifPresentOrElse(
                             order -> {
                                 if (order.getCustomer().getCustomerId() == customerId) {
+                                    AppConstant.OrderStatus previousStatus = order.getOrderStatus();
                                     order.setOrderStatus(AppConstant.OrderStatus.ORDER_FAILED);
                                     orderRepo.save(order);
+                                    incomeRollupService.recordChange(order, previousStatus, order.getTotal());
                                 } else {
                                     log.error("Order {} does not belong to customerId : {}", orderId, customerId);
                                     throw new ResourceNotFoundException(ORDER_STRING, CUSTOMERID_STRING, customerId);
@@ -0,0 +1,278 @@
+package com.vedasole.ekartecommercebackend.service.service_impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedasole.ekartecommercebackend.cache.CacheKeys;
+import com.vedasole.ekartecommercebackend.cache.CacheTagIndex;
+import com.vedasole.ekartecommercebackend.cache.CatalogVersionTracker;
+import com.vedasole.ekartecommercebackend.config.EkartImportProperties;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.ProductMapper;
+import com.vedasole.ekartecommercebackend.payload.ImportReport;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import com.vedasole.ekartecommercebackend.search.ProductsImportedEvent;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductImportService;
+import com.vedasole.ekartecommercebackend.utility.ExportWriter;
+import com.vedasole.ekartecommercebackend.utility.ImportReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.CATEGORY;
+
+/**
+ * Imports products in bulk from a CSV or NDJSON file, without holding the file in memory.
+ * <p>
+ * Rows are read in chunks of {@code ekart.import.chunk-size}. The rows of a chunk are validated in parallel against
+ * the categories loaded once at the start, checked for duplicate SKUs with a single query, then inserted in one
+ * transaction as JDBC batches. If a chunk cannot be inserted, its rows are retried one by one so that only the
+ * offending rows are rejected. Caches and search indexes are refreshed once, after the last chunk.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final ProductRepo productRepo;
+    private final CategoryRepo categoryRepo;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+    private final CacheTagIndex cacheTagIndex;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EkartImportProperties ekartImportProperties;
+    private final ProductMapper productMapper;
+
+    /**
+     * This method imports every valid row of the file as a new Product. Invalid rows are skipped and reported;
+     * they do not prevent the other rows from being imported.
+     * @param inputStream the content of the file
+     * @param format the format of the file
+     * @return the number of imported and rejected rows, along with the reason of each rejection
+     */
+    @Override
+    public ImportReport importProducts(InputStream inputStream, ExportWriter.Format format) {
+        Map<Long, String> categoryNames = this.categoryRepo.findAll().stream()
+                .collect(Collectors.toMap(Category::getCategoryId, Category::getName));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        int chunkSize = this.ekartImportProperties.getChunkSize();
+        ImportProgress progress = new ImportProgress(this.ekartImportProperties.getMaxReportedErrors());
+        long totalRows = 0;
+
+        try (ImportReader reader = new ImportReader(format, inputStream, this.objectMapper)) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                JsonNode record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    progress.reject(reader.getRowNumber(), e.getMessage());
+                    continue;
+                } finally {
+                    totalRows = reader.getRowNumber();
+                }
+                if (record == null) break;
+                chunk.add(new ImportRow(reader.getRowNumber(), record));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, categoryNames, transactionTemplate, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) importChunk(chunk, categoryNames, transactionTemplate, progress);
+        } catch (IOException e) {
+            log.warn("Product import stopped after row {}: {}", totalRows, e.getMessage());
+            progress.reject(totalRows + 1, "Failed to read the file: " + e.getMessage());
+        } finally {
+            if (progress.imported > 0) afterImport(progress);
+        }
+
+        log.info("Imported {} of {} products, {} rejected", progress.imported, totalRows, progress.failed);
+        return progress.toReport(totalRows);
+    }
+
+    private void importChunk(
+            List<ImportRow> chunk,
+            Map<Long, String> categoryNames,
+            TransactionTemplate transactionTemplate,
+            ImportProgress progress
+    ) {
+        List<ValidatedRow> validated = chunk.parallelStream()
+                .map(row -> validate(row, categoryNames))
+                .toList();
+
+        Set<String> skus = validated.stream()
+                .filter(ValidatedRow::isValid)
+                .map(ValidatedRow::sku)
+                .collect(Collectors.toSet());
+        Set<String> existingSkus = skus.isEmpty() ? Set.of() : this.productRepo.findExistingSkus(skus);
+        Set<String> chunkSkus = new HashSet<>();
+        List<ValidatedRow> toInsert = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (!row.isValid()) {
+                progress.reject(row.rowNumber(), row.error());
+            } else if (existingSkus.contains(row.sku())) {
+                progress.reject(row.rowNumber(), "Product with SKU " + row.sku() + " already exists");
+            } else if (!chunkSkus.add(row.sku())) {
+                progress.reject(row.rowNumber(), "Duplicate SKU " + row.sku() + " in the file");
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(toInsert));
+            progress.imported(toInsert);
+        } catch (RuntimeException chunkFailure) {
+            log.debug("Chunk insert failed, retrying row by row: {}", chunkFailure.getMessage());
+            for (ValidatedRow row : toInsert) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    progress.imported(List.of(row));
+                } catch (RuntimeException rowFailure) {
+                    progress.reject(row.rowNumber(),
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates a row on its own, so that it can run in parallel with the other rows of its chunk.
+     */
+    private ValidatedRow validate(ImportRow row, Map<Long, String> categoryNames) {
+        ProductDto productDto;
+        try {
+            productDto = this.objectMapper.treeToValue(row.record(), ProductDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return ValidatedRow.rejected(row.rowNumber(), "Invalid value: " + e.getMessage());
+        }
+        Set<ConstraintViolation<ProductDto>> violations = this.validator.validate(productDto);
+        if (!violations.isEmpty()) {
+            return ValidatedRow.rejected(row.rowNumber(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        String categoryName = categoryNames.get(productDto.getCategoryId());
+        if (categoryName == null) {
+            return ValidatedRow.rejected(row.rowNumber(), new ResourceNotFoundException(
+                    CATEGORY.getValue(), "id", productDto.getCategoryId()).getMessage());
+        }
+        String sku = ProductServiceImpl.deriveSku(categoryName, productDto.getName(), productDto.getDesc());
+        return new ValidatedRow(row.rowNumber(), productDto, sku, null);
+    }
+
+    /**
+     * Inserts the rows in the current transaction, as JDBC batches as large as the chunk, then clears
+     * the persistence context so that it does not grow across chunks. The imported products are kept out of
+     * the second-level cache, which they would otherwise flush of the products actually being browsed.
+     */
+    private void insert(List<ValidatedRow> rows) {
+        Session session = this.entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(this.ekartImportProperties.getChunkSize());
+        session.setCacheMode(CacheMode.IGNORE);
+        for (ValidatedRow row : rows) {
+            Product product = this.productMapper.toEntity(row.productDto());
+            product.setProductId(0);
+            product.setSku(row.sku());
+            product.setCategory(this.entityManager.getReference(Category.class, row.productDto().getCategoryId()));
+            this.entityManager.persist(product);
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    /**
+     * Evicts the product listings of every category which received products, moves their catalog versions, then has
+     * the search indexes rebuilt, once for the whole import.
+     */
+    private void afterImport(ImportProgress progress) {
+        for (String cacheName : List.of("allProducts", ProductServiceImpl.ALL_PRODUCTS_PAGE)) {
+            Cache cache = this.cacheManager.getCache(cacheName);
+            if (cache != null) cache.clear();
+        }
+        this.cacheTagIndex.evictTagged(
+                progress.categoryIds.stream().map(CacheKeys::categoryTag).toList(),
+                ProductServiceImpl.ALL_PRODUCTS_PER_CATEGORY_PAGE, ProductServiceImpl.PRODUCTS_COUNT_PER_CATEGORY
+        );
+        Set<String> changedScopes = new HashSet<>();
+        changedScopes.add(CatalogVersionTracker.ALL_PRODUCTS);
+        progress.categoryIds.forEach(categoryId -> changedScopes.add(CacheKeys.categoryTag(categoryId)));
+        this.catalogVersionTracker.changed(changedScopes);
+        this.eventPublisher.publishEvent(new ProductsImportedEvent(progress.imported));
+    }
+
+    private record ImportRow(long rowNumber, JsonNode record) { }
+
+    private record ValidatedRow(long rowNumber, ProductDto productDto, String sku, String error) {
+
+        static ValidatedRow rejected(long rowNumber, String error) {
+            return new ValidatedRow(rowNumber, null, null, error);
+        }
+
+        boolean isValid() {
+            return error == null;
+        }
+
+    }
+
+    private static final class ImportProgress {
+
+        private final int maxReportedErrors;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private final Set<Long> categoryIds = new HashSet<>();
+        private long imported;
+        private long failed;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void imported(List<ValidatedRow> rows) {
+            imported += rows.size();
+            rows.forEach(row -> categoryIds.add(row.productDto().getCategoryId()));
+        }
+
+        void reject(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) errors.add(new ImportReport.RowError(rowNumber, message));
+        }
+
+        ImportReport toReport(long totalRows) {
+            errors.sort(Comparator.comparingLong(ImportReport.RowError::row));
+            return new ImportReport(totalRows, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+
+    }
+
+}
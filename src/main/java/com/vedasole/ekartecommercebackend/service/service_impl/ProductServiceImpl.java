@@ -1,25 +1,57 @@
 package com.vedasole.ekartecommercebackend.service.service_impl;
 
+import com.vedasole.ekartecommercebackend.cache.CacheKeys;
+import com.vedasole.ekartecommercebackend.cache.CacheTagIndex;
+import com.vedasole.ekartecommercebackend.cache.CachedPage;
+import com.vedasole.ekartecommercebackend.cache.CatalogVersionTracker;
+import com.vedasole.ekartecommercebackend.cache.TieredCache;
 import com.vedasole.ekartecommercebackend.entity.Category;
 import com.vedasole.ekartecommercebackend.entity.Product;
 import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.ProductMapper;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.payload.SuggestionDto;
 import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
 import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import com.vedasole.ekartecommercebackend.search.ProductChangedEvent;
+import com.vedasole.ekartecommercebackend.search.ProductSearchDocument;
+import com.vedasole.ekartecommercebackend.search.ProductSearchEngine;
+import com.vedasole.ekartecommercebackend.search.ProductSuggester;
 import com.vedasole.ekartecommercebackend.service.service_interface.ProductService;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import com.vedasole.ekartecommercebackend.utility.KeysetCursor;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.CATEGORY;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.PRODUCT;
@@ -34,9 +66,31 @@ import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.P
 @Transactional
 public class ProductServiceImpl implements ProductService {
 
+    static final String ALL_PRODUCTS_PAGE = "allProductsPage";
+    static final String ALL_PRODUCTS_PER_CATEGORY_PAGE = "allProductsPerCategoryPage";
+    static final String PRODUCTS_COUNT_PER_CATEGORY = "productsCountPerCategory";
+    static final String PRODUCT_CACHE = "product";
+    private static final Map<String, Class<?>> CURSOR_SORT_FIELDS = Map.of(
+            "productId", Long.class,
+            "name", String.class,
+            "sku", String.class,
+            "price", Double.class,
+            "discount", Double.class,
+            "qtyInStock", Integer.class,
+            "createdAt", LocalDateTime.class,
+            "updatedAt", LocalDateTime.class
+    );
+
     private final ProductRepo productRepo;
-    private final ModelMapper modelMapper;
     private final CategoryRepo categoryRepo;
+    private final CacheTagIndex cacheTagIndex;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final CacheManager cacheManager;
+    private final ProductSearchEngine productSearchEngine;
+    private final ProductSuggester productSuggester;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ProductMapper productMapper;
 
     /**
      * This method creates a new Product entity in the database and returns a ProductDto with the new entity's information.
@@ -46,8 +100,7 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Caching(evict = {
             @CacheEvict(value = "allProducts", allEntries = true),
-            @CacheEvict(value = "allProductsPage", allEntries = true),
-            @CacheEvict(value = "allProductsPerCategoryPage", allEntries = true)
+            @CacheEvict(value = "allProductsPage", allEntries = true)
     })
     public ProductDto createProduct(ProductDto productDto) {
 
@@ -60,14 +113,19 @@ public class ProductServiceImpl implements ProductService {
                 )
         );
         // Added temp sku due to not null and not blank annotations for sku in Product
-        product.setSku(product.getCategory().getName().substring(0, 3)
-                .concat("-")
-                .concat(product.getName().substring(0, 5).replace(" ", "X"))
-                .concat("-")
-                .concat(product.getDesc().substring(0, 3).replace(" ", "X"))
-        );
+        product.setSku(deriveSku(product.getCategory().getName(), product.getName(), product.getDesc()));
 
         Product addedProduct = this.productRepo.save(product);
+        this.eventPublisher.publishEvent(ProductChangedEvent.saved(ProductSearchDocument.of(addedProduct)));
+        this.cacheTagIndex.evictTagged(
+                Set.of(CacheKeys.categoryTag(product.getCategory().getCategoryId())),
+                ALL_PRODUCTS_PER_CATEGORY_PAGE, PRODUCTS_COUNT_PER_CATEGORY
+        );
+        this.catalogVersionTracker.changed(Set.of(
+                CatalogVersionTracker.ALL_PRODUCTS,
+                CacheKeys.productTag(addedProduct.getProductId()),
+                CacheKeys.categoryTag(product.getCategory().getCategoryId())
+        ));
 
         return productToDto(addedProduct);
     }
@@ -81,15 +139,15 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Caching(evict = {
             @CacheEvict(value = "product", key = "#productId"),
-            @CacheEvict(value = "allProducts", allEntries = true),
-            @CacheEvict(value = "allProductsPage", allEntries = true),
-            @CacheEvict(value = "allProductsPerCategoryPage", allEntries = true)
+            @CacheEvict(value = "allProducts", allEntries = true)
     })
     public ProductDto updateProduct(ProductDto productDto, Long productId) {
         Product product = dtoToProduct(productDto);
         Product productInDB = this.productRepo.findById(productId).
                 orElseThrow(() -> new ResourceNotFoundException(
                         PRODUCT.getValue(), "id" , productId));
+        long previousCategoryId = productInDB.getCategory().getCategoryId();
+        Map<String, Object> previousSortValues = sortValues(productInDB);
         productInDB.setName(product.getName());
         productInDB.setImage(product.getImage());
         productInDB.setDesc(product.getDesc());
@@ -106,6 +164,18 @@ public class ProductServiceImpl implements ProductService {
         );
 
         this.productRepo.save(productInDB);
+        this.eventPublisher.publishEvent(ProductChangedEvent.saved(ProductSearchDocument.of(productInDB)));
+        this.cacheTagIndex.evictTagged(
+                affectedPageTags(productInDB, previousCategoryId, previousSortValues),
+                ALL_PRODUCTS_PAGE, ALL_PRODUCTS_PER_CATEGORY_PAGE, PRODUCTS_COUNT_PER_CATEGORY
+        );
+        // The old and new category are the same one unless the product moved
+        Set<String> changedScopes = new LinkedHashSet<>();
+        changedScopes.add(CatalogVersionTracker.ALL_PRODUCTS);
+        changedScopes.add(CacheKeys.productTag(productId));
+        changedScopes.add(CacheKeys.categoryTag(previousCategoryId));
+        changedScopes.add(CacheKeys.categoryTag(productInDB.getCategory().getCategoryId()));
+        this.catalogVersionTracker.changed(changedScopes);
 
         return productToDto(productInDB);
     }
@@ -119,11 +189,22 @@ public class ProductServiceImpl implements ProductService {
     @Caching(evict = {
             @CacheEvict(value = "product", key = "#productId"),
             @CacheEvict(value = "allProducts", allEntries = true),
-            @CacheEvict(value = "allProductsPage", allEntries = true),
-            @CacheEvict(value = "allProductsPerCategoryPage", allEntries = true)
+            @CacheEvict(value = "allProductsPage", allEntries = true)
     })
     public void deleteProduct(Long productId) throws IllegalArgumentException {
-        this.productRepo.deleteById(productId);
+        this.productRepo.findById(productId).ifPresent(product -> {
+            this.productRepo.delete(product);
+            this.eventPublisher.publishEvent(ProductChangedEvent.deleted(productId));
+            this.cacheTagIndex.evictTagged(
+                    Set.of(CacheKeys.categoryTag(product.getCategory().getCategoryId())),
+                    ALL_PRODUCTS_PER_CATEGORY_PAGE, PRODUCTS_COUNT_PER_CATEGORY
+            );
+            this.catalogVersionTracker.changed(Set.of(
+                    CatalogVersionTracker.ALL_PRODUCTS,
+                    CacheKeys.productTag(productId),
+                    CacheKeys.categoryTag(product.getCategory().getCategoryId())
+            ));
+        });
     }
 
     /**
@@ -131,11 +212,10 @@ public class ProductServiceImpl implements ProductService {
      * @return a list of all ProductDtos
      */
     @Override
+    @Transactional(readOnly = true)
     @Cacheable(value = "allProducts", sync = true)
     public List<ProductDto> getAllProducts() {
-        return this.productRepo.findAll(Sort.by("productId")).stream()
-                .map(this::productToDto)
-                .toList();
+        return this.productRepo.findAllProductDtos();
     }
 
     /**
@@ -149,15 +229,60 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(
-            value = "allProductsPage",
-            key = "#page + '-' + #size + '-' + #sortBy + '-' + #sortOrder",
-            sync = true
-    )
     public Page<ProductDto> getAllProductsPerPage(int page, int size, String sortBy, String sortOrder) {
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
-        Page<Product> productsPage = productRepo.findAll(pageRequest);
-        return productsPage.map(this::productToDto);
+        return this.cacheTagIndex.get(
+                ALL_PRODUCTS_PAGE,
+                CacheKeys.page(page, size, sortBy, sortOrder),
+                () -> CachedPage.of(this.productRepo.findAllProductDtos(pageRequest)),
+                productsPage -> {
+                    Set<String> tags = new HashSet<>();
+                    tags.add(CacheKeys.sortTag(sortBy));
+                    productsPage.content().forEach(product -> tags.add(CacheKeys.productTag(product.getProductId())));
+                    return tags;
+                }
+        ).toPage(pageRequest.getSort());
+    }
+
+    /**
+     * This method returns a page of ProductDtos carrying only the requested fields, read with only their columns.
+     * The sparse pages are not cached.
+     *
+     * @param page      the page number to retrieve
+     * @param size      the number of Products to retrieve
+     * @param sortBy    the field to sort by
+     * @param sortOrder the order to sort by
+     * @param fields    the fields to read
+     * @return a page of sparse ProductDtos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductDto> getAllProductsPerPage(int page, int size, String sortBy, String sortOrder, FieldSet fields) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
+        return this.productRepo.findProductDtos(null, fields, pageRequest);
+    }
+
+    /**
+     * This method returns a slice of ProductDtos using keyset pagination: the next slice is read from the
+     * position encoded in the cursor, so neither an OFFSET nor a count query is needed.
+     *
+     * @param cursor    the cursor returned with the previous slice, or null for the first slice
+     * @param size      the number of Products to retrieve
+     * @param sortBy    the field to sort by, ignored when a cursor is given
+     * @param sortOrder the order to sort by, ignored when a cursor is given
+     * @return a slice of ProductDtos along with the cursor of the next slice
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getAllProductsByCursor(String cursor, int size, String sortBy, String sortOrder) {
+        KeysetCursor keysetCursor = KeysetCursor.resolve(cursor, sortBy, sortOrder, CURSOR_SORT_FIELDS, "productId");
+        Window<Product> window = this.productRepo.findAllBy(keysetCursor.getPosition(), keysetCursor.getSort(), Limit.of(size));
+        return new CursorPage<>(
+                window.map(this::productToDto).getContent(),
+                window.size(),
+                window.hasNext(),
+                keysetCursor.next(window)
+        );
     }
 
     /**
@@ -169,27 +294,96 @@ public class ProductServiceImpl implements ProductService {
     @Transactional(readOnly = true)
     @Cacheable(value = "product", key = "#productId")
     public ProductDto getProductById(Long productId) {
-        return productToDto(
-                this.productRepo.findById(productId).
-                orElseThrow(() -> new ResourceNotFoundException(
+        return this.productRepo.findProductDtoById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException(
                         PRODUCT.getValue(), "id", productId)
-                )
-        );
+                );
+    }
+
+    /**
+     * This method returns a ProductDto carrying only the requested fields of an existing Product.
+     * @param productId the ID of the Product to retrieve
+     * @param fields the fields to read
+     * @return a sparse ProductDto for the specified Product
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductDto getProductById(Long productId, FieldSet fields) {
+        return this.productRepo.findProductDtoById(productId, fields)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        PRODUCT.getValue(), "id", productId)
+                );
+    }
+
+    /**
+     * This method returns the ProductDtos of many Products at once. The product cache is read with a single
+     * multi-get, the misses are read from the database with a single query and written back to the cache.
+     * @param productIds the IDs of the Products to retrieve
+     * @return the ProductDtos in the order of the IDs, without duplicates and without the IDs of missing Products
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDto> getProductsByIds(Collection<Long> productIds) {
+        Set<Long> ids = new LinkedHashSet<>(productIds);
+        if (ids.isEmpty()) return List.of();
+        Map<Long, ProductDto> productsById = new HashMap<>();
+        Cache cache = this.cacheManager.getCache(PRODUCT_CACHE);
+        if (cache instanceof TieredCache tieredCache) {
+            tieredCache.getAll(ids).forEach((id, product) -> productsById.put((Long) id, (ProductDto) product));
+        }
+        List<Long> misses = ids.stream().filter(id -> !productsById.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            Map<Long, ProductDto> loaded = this.productRepo.findProductDtosByIds(misses).stream()
+                    .collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+            if (cache instanceof TieredCache tieredCache) tieredCache.putAll(loaded);
+            else if (cache != null) loaded.forEach(cache::put);
+            productsById.putAll(loaded);
+        }
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
      * This method returns a list of ProductDtos for Products that match the specified search key in their name or description.
+     * The matching and ranking is done by the ProductSearchEngine; until its index is built, the database is queried directly.
      * @param page the page number to retrieve
      * @param size the number of Products to retrieve
      * @param searchKey the search key to match against Product names and descriptions
-     * @return a list of ProductDtos for the matching Products
+     * @return a list of ProductDtos for the matching Products, most relevant first
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getProductsByNameOrDesc(int page, int size, String searchKey) {
-        PageRequest pageRequest = PageRequest.of(page, size);
-        return this.productRepo.findByNameIsContainingIgnoreCaseOrDescContainingIgnoreCase(searchKey, searchKey, pageRequest)
-                .stream()
-                .map(this::productToDto)
+        if (!this.productSearchEngine.isReady()) {
+            PageRequest pageRequest = PageRequest.of(page, size);
+            return this.productRepo.findByNameIsContainingIgnoreCaseOrDescContainingIgnoreCase(searchKey, searchKey, pageRequest)
+                    .stream()
+                    .map(this::productToDto)
+                    .toList();
+        }
+        List<Long> productIds = this.productSearchEngine.search(searchKey, page, size);
+        if (productIds.isEmpty()) return List.of();
+        Map<Long, ProductDto> productsById = this.productRepo.findProductDtosByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+        return productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * This method returns the product and category names completing the specified prefix, served from memory.
+     * @param prefix the text typed so far
+     * @param limit the maximum number of suggestions to return
+     * @return a list of SuggestionDtos, most popular first
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<SuggestionDto> getSuggestions(String prefix, int limit) {
+        return this.productSuggester.suggest(prefix, limit).stream()
+                .map(suggestion -> new SuggestionDto(suggestion.text(), suggestion.type(), suggestion.id()))
                 .toList();
     }
 
@@ -199,11 +393,9 @@ public class ProductServiceImpl implements ProductService {
      * @return a list of ProductDtos for the specified category
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getAllProductsByCategory(long categoryId) {
-        return this.productRepo.findByCategoryCategoryId(categoryId)
-                .stream()
-                .map(this::productToDto)
-                .toList();
+        return this.productRepo.findProductDtosByCategoryId(categoryId);
     }
 
     /**
@@ -217,15 +409,72 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(
-            value = "allProductsPerCategoryPage",
-            key = "#page + '-' + #size + '-' + #sortBy + '-' + #sortOrder",
-            sync = true
-    )
     public Page<ProductDto> getAllProductsByCategoryPerPage(long categoryId, int page, int size, String sortBy, String sortOrder) {
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
-        Page<Product> productsPage = productRepo.findByCategoryCategoryId(categoryId, pageRequest);
-        return productsPage.map(this::productToDto);
+        return this.cacheTagIndex.get(
+                ALL_PRODUCTS_PER_CATEGORY_PAGE,
+                CacheKeys.categoryPage(categoryId, page, size, sortBy, sortOrder),
+                () -> new CachedPage<>(
+                        this.productRepo.findProductDtoSliceByCategoryId(categoryId, pageRequest).getContent(),
+                        page,
+                        size,
+                        getProductsCountByCategory(categoryId)
+                ),
+                productsPage -> Set.of(CacheKeys.categoryTag(categoryId))
+        ).toPage(pageRequest.getSort());
+    }
+
+    /**
+     * This method returns a page of ProductDtos of the specified category carrying only the requested fields.
+     * The sparse pages are not cached.
+     * @param categoryId the ID of the category to retrieve Products for
+     * @param page the page number to retrieve
+     * @param size the number of Products to retrieve
+     * @param sortBy the field to sort by
+     * @param sortOrder the order to sort by
+     * @param fields the fields to read
+     * @return a page of sparse ProductDtos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductDto> getAllProductsByCategoryPerPage(
+            long categoryId, int page, int size, String sortBy, String sortOrder, FieldSet fields
+    ) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortOrder), sortBy));
+        return this.productRepo.findProductDtos(categoryId, fields, pageRequest);
+    }
+
+    /**
+     * This method streams all Products to the consumer, one at a time, using a forward-only database cursor.
+     * Each entity is detached once consumed, so memory use does not grow with the number of rows
+     * and nothing is cached.
+     * @param consumer the consumer receiving each ProductDto
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductDto> consumer) {
+        try (Stream<Product> products = this.productRepo.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(productToDto(product));
+                this.entityManager.detach(product);
+            });
+        }
+    }
+
+    /**
+     * This method returns the number of Products in the specified category. The count is cached per category
+     * and tagged with it, so it is evicted together with the category's listing pages.
+     * @param categoryId the ID of the category to count Products for
+     * @return the number of Products in the category
+     */
+    private long getProductsCountByCategory(long categoryId) {
+        Long count = this.cacheTagIndex.get(
+                PRODUCTS_COUNT_PER_CATEGORY,
+                String.valueOf(categoryId),
+                () -> this.productRepo.countByCategoryCategoryId(categoryId),
+                productsCount -> Set.of(CacheKeys.categoryTag(categoryId))
+        );
+        return count != null ? count : 0L;
     }
 
     /**
@@ -238,6 +487,23 @@ public class ProductServiceImpl implements ProductService {
         return this.productRepo.count();
     }
 
+    /**
+     * Derives the temporary SKU of a product from the first letters of its category, name and description.
+     * Shorter values are used whole.
+     * @return the SKU, e.g. {@code Ele-RunniX-Lig}
+     */
+    static String deriveSku(String categoryName, String name, String desc) {
+        return prefix(categoryName, 3)
+                .concat("-")
+                .concat(prefix(name, 5).replace(" ", "X"))
+                .concat("-")
+                .concat(prefix(desc, 3).replace(" ", "X"));
+    }
+
+    private static String prefix(String value, int length) {
+        return value.substring(0, Math.min(length, value.length()));
+    }
+
     /**
      * This method maps a ProductDto to a Product object.
      * @param productDto the ProductDto to map
@@ -258,13 +524,48 @@ public class ProductServiceImpl implements ProductService {
         return productToDto(product);
     }
 
+    /**
+     * This method returns the tags of the cached listing pages affected by an update of a Product:
+     * the pages containing it, the pages of its old and new category, and the pages sorted by a field which changed.
+     * @param product the updated Product
+     * @param previousCategoryId the ID of the category of the Product before the update
+     * @param previousSortValues the sortable field values of the Product before the update
+     * @return the tags of the affected pages
+     */
+    private Set<String> affectedPageTags(Product product, long previousCategoryId, Map<String, Object> previousSortValues) {
+        Set<String> tags = new HashSet<>();
+        tags.add(CacheKeys.productTag(product.getProductId()));
+        tags.add(CacheKeys.categoryTag(previousCategoryId));
+        tags.add(CacheKeys.categoryTag(product.getCategory().getCategoryId()));
+        Map<String, Object> sortValues = sortValues(product);
+        previousSortValues.forEach((field, value) -> {
+            if (!Objects.equals(value, sortValues.get(field))) tags.add(CacheKeys.sortTag(field));
+        });
+        // updatedAt is only set by Hibernate on flush, so pages ordered by it are always affected
+        tags.add(CacheKeys.sortTag("updatedAt"));
+        return tags;
+    }
+
+    private Map<String, Object> sortValues(Product product) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", product.getName());
+        values.put("image", product.getImage());
+        values.put("desc", product.getDesc());
+        values.put("sku", product.getSku());
+        values.put("price", product.getPrice());
+        values.put("discount", product.getDiscount());
+        values.put("qtyInStock", product.getQtyInStock());
+        values.put("category", product.getCategory().getCategoryId());
+        return values;
+    }
+
     /**
      * This method maps a ProductDto to a Product object.
      * @param productDto the ProductDto to map
      * @return the mapped Product object
      */
     private Product dtoToProduct(ProductDto productDto){
-        return this.modelMapper.map(productDto, Product.class);
+        return this.productMapper.toEntity(productDto);
     }
 
     /**
@@ -274,7 +575,7 @@ public class ProductServiceImpl implements ProductService {
      */
     private ProductDto productToDto(Product product)
     {
-        return this.modelMapper.map(product, ProductDto.class);
+        return this.productMapper.toDto(product);
     }
 
 }
\ No newline at end of file
@@ -18,7 +18,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.PRODUCT;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.SHOPPING_CART;
 import static com.vedasole.ekartecommercebackend.utility.AppConstant.RELATIONS.SHOPPING_CART_ITEM;
 
@@ -57,6 +61,7 @@ public class ShoppingCartItemServiceImpl implements ShoppingCartItemService {
 
     /**
      * Creates a list of new shopping cart items and associates them with the specified shopping cart.
+     * The products of all items are fetched with a single batch lookup.
      *
      * @param shoppingCartItemDtos The list of shopping cart item data transfer objects (DTOs) containing the necessary information.
      * @return The list of DTOs of the newly created shopping cart items.
@@ -64,9 +69,19 @@ public class ShoppingCartItemServiceImpl implements ShoppingCartItemService {
     @Override
     @CacheEvict(value = "shoppingCartItems", key = "#shoppingCartItemDtos.get(0).cartId")
     public List<ShoppingCartItemDto> createShoppingCartWithAllItems(List<ShoppingCartItemDto> shoppingCartItemDtos) {
+        Map<Long, ProductDto> productsById = productService.getProductsByIds(
+                shoppingCartItemDtos.stream()
+                        .map(shoppingCartItemDto -> shoppingCartItemDto.getProduct().getProductId())
+                        .toList()
+        ).stream().collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
         List<ShoppingCartItem> savedShoppingCartItems = shoppingCartItemRepo.saveAll(
                 shoppingCartItemDtos.stream()
-                        .map(this::shoppingCartItemDtoToEntity)
+                        .map(shoppingCartItemDto -> {
+                            long productId = shoppingCartItemDto.getProduct().getProductId();
+                            ProductDto product = productsById.get(productId);
+                            if (product == null) throw new ResourceNotFoundException(PRODUCT.getValue(), "id", productId);
+                            return shoppingCartItemDtoToEntity(shoppingCartItemDto, product);
+                        })
                         .toList()
         );
         savedShoppingCartItems.get(0).getShoppingCart().calculateTotalAndDiscount();
@@ -250,6 +265,13 @@ public class ShoppingCartItemServiceImpl implements ShoppingCartItemService {
     }
 
     private ShoppingCartItem shoppingCartItemDtoToEntity(ShoppingCartItemDto shoppingCartItemDto) {
+        return shoppingCartItemDtoToEntity(
+                shoppingCartItemDto,
+                productService.getProductById(shoppingCartItemDto.getProduct().getProductId())
+        );
+    }
+
+    private ShoppingCartItem shoppingCartItemDtoToEntity(ShoppingCartItemDto shoppingCartItemDto, ProductDto productDto) {
         ShoppingCartItem shoppingCartItem = new ShoppingCartItem();
         shoppingCartItem.setCartItemId(shoppingCartItemDto.getCartItemId());
         shoppingCartRepo.findById(shoppingCartItemDto.getCartId())
@@ -264,7 +286,7 @@ public class ShoppingCartItemServiceImpl implements ShoppingCartItemService {
                                 }
                         );
         shoppingCartItem.setQuantity(shoppingCartItemDto.getQuantity());
-        Product product = productService.productDtoToEntity(productService.getProductById(shoppingCartItemDto.getProduct().getProductId()));
+        Product product = productService.productDtoToEntity(productDto);
         shoppingCartItem.setProduct(product);
         return shoppingCartItem;
     }
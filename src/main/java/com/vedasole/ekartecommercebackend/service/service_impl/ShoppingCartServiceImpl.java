@@ -145,6 +145,21 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
         return shoppingCartToDto(shoppingCart);
     }
 
+    /**
+     * This method retrieves the shopping cart for the given user, with its items and their products loaded
+     * by a single query.
+     *
+     * @param customerId the ID of the user
+     * @return the shopping cart entity
+     * @throws ResourceNotFoundException if the user has no shopping cart
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ShoppingCart getCartWithItems(long customerId) {
+        return shoppingCartRepo.findWithItemsByCustomerId(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException(SHOPPING_CART.getValue(), "customerId", customerId));
+    }
+
     private void updateShoppingCartTotalAndDiscount(ShoppingCart shoppingCart) {
         double total = 0;
         double discount = 0;
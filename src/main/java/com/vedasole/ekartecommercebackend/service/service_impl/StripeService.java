@@ -13,11 +13,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import static com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus.ORDER_CREATED;
-
 @Service
 @Transactional
 @Slf4j
@@ -27,14 +24,17 @@ public class StripeService {
     private String frontendDomainUrl;
     private final OrderRepo orderRepo;
     private final AddressRepo addressRepo;
+    private final CheckoutOrderBuilder checkoutOrderBuilder;
 
     public StripeService(
             OrderRepo orderRepo,
             AddressRepo addressRepo,
+            CheckoutOrderBuilder checkoutOrderBuilder,
             @Value("${stripeApiKey}") String stripeApiKey
     ) {
         this.orderRepo = orderRepo;
         this.addressRepo = addressRepo;
+        this.checkoutOrderBuilder = checkoutOrderBuilder;
         Stripe.apiKey = stripeApiKey;
     }
 
@@ -73,38 +73,15 @@ public class StripeService {
         return Session.create(params, requestOptions);
     }
 
+    /**
+     * Persists the order built from the cart along with its address and items. Nothing is flushed here: the rows are
+     * inserted together, in batches, when the transaction commits.
+     */
     private Order createOrder(ShoppingCart shoppingCart) {
-
-        Address dummyAddress = addressRepo.save(new Address(
-                "Dummy Address Line 1",
-                "Dummy Address Line 2",
-                "Dummy City",
-                "Dummy State",
-                "Dummy Country",
-                100001
-        ));
-
-        double totalAmount = shoppingCart.getTotal() - shoppingCart.getDiscount();
-        log.debug("Shopping Cart Total: {}, Discount: {}, Final Order Amount: {}", shoppingCart.getTotal(), shoppingCart.getDiscount(), totalAmount);
-        log.debug("Creating order for Shopping Cart: {}", shoppingCart);
-
-        Order order = new Order(
-                101L,
-                shoppingCart.getCustomer(),
-                new ArrayList<>(),
-                dummyAddress,
-                totalAmount,
-                ORDER_CREATED
-        );
+        log.debug("Creating order for Shopping Cart: {}", shoppingCart.getCartId());
+        Order order = checkoutOrderBuilder.build(shoppingCart);
+        addressRepo.save(order.getAddress());
         Order savedOrder = orderRepo.save(order);
-        List<OrderItem> orderItems = shoppingCart.getShoppingCartItems().stream()
-                .map(item -> new OrderItem(
-                        savedOrder,
-                        item.getProduct(),
-                        item.getQuantity()
-                )).toList();
-        savedOrder.setOrderItems(new ArrayList<>(orderItems));
-        orderRepo.save(savedOrder);
         log.debug("Order created with ID: {}, Total Amount: {}", savedOrder.getOrderId(), savedOrder.getTotal());
         return savedOrder;
     }
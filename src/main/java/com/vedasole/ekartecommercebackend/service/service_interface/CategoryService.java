@@ -5,6 +5,7 @@ import com.vedasole.ekartecommercebackend.payload.CategoryDto;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CategoryService {
 
@@ -30,4 +31,6 @@ public interface CategoryService {
 
     Category convertToEntity(CategoryDto categoryDto);
 
+    void streamAllCategories(Consumer<CategoryDto> consumer);
+
 }
\ No newline at end of file
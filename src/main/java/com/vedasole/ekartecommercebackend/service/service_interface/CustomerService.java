@@ -2,11 +2,13 @@ package com.vedasole.ekartecommercebackend.service.service_interface;
 
 import com.vedasole.ekartecommercebackend.entity.Customer;
 import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.CustomerDto;
 import com.vedasole.ekartecommercebackend.payload.NewCustomerDto;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
 
@@ -14,6 +16,7 @@ public interface CustomerService {
     CustomerDto updateCustomer(CustomerDto customerDto , Long customerId);
     List<CustomerDto> getAllCustomers();
     Page<CustomerDto> getAllCustomersByPage(int page, int size, String sortBy, String sortOrder);
+    CursorPage<CustomerDto> getAllCustomersByCursor(String cursor, int size, String sortBy, String sortOrder);
     CustomerDto getCustomerById(Long customerId);
     CustomerDto getCustomerByEmail(String email);
     void deleteCustomer(Long customerId);
@@ -22,4 +25,6 @@ public interface CustomerService {
     Customer convertToCustomer(CustomerDto customerDto);
     CustomerDto convertToCustomerDto(Customer customer);
 
+    void streamAllCustomers(Consumer<CustomerDto> consumer);
+
 }
\ No newline at end of file
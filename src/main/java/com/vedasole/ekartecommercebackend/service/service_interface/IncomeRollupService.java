@@ -0,0 +1,17 @@
+package com.vedasole.ekartecommercebackend.service.service_interface;
+
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
+
+import java.util.List;
+
+public interface IncomeRollupService {
+
+    void recordChange(Order order, OrderStatus previousStatus, double previousTotal);
+    void recordRemoval(Order order);
+    void rebuild();
+    Long getTotalIncome();
+    List<MonthlyIncomeDto> getTotalIncomeByMonth();
+
+}
@@ -1,11 +1,14 @@
 package com.vedasole.ekartecommercebackend.service.service_interface;
 
 import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.MonthlyIncomeDto;
 import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
@@ -13,12 +16,20 @@ public interface OrderService {
     OrderDto updateOrder(OrderDto orderDto);
     void deleteOrder(Long orderId);
     OrderDto getOrder(Long orderId);
+    OrderDto getOrder(Long orderId, FieldSet fields);
     List<OrderDto> getAllOrdersByCustomer(Long customerId);
     List<OrderDto> getAllOrders();
     Page<OrderDto> getAllOrdersPerPage(int page, int size, String sortBy, String sortOrder);
+    Page<OrderDto> getAllOrdersPerPage(int page, int size, String sortBy, String sortOrder, FieldSet fields);
     Page<OrderDto> getAllOrdersbyCustomerPerPage(long customerId, int page, int size, String sortBy, String sortOrder);
+    Page<OrderDto> getAllOrdersbyCustomerPerPage(long customerId, int page, int size, String sortBy, String sortOrder, FieldSet fields);
+    CursorPage<OrderDto> getAllOrdersByCursor(String cursor, int size, String sortBy, String sortOrder);
+    CursorPage<OrderDto> getAllOrdersByCustomerByCursor(long customerId, String cursor, int size, String sortBy, String sortOrder);
     Long getTotalOrdersCount();
     Long getTotalIncome();
     List<MonthlyIncomeDto> getTotalIncomeByMonth();
     Order convertToOrder(OrderDto orderDto);
+
+    void streamAllOrders(Consumer<OrderDto> consumer);
+
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.vedasole.ekartecommercebackend.service.service_interface;
+
+import com.vedasole.ekartecommercebackend.payload.ImportReport;
+import com.vedasole.ekartecommercebackend.utility.ExportWriter;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ImportReport importProducts(InputStream inputStream, ExportWriter.Format format);
+
+}
@@ -1,10 +1,15 @@
 package com.vedasole.ekartecommercebackend.service.service_interface;
 
 import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.payload.CursorPage;
 import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.payload.SuggestionDto;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
@@ -16,19 +21,34 @@ public interface ProductService {
 
     Page<ProductDto> getAllProductsPerPage(int page, int size, String sortBy, String sortOrder);
 
+    Page<ProductDto> getAllProductsPerPage(int page, int size, String sortBy, String sortOrder, FieldSet fields);
+
+    CursorPage<ProductDto> getAllProductsByCursor(String cursor, int size, String sortBy, String sortOrder);
+
     ProductDto getProductById(Long productId);
 
+    ProductDto getProductById(Long productId, FieldSet fields);
+
+    List<ProductDto> getProductsByIds(Collection<Long> productIds);
+
     void deleteProduct(Long productId);
 
     List<ProductDto> getProductsByNameOrDesc(int page, int size, String searchKey);
 
+    List<SuggestionDto> getSuggestions(String prefix, int limit);
+
     List<ProductDto> getAllProductsByCategory(long categoryId);
 
     Page<ProductDto> getAllProductsByCategoryPerPage(long categoryId, int page, int size, String sortBy, String sortOrder);
 
+    Page<ProductDto> getAllProductsByCategoryPerPage(long categoryId, int page, int size, String sortBy, String sortOrder, FieldSet fields);
+
     Long getTotalProductsCount();
 
     Product productDtoToEntity(ProductDto productDto);
 
     ProductDto productEntityToDto(Product product);
+
+    void streamAllProducts(Consumer<ProductDto> consumer);
+
 }
\ No newline at end of file
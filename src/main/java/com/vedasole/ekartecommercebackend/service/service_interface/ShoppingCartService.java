@@ -11,6 +11,7 @@ public interface ShoppingCartService {
     ShoppingCartDto createCartWithItems(ShoppingCartDto shoppingCartDto);
     ShoppingCartDto addOrUpdateItemInCart(ShoppingCartItemDto shoppingCartItemDto);
     ShoppingCartDto getCart(long customerId);
+    ShoppingCart getCartWithItems(long customerId);
     void deleteCart(long customerId);
     ShoppingCart convertToShoppingCart(ShoppingCartDto shoppingCartDto);
 }
\ No newline at end of file
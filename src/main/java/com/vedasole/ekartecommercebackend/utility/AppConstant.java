@@ -5,6 +5,22 @@ import lombok.Getter;
 
 public class AppConstant {
 
+    /**
+     * JDBC fetch size of the forward-only cursors used by the streaming exports.
+     */
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Number of ids each sequence call reserves, matching the {@code INCREMENT BY} of the sequences and the JDBC
+     * batch size, so that a batch of inserts costs a single sequence call.
+     */
+    public static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    /**
+     * Largest slice a cursor listing endpoint returns at once.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
     @AllArgsConstructor
     @Getter
     public enum RELATIONS {
@@ -41,7 +57,8 @@ public class AppConstant {
         ORDER_DISPATCHED("ORDER_DISPATCHED"),
         ORDER_SHIPPED("ORDER_SHIPPED"),
         ORDER_DELIVERED("ORDER_DELIVERED"),
-        ORDER_COMPLETED("ORDER_COMPLETED");
+        ORDER_COMPLETED("ORDER_COMPLETED"),
+        ORDER_REFUNDED("ORDER_REFUNDED");
 
         private final String name;
 
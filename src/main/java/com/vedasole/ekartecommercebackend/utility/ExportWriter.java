@@ -0,0 +1,154 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedasole.ekartecommercebackend.exception.APIException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes records one by one to a streamed response, either as newline delimited JSON or as CSV.
+ * The output is flushed every {@value #FLUSH_INTERVAL} records, so the client receives it in chunks
+ * and nothing but the current record is held in memory.
+ * <p>
+ * CSV columns are the top-level JSON properties of the first record; nested objects are written as JSON.
+ */
+public class ExportWriter implements Closeable {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Getter
+    @AllArgsConstructor
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        public static Format fromString(String format) {
+            for (Format value : values()) {
+                if (value.name().equalsIgnoreCase(format)) return value;
+            }
+            throw new APIException("Unsupported format: " + format, HttpStatus.BAD_REQUEST);
+        }
+
+        public static Format fromFileName(String fileName) {
+            if (fileName != null) {
+                for (Format value : values()) {
+                    if (fileName.toLowerCase().endsWith("." + value.getExtension())) return value;
+                }
+            }
+            throw new APIException("Cannot tell the format of " + fileName + ", please pass it explicitly", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+    private List<String> columns;
+    private int unflushed;
+
+    public ExportWriter(Format format, OutputStream outputStream, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a streamed response, e.g. {@code ExportWriter.response(format, "products", objectMapper, writer -> productService.streamAllProducts(writer::write))}.
+     *
+     * @param format       the requested format, {@code ndjson} or {@code csv}
+     * @param fileName     the name of the downloaded file, without extension
+     * @param objectMapper the mapper serializing the records
+     * @param producer     writes every record to the given writer
+     * @return the response, whose body is written after the controller method returns
+     */
+    public static ResponseEntity<StreamingResponseBody> response(
+            String format,
+            String fileName,
+            ObjectMapper objectMapper,
+            Consumer<ExportWriter> producer
+    ) {
+        Format exportFormat = Format.fromString(format);
+        StreamingResponseBody body = outputStream -> {
+            try (ExportWriter exportWriter = new ExportWriter(exportFormat, outputStream, objectMapper)) {
+                producer.accept(exportWriter);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Writes a single record.
+     *
+     * @param record the record, serialized with the application's Jackson configuration
+     * @throws UncheckedIOException if the client went away
+     */
+    public void write(Object record) {
+        try {
+            if (format == Format.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(record));
+            } else {
+                writeCsvRow(objectMapper.valueToTree(record));
+            }
+            writer.write('\n');
+            if (++unflushed >= FLUSH_INTERVAL) {
+                writer.flush();
+                unflushed = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvRow(JsonNode node) throws IOException {
+        if (columns == null) {
+            columns = new ArrayList<>();
+            Iterator<String> fieldNames = node.fieldNames();
+            while (fieldNames.hasNext()) columns.add(fieldNames.next());
+            writer.write(String.join(",", columns.stream().map(ExportWriter::escapeCsv).toList()));
+            writer.write('\n');
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) writer.write(',');
+            JsonNode value = node.get(columns.get(i));
+            if (value == null || value.isNull()) continue;
+            writer.write(escapeCsv(value.isValueNode() ? value.asText() : value.toString()));
+        }
+    }
+
+    private static String escapeCsv(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.vedasole.ekartecommercebackend.exception.APIException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The sparse fieldset of a DTO requested with the {@code fields} query parameter, e.g.
+ * {@code fields=productId,name,image,price,discount}.
+ * <p>
+ * The fieldset narrows both the columns read from the database and the serialized output: the DTO must be annotated
+ * with {@link JsonFilter}, and its fields which are not requested are left out by {@link #filter}. The id field of the
+ * DTO is always included, as the links and the cache tags are built from it.
+ */
+public final class FieldSet {
+
+    /**
+     * Filter provider of the application {@code ObjectMapper}: the DTOs are written whole unless a fieldset is applied.
+     */
+    public static final FilterProvider SERIALIZE_ALL = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    private static final ClassValue<Set<String>> FIELDS = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                    .map(Field::getName)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+    };
+
+    private final String filterId;
+    private final Set<String> names;
+
+    private FieldSet(String filterId, Set<String> names) {
+        this.filterId = filterId;
+        this.names = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Parses a comma separated list of field names of the given DTO.
+     *
+     * @param type    the DTO, annotated with {@link JsonFilter}
+     * @param idField the id field of the DTO, always included
+     * @param fields  the requested field names
+     * @return the fieldset, with its fields in declaration order
+     * @throws APIException with status 400 if a field does not exist in the DTO
+     */
+    public static FieldSet parse(Class<?> type, String idField, String fields) {
+        JsonFilter jsonFilter = type.getAnnotation(JsonFilter.class);
+        if (jsonFilter == null) throw new IllegalArgumentException(type.getSimpleName() + " cannot be filtered");
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> declared = FIELDS.get(type);
+        for (String field : requested) {
+            if (!declared.contains(field)) {
+                throw new APIException("Field " + field + " is not supported", HttpStatus.BAD_REQUEST);
+            }
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : declared) {
+            if (field.equals(idField) || requested.contains(field)) names.add(field);
+        }
+        return new FieldSet(jsonFilter.value(), names);
+    }
+
+    public boolean contains(String field) {
+        return names.contains(field);
+    }
+
+    /**
+     * @return the field names, in the declaration order of the DTO
+     */
+    public Set<String> names() {
+        return names;
+    }
+
+    /**
+     * Wraps a response body so that the DTOs of this fieldset are written with the requested fields only.
+     * Other DTOs nested in them are written whole.
+     *
+     * @param body the DTO, or the list, page or model holding the DTOs
+     * @return the body to respond with
+     */
+    public MappingJacksonValue filter(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+
+}
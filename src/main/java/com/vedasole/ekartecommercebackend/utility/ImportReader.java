@@ -0,0 +1,142 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads records one by one from an uploaded file, either newline delimited JSON or CSV with a header row,
+ * the counterpart of {@link ExportWriter}. Only the current record is held in memory.
+ * <p>
+ * Every record is returned as a JSON object, CSV values as strings, so that both formats can be bound to the same
+ * DTO. A malformed record is reported by {@link #next()} and skipped; the following call reads the next one.
+ */
+public class ImportReader implements Closeable {
+
+    private final ExportWriter.Format format;
+    private final ObjectMapper objectMapper;
+    private final BufferedReader reader;
+    private List<String> columns;
+    private long rowNumber;
+
+    public ImportReader(ExportWriter.Format format, InputStream inputStream, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next record, skipping blank lines.
+     *
+     * @return the record, or {@code null} at the end of the file
+     * @throws IllegalArgumentException if the record is malformed; {@link #getRowNumber()} identifies it
+     * @throws IOException              if the file cannot be read
+     */
+    public JsonNode next() throws IOException {
+        if (format == ExportWriter.Format.CSV && columns == null) {
+            String header = nextLine();
+            if (header == null) return null;
+            columns = parseCsvLine(header);
+        }
+        String line = nextLine();
+        if (line == null) return null;
+        rowNumber++;
+        return format == ExportWriter.Format.NDJSON ? parseJson(line) : parseCsvRow(line);
+    }
+
+    /**
+     * @return the 1-based number of the last record read, not counting the CSV header
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        if (line == null || format != ExportWriter.Format.CSV) return line;
+        // A quoted CSV value may span several lines
+        StringBuilder record = new StringBuilder(line);
+        while (countQuotes(record) % 2 != 0) {
+            String continuation = reader.readLine();
+            if (continuation == null) break;
+            record.append('\n').append(continuation);
+        }
+        return record.toString();
+    }
+
+    private JsonNode parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) throw new IllegalArgumentException("Row " + rowNumber + " is not a JSON object");
+            return node;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Row " + rowNumber + " is not valid JSON");
+        }
+    }
+
+    private JsonNode parseCsvRow(String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() > columns.size()) {
+            throw new IllegalArgumentException("Row " + rowNumber + " has more values than the header");
+        }
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) node.put(columns.get(i), values.get(i));
+        }
+        return node;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    private static int countQuotes(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') quotes++;
+        }
+        return quotes;
+    }
+
+}
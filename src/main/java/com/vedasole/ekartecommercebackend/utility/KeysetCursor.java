@@ -0,0 +1,129 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.vedasole.ekartecommercebackend.exception.APIException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the opaque continuation tokens of the keyset (seek) paginated listings.
+ * <p>
+ * A token carries the sort field, the sort direction and the sort key and id of the last row returned, so the
+ * next slice is read with {@code WHERE (sortKey, id) > (:lastSortKey, :lastId)} instead of an {@code OFFSET}.
+ * Only whitelisted, non-nullable fields can be used as sort keys, each with the Java type its value is restored to.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String SEPARATOR_REGEX = "\\|";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final String idField;
+    private final ScrollPosition position;
+
+    private KeysetCursor(String sortBy, Sort.Direction direction, String idField, ScrollPosition position) {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.idField = idField;
+        this.position = position;
+    }
+
+    /**
+     * Resolves the position to read from. Without a token the first slice is read, ordered as requested;
+     * with a token the order stored in it wins over the requested one.
+     *
+     * @param token          the continuation token returned with the previous slice, or {@code null}
+     * @param sortBy         the requested sort field
+     * @param sortOrder      the requested sort order, {@code asc} or {@code desc}
+     * @param sortableFields the fields which can be sorted by, with the type of their values
+     * @param idField        the id field, appended to the sort to make it unique
+     * @return the cursor to read with
+     * @throws APIException with status 400 if the sort field is not allowed or the token is malformed
+     */
+    public static KeysetCursor resolve(
+            String token,
+            String sortBy,
+            String sortOrder,
+            Map<String, Class<?>> sortableFields,
+            String idField
+    ) {
+        if (token == null || token.isBlank()) {
+            if (!sortableFields.containsKey(sortBy)) {
+                throw new APIException("Sorting by " + sortBy + " is not supported", HttpStatus.BAD_REQUEST);
+            }
+            return new KeysetCursor(sortBy, Sort.Direction.fromString(sortOrder), idField, ScrollPosition.keyset());
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR_REGEX);
+            String tokenSortBy = parts[0];
+            if (!sortableFields.containsKey(tokenSortBy)) throw new APIException(INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+            Sort.Direction tokenDirection = Sort.Direction.fromString(parts[1]);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 2; i < parts.length; i++) {
+                int equals = parts[i].indexOf('=');
+                String field = parts[i].substring(0, equals);
+                Class<?> type = sortableFields.get(field);
+                if (type == null) throw new APIException(INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+                keys.put(field, parse(URLDecoder.decode(parts[i].substring(equals + 1), StandardCharsets.UTF_8), type));
+            }
+            if (!keys.containsKey(tokenSortBy) || !keys.containsKey(idField)) {
+                throw new APIException(INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+            }
+            return new KeysetCursor(tokenSortBy, tokenDirection, idField, ScrollPosition.forward(keys));
+        } catch (APIException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new APIException(INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public ScrollPosition getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the sort of the query: the sort field, then the id to break ties
+     */
+    public Sort getSort() {
+        Sort sort = Sort.by(direction, sortBy);
+        return sortBy.equals(idField) ? sort : sort.and(Sort.by(direction, idField));
+    }
+
+    /**
+     * Builds the token pointing after the last row of the window.
+     *
+     * @param window the slice just read with this cursor
+     * @return the token of the next slice, or {@code null} if this was the last one
+     */
+    public String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) return null;
+        KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        StringBuilder token = new StringBuilder(sortBy).append(SEPARATOR).append(direction.name());
+        last.getKeys().forEach((field, value) -> token.append(SEPARATOR)
+                .append(field).append('=')
+                .append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        if (type == Long.class) return Long.valueOf(value);
+        if (type == Integer.class) return Integer.valueOf(value);
+        if (type == Double.class) return Double.valueOf(value);
+        if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+        if (type == String.class) return value;
+        throw new IllegalArgumentException("Unsupported cursor key type " + type);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Function;
+
+/**
+ * Chooses between the HAL representation of a resource, with its links, and the lean one: the plain DTO JSON,
+ * without building any link. Building links with {@code linkTo(methodOn(...))} creates a proxy per link, which adds
+ * up on listings where every item carries its own links.
+ * <p>
+ * The lean representation is requested with {@code Accept: application/vnd.ekart.lean+json} or the {@code lean=true}
+ * query parameter.
+ */
+public final class Representation {
+
+    public static final String LEAN_MEDIA_TYPE_VALUE = "application/vnd.ekart.lean+json";
+    public static final MediaType LEAN_MEDIA_TYPE = MediaType.parseMediaType(LEAN_MEDIA_TYPE_VALUE);
+    public static final String LEAN_PARAMETER = "lean";
+
+    private Representation() {
+    }
+
+    /**
+     * Returns the body to respond with: the value itself in lean mode, its HAL model otherwise.
+     *
+     * @param value   the DTO, list or page to respond with
+     * @param toModel builds the HAL model of the value, only called when HAL is wanted
+     * @return the value or its model
+     */
+    public static <T> Object of(T value, Function<? super T, ?> toModel) {
+        return isLean() ? value : toModel.apply(value);
+    }
+
+    /**
+     * @return whether the current request asks for the lean representation
+     */
+    public static boolean isLean() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && isLean(attributes.getRequest());
+    }
+
+    public static boolean isLean(HttpServletRequest request) {
+        if (Boolean.parseBoolean(request.getParameter(LEAN_PARAMETER))) return true;
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(LEAN_MEDIA_TYPE.getSubtype())) return false;
+        return MediaType.parseMediaTypes(accept).stream().anyMatch(LEAN_MEDIA_TYPE::equalsTypeAndSubtype);
+    }
+
+}
@@ -0,0 +1,13 @@
+-- The entity ids are allocated in blocks of 50 by the pooled-lo optimizer (AppConstant.SEQUENCE_ALLOCATION_SIZE),
+-- so every sequence has to be incremented by the size of a block. The next value of each sequence starts a block
+-- above the ids already handed out. The sequences of a new schema are created by Hibernate with this increment.
+ALTER SEQUENCE IF EXISTS "address_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "cart_item_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "cart_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "category_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "customer_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "order_item_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "order_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "product_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "reset_token_seq" INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS "user_seq" INCREMENT BY 50;
@@ -0,0 +1,25 @@
+-- Order items keep the name, image, price and discount of their product as it was when ordered, so that order reads
+-- and totals never load the products, and do not change when a product does. The existing items take the current
+-- values of their product. The table is left to Hibernate when it does not exist yet.
+DO $$
+BEGIN
+    IF to_regclass('"order_item"') IS NOT NULL THEN
+        ALTER TABLE "order_item" ADD COLUMN IF NOT EXISTS "product_name" varchar(255);
+        ALTER TABLE "order_item" ADD COLUMN IF NOT EXISTS "product_image" varchar(255);
+        ALTER TABLE "order_item" ADD COLUMN IF NOT EXISTS "unit_price" float(53);
+        ALTER TABLE "order_item" ADD COLUMN IF NOT EXISTS "discount" float(53);
+
+        UPDATE "order_item" oi
+        SET "product_name" = p."name",
+            "product_image" = p."image",
+            "unit_price" = p."price",
+            "discount" = COALESCE(p."discount", 0)
+        FROM "product" p
+        WHERE p."product_id" = oi."product_id"
+          AND oi."unit_price" IS NULL;
+
+        ALTER TABLE "order_item" ALTER COLUMN "product_name" SET NOT NULL;
+        ALTER TABLE "order_item" ALTER COLUMN "unit_price" SET NOT NULL;
+        ALTER TABLE "order_item" ALTER COLUMN "discount" SET NOT NULL;
+    END IF;
+END $$;
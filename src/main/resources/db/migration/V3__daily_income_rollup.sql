@@ -0,0 +1,22 @@
+-- The income of the admin dashboard is read from a rollup of the placed orders by day, kept up to date as the orders
+-- are placed, cancelled or refunded. It starts from the existing orders, if the order table exists yet.
+CREATE TABLE IF NOT EXISTS "daily_income" (
+    "income_date" date NOT NULL,
+    "income_month" varchar(7) NOT NULL,
+    "income" float(53) NOT NULL,
+    "order_count" bigint NOT NULL,
+    PRIMARY KEY ("income_date")
+);
+CREATE INDEX IF NOT EXISTS "daily_income_month_idx" ON "daily_income" ("income_month");
+
+DO $$
+BEGIN
+    IF to_regclass('"order"') IS NOT NULL THEN
+        INSERT INTO "daily_income" ("income_date", "income_month", "income", "order_count")
+        SELECT CAST(o."create_dt" AS date), to_char(o."create_dt", 'YYYY-MM'), SUM(o."total"), COUNT(*)
+        FROM "order" o
+        WHERE o."order_status" IN ('ORDER_PLACED', 'ORDER_DISPATCHED', 'ORDER_SHIPPED', 'ORDER_DELIVERED', 'ORDER_COMPLETED')
+        GROUP BY CAST(o."create_dt" AS date), to_char(o."create_dt", 'YYYY-MM')
+        ON CONFLICT ("income_date") DO NOTHING;
+    END IF;
+END $$;
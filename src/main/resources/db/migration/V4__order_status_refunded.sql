@@ -0,0 +1,24 @@
+-- Hibernate creates a check constraint listing the order statuses with the order table, and never updates it, so the
+-- existing tables reject the statuses added since. The constraint is recreated with every status of
+-- AppConstant.OrderStatus, including ORDER_REFUNDED. The table is left to Hibernate when it does not exist yet.
+DO $$
+DECLARE
+    status_check text;
+BEGIN
+    IF to_regclass('"order"') IS NOT NULL THEN
+        FOR status_check IN
+            SELECT c.conname
+            FROM pg_constraint c
+            WHERE c.conrelid = to_regclass('"order"')
+              AND c.contype = 'c'
+              AND pg_get_constraintdef(c.oid) LIKE '%order_status%'
+        LOOP
+            EXECUTE format('ALTER TABLE "order" DROP CONSTRAINT %I', status_check);
+        END LOOP;
+
+        ALTER TABLE "order" ADD CONSTRAINT "order_order_status_check" CHECK ("order_status" IN (
+            'ORDER_CREATED', 'ORDER_PLACED', 'ORDER_EXPIRED', 'ORDER_CANCELLED', 'ORDER_FAILED',
+            'ORDER_DISPATCHED', 'ORDER_SHIPPED', 'ORDER_DELIVERED', 'ORDER_COMPLETED', 'ORDER_REFUNDED'
+        ));
+    END IF;
+END $$;
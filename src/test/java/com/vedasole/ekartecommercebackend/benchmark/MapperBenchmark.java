@@ -0,0 +1,123 @@
+package com.vedasole.ekartecommercebackend.benchmark;
+
+import com.vedasole.ekartecommercebackend.config.ApplicationConfig;
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.mapper.AddressMapper;
+import com.vedasole.ekartecommercebackend.mapper.CustomerMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderItemMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderMapper;
+import com.vedasole.ekartecommercebackend.mapper.ProductMapper;
+import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.utility.AppConstant;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of mapping one entity to its DTO with the reflective {@link ModelMapper}
+ * and with the hand-written mappers, for a flat entity (a product) and a nested one (an order with five items).
+ * <p>
+ * Run the {@link #main} method, e.g. from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.vedasole.ekartecommercebackend.benchmark.MapperBenchmark}.
+ * The GC profiler adds {@code gc.alloc.rate.norm}, the bytes allocated per mapped object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
+    private OrderMapper orderMapper;
+    private Product product;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ApplicationConfig(null).modelMapper();
+        productMapper = new ProductMapper();
+        orderMapper = new OrderMapper(new CustomerMapper(), new AddressMapper(), new OrderItemMapper());
+
+        Category category = new Category();
+        category.setCategoryId(3);
+        category.setName("Electronics");
+        product = new Product(7, "Headphones", "headphones.png", "ELE-HeadX-Wir", "Wireless headphones",
+                99.5, 10, 40, category, LocalDateTime.now(), LocalDateTime.now());
+
+        Customer customer = new Customer();
+        customer.setCustomerId(11);
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setPhoneNumber("9876543210");
+        customer.setEmail("jane@ekart.com");
+        customer.setUser(new User(5, "jane@ekart.com", "secret", AppConstant.Role.USER));
+        order = new Order();
+        order.setOrderId(21);
+        order.setCustomer(customer);
+        order.setAddress(new Address(4, "1 Main St", "Floor 2", "Pune", "MH", "India", 411001));
+        order.setOrderStatus(AppConstant.OrderStatus.ORDER_CREATED);
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OrderItem orderItem = new OrderItem(order, product, i + 1L);
+            orderItem.setOrderItemId(100L + i);
+            orderItems.add(orderItem);
+        }
+        order.setOrderItems(orderItems);
+        order.setTotal(497.5);
+    }
+
+    @Benchmark
+    public ProductDto productWithModelMapper() {
+        return modelMapper.map(product, ProductDto.class);
+    }
+
+    @Benchmark
+    public ProductDto productWithMapper() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public OrderDto orderWithModelMapper() {
+        return modelMapper.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto orderWithMapper() {
+        return orderMapper.toDto(order);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.vedasole.ekartecommercebackend.benchmark;
+
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.PasswordResetToken;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCartItem;
+import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.utility.AppConstant;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the insert of an order with 50 items, as done at checkout, with the id allocation and JDBC settings used
+ * before and after pooled sequences and batching:
+ * <ul>
+ *     <li>{@code BEFORE}: one sequence call per row and one insert statement per row;</li>
+ *     <li>{@code AFTER}: the pooled-lo optimizer with {@link AppConstant#SEQUENCE_ALLOCATION_SIZE} ids per sequence
+ *     call, and ordered inserts sent as JDBC batches, as configured in {@code application.properties}.</li>
+ * </ul>
+ * The database is an in-memory H2, so this only shows the statements saved; against PostgreSQL each of them is also a
+ * network round trip, and the gap is much wider.
+ * <p>
+ * Run the {@link #main} method, e.g. from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.vedasole.ekartecommercebackend.benchmark.OrderInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    private static final int ORDER_ITEMS = 50;
+
+    @Param({"BEFORE", "AFTER"})
+    private String settings;
+
+    private SessionFactory sessionFactory;
+    private Customer customer;
+    private Address address;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Address.class)
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Customer.class)
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderItem.class)
+                .addAnnotatedClass(PasswordResetToken.class)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(ShoppingCart.class)
+                .addAnnotatedClass(ShoppingCartItem.class)
+                .addAnnotatedClass(User.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:orderInsert" + settings + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.GLOBALLY_QUOTED_IDENTIFIERS, "true")
+                .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+        if (settings.equals("AFTER")) {
+            configuration
+                    .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                    .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(AppConstant.SEQUENCE_ALLOCATION_SIZE))
+                    .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                    .setProperty(AvailableSettings.ORDER_UPDATES, "true");
+        } else {
+            configuration
+                    .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "none")
+                    .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "1");
+        }
+        sessionFactory = configuration.buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            customer = new Customer();
+            customer.setFirstName("Jane");
+            customer.setLastName("Doe");
+            customer.setPhoneNumber("9876543210");
+            customer.setEmail("jane@ekart.com");
+            customer.setUser(new User("jane@ekart.com", "secret", AppConstant.Role.USER));
+            session.persist(customer);
+            address = new Address("1 Main St", "Floor 2", "Pune", "MH", "India", 411001);
+            session.persist(address);
+
+            Category category = new Category();
+            category.setName("Electronics");
+            category.setActive(true);
+            products = new ArrayList<>();
+            for (int i = 0; i < ORDER_ITEMS; i++) {
+                Product product = new Product();
+                product.setName("Headphones " + i);
+                product.setImage("headphones.png");
+                product.setSku("ELE-HeadX-" + i);
+                product.setPrice(99.5);
+                product.setDiscount(10);
+                product.setQtyInStock(40);
+                product.setCategory(category);
+                session.persist(product);
+                products.add(product);
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    /**
+     * Inserts the order the way checkout does, with the customer, address and products already loaded: here they are
+     * detached, so that no select is measured.
+     */
+    @Benchmark
+    public long insertOrder() {
+        return sessionFactory.fromTransaction(session -> {
+            Order order = new Order();
+            order.setCustomer(customer);
+            order.setAddress(address);
+            order.setOrderStatus(AppConstant.OrderStatus.ORDER_CREATED);
+            List<OrderItem> orderItems = new ArrayList<>(ORDER_ITEMS);
+            for (Product product : products) {
+                orderItems.add(new OrderItem(order, product, 2));
+            }
+            order.setOrderItems(orderItems);
+            session.persist(order);
+            return order.getOrderId();
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderInsertBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.vedasole.ekartecommercebackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vedasole.ekartecommercebackend.controller.OrderController;
+import com.vedasole.ekartecommercebackend.controller.ProductController;
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.mapper.AddressMapper;
+import com.vedasole.ekartecommercebackend.mapper.CustomerMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderItemMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderMapper;
+import com.vedasole.ekartecommercebackend.mapper.ProductMapper;
+import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.service.service_interface.OrderService;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductImportService;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductService;
+import com.vedasole.ekartecommercebackend.utility.AppConstant;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
+import com.vedasole.ekartecommercebackend.utility.Representation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalHandlerInstantiator;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Compares the throughput of the HAL and the {@link Representation lean} representations of a product listing
+ * (50 products) and of an order page (20 orders of five items each), through the full Spring MVC stack.
+ * The services are mocked, so the difference is the link building and the serialization of the links.
+ * <p>
+ * Run the {@link #main} method, e.g. from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.vedasole.ekartecommercebackend.benchmark.RepresentationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepresentationBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        ProductMapper productMapper = new ProductMapper();
+        OrderMapper orderMapper = new OrderMapper(new CustomerMapper(), new AddressMapper(), new OrderItemMapper());
+
+        Category category = new Category();
+        category.setCategoryId(3);
+        category.setName("Electronics");
+        List<ProductDto> products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            products.add(productMapper.toDto(new Product(i + 1L, "Headphones " + i, "headphones.png", "ELE-HeadX-Wir",
+                    "Wireless headphones", 99.5, 10, 40, category, LocalDateTime.now(), LocalDateTime.now())));
+        }
+
+        Customer customer = new Customer();
+        customer.setCustomerId(11);
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setPhoneNumber("9876543210");
+        customer.setEmail("jane@ekart.com");
+        customer.setUser(new User(5, "jane@ekart.com", "secret", AppConstant.Role.USER));
+        Product product = new Product(7, "Headphones", "headphones.png", "ELE-HeadX-Wir", "Wireless headphones",
+                99.5, 10, 40, category, LocalDateTime.now(), LocalDateTime.now());
+        List<OrderDto> orders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Order order = new Order();
+            order.setOrderId(i + 1L);
+            order.setCustomer(customer);
+            order.setAddress(new Address(4, "1 Main St", "Floor 2", "Pune", "MH", "India", 411001));
+            order.setOrderStatus(AppConstant.OrderStatus.ORDER_CREATED);
+            List<OrderItem> orderItems = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                OrderItem orderItem = new OrderItem(order, product, j + 1L);
+                orderItem.setOrderItemId(100L * i + j);
+                orderItems.add(orderItem);
+            }
+            order.setOrderItems(orderItems);
+            order.setTotal(1492.5);
+            orders.add(orderMapper.toDto(order));
+        }
+
+        ProductService productService = mock(ProductService.class);
+        given(productService.getAllProducts()).willReturn(products);
+        OrderService orderService = mock(OrderService.class);
+        given(orderService.getAllOrdersPerPage(anyInt(), anyInt(), anyString(), anyString()))
+                .willReturn(new PageImpl<>(orders, PageRequest.of(0, 20), 200));
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.setFilterProvider(FieldSet.SERIALIZE_ALL);
+        objectMapper.setHandlerInstantiator(new HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE,
+                MessageResolver.DEFAULTS_ONLY
+        ));
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_JSON, MediaTypes.HAL_JSON, Representation.LEAN_MEDIA_TYPE));
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(
+                        new ProductController(productService, mock(ProductImportService.class), objectMapper),
+                        new OrderController(orderService, objectMapper)
+                )
+                .setMessageConverters(converter)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] productsHal() throws Exception {
+        return perform("/api/v1/products", MediaTypes.HAL_JSON);
+    }
+
+    @Benchmark
+    public byte[] productsLean() throws Exception {
+        return perform("/api/v1/products", Representation.LEAN_MEDIA_TYPE);
+    }
+
+    @Benchmark
+    public byte[] ordersPageHal() throws Exception {
+        return perform("/api/v1/orders/page", MediaTypes.HAL_JSON);
+    }
+
+    @Benchmark
+    public byte[] ordersPageLean() throws Exception {
+        return perform("/api/v1/orders/page", Representation.LEAN_MEDIA_TYPE);
+    }
+
+    private byte[] perform(String path, MediaType accept) throws Exception {
+        return mockMvc.perform(get(path).accept(accept)).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RepresentationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BulkRedisCacheTest {
+
+    private RedisConnection connection;
+    private BulkRedisCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        connection = mock(RedisConnection.class, RETURNS_DEEP_STUBS);
+        given(connectionFactory.getConnection()).willReturn(connection);
+        given(connection.closePipeline()).willReturn(new ArrayList<>(List.of()));
+        given(connection.stringCommands().set(
+                any(byte[].class), any(byte[].class), any(Expiration.class), any(RedisStringCommands.SetOption.class)
+        )).willReturn(true);
+        underTest = new BulkRedisCache(
+                "product",
+                mock(RedisCacheWriter.class),
+                RedisCacheConfiguration.defaultCacheConfig(),
+                connectionFactory,
+                new EkartCacheProperties().getStampede()
+        );
+    }
+
+    @Test
+    void shouldLoadAMissOnceAndLockItOncePerNode() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> underTest.get("key", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "value";
+            })));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> underTest.get("key", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        verify(connection.stringCommands(), times(1)).set(
+                any(byte[].class), any(byte[].class), any(Expiration.class), any(RedisStringCommands.SetOption.class)
+        );
+    }
+
+    @Test
+    void shouldOnlyRefreshEarlyEntriesWithAKnownComputeTime() {
+        assertThat(underTest.shouldRefreshEarly(1, 0)).isFalse();
+        assertThat(underTest.shouldRefreshEarly(-1, 500)).isFalse();
+        assertThat(underTest.shouldRefreshEarly(0, 500)).isTrue();
+    }
+
+}
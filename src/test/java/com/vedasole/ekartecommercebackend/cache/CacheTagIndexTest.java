@@ -0,0 +1,85 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class CacheTagIndexTest {
+
+    private static final String CACHE_NAME = "allProductsPage";
+    private static final String GENERATION_KEY = "ekart:cache:tag-generation";
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private ConcurrentMapCache cache;
+    private CacheTagIndex underTest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        cache = new ConcurrentMapCache(CACHE_NAME);
+        CacheManager cacheManager = mock(CacheManager.class);
+        given(cacheManager.getCache(CACHE_NAME)).willReturn(cache);
+        underTest = new CacheTagIndex(redisTemplate, cacheManager, new EkartCacheProperties());
+    }
+
+    @Test
+    void shouldKeepAnEntryLoadedWhileNoEvictionRan() {
+        given(valueOperations.get(GENERATION_KEY)).willReturn("4");
+
+        String value = underTest.get(CACHE_NAME, "page", () -> "loaded", loaded -> Set.of("product:7"));
+
+        assertThat(value).isEqualTo("loaded");
+        assertThat(cache.get("page")).isNotNull();
+    }
+
+    @Test
+    void shouldEvictAnEntryLoadedWhileAnEvictionRan() {
+        given(valueOperations.get(GENERATION_KEY)).willReturn("4", "5");
+
+        String value = underTest.get(CACHE_NAME, "page", () -> "stale", loaded -> Set.of("product:7"));
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(cache.get("page")).isNull();
+    }
+
+    @Test
+    void shouldNotReadTheGenerationOnAHit() {
+        cache.put("page", "cached");
+
+        String value = underTest.get(CACHE_NAME, "page", () -> "loaded", loaded -> Set.of("product:7"));
+
+        assertThat(value).isEqualTo("cached");
+        assertThat(cache.get("page")).isNotNull();
+    }
+
+    @Test
+    void shouldEvictTheMembersReadAndDeletedByTheScript() {
+        cache.put("page", "cached");
+        cache.put("other", "cached");
+        given(redisTemplate.execute(any(RedisScript.class), anyList())).willReturn(List.of(CACHE_NAME + "::page"));
+
+        underTest.evictTagged(Set.of("product:7"));
+
+        assertThat(cache.get("page")).isNull();
+        assertThat(cache.get("other")).isNotNull();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValueCodecTest {
+
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+    private SimpleMeterRegistry registry;
+    private CacheValueCodec underTest;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        underTest = new CacheValueCodec("product", serializer, 1, 1024, registry);
+    }
+
+    @Test
+    void shouldCompressLargeValues() {
+        List<String> value = new ArrayList<>();
+        for (int i = 0; i < 500; i++) value.add("product " + i);
+
+        byte[] encoded = underTest.serialize(value);
+
+        assertThat(encoded[CacheValueCodec.FLAGS_OFFSET]).isEqualTo(CacheValueCodec.COMPRESSED);
+        assertThat(encoded.length).isLessThan(serializer.serialize(value).length);
+        assertThat(underTest.deserialize(encoded)).isEqualTo(value);
+    }
+
+    @Test
+    void shouldStoreSmallValuesUncompressed() {
+        byte[] encoded = underTest.serialize("product");
+
+        assertThat(encoded[0]).isEqualTo(CacheValueCodec.MAGIC);
+        assertThat(encoded[CacheValueCodec.FLAGS_OFFSET]).isZero();
+        assertThat(underTest.deserialize(encoded)).isEqualTo("product");
+    }
+
+    @Test
+    void shouldMissEntriesOfAnotherSchemaVersionOrCodec() {
+        byte[] encoded = new CacheValueCodec("product", serializer, 2, 1024, registry).serialize("product");
+
+        assertThat(underTest.deserialize(encoded)).isNull();
+        assertThat(underTest.deserialize(serializer.serialize("product"))).isNull();
+    }
+
+    @Test
+    void shouldRecordTheSizeAndCodecTimePerCache() {
+        underTest.deserialize(underTest.serialize("product"));
+
+        assertThat(registry.get("cache.value.size").tag("cache", "product").summary().count()).isEqualTo(1);
+        assertThat(registry.get("cache.codec.time").tag("cache", "product").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("cache.codec.time").tag("cache", "product").tag("operation", "decode").timer().count())
+                .isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import com.vedasole.ekartecommercebackend.payload.CategoryDto;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
+import com.vedasole.ekartecommercebackend.service.service_interface.CategoryService;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CatalogCacheWarmerTest {
+
+    private CategoryService categoryService;
+    private ProductService productService;
+    private OrderItemRepo orderItemRepo;
+    private EkartCacheProperties.WarmUp properties;
+    private CatalogCacheWarmer underTest;
+
+    @BeforeEach
+    void setUp() {
+        categoryService = mock(CategoryService.class);
+        productService = mock(ProductService.class);
+        orderItemRepo = mock(OrderItemRepo.class);
+        properties = new EkartCacheProperties().getWarmUp();
+        properties.setPagesPerCategory(3);
+        underTest = new CatalogCacheWarmer(categoryService, productService, orderItemRepo, properties);
+
+        CategoryDto category = new CategoryDto();
+        category.setCategoryId(7);
+        given(categoryService.getAllCategories()).willReturn(List.of(category));
+        given(orderItemRepo.findTopSellingProductIds(any())).willReturn(List.of(1L, 2L));
+        given(productService.getAllProductsByCategoryPerPage(anyLong(), anyInt(), anyInt(), anyString(), anyString()))
+                .willAnswer(invocation -> new PageImpl<>(
+                        List.of(new ProductDto()), PageRequest.of(invocation.getArgument(1), 12), 20));
+    }
+
+    @Test
+    void shouldPreloadTheCatalogAndThenReportReady() {
+        CacheWarmUpHealthIndicator healthIndicator = new CacheWarmUpHealthIndicator(underTest);
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        underTest.warmUp();
+
+        verify(categoryService).getAllParentCategories();
+        verify(productService).getProductsByIds(List.of(1L, 2L));
+        verify(productService, times(2)).getAllProductsByCategoryPerPage(
+                anyLong(), anyInt(), anyInt(), anyString(), anyString());
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void shouldReportReadyOnceTheTimeBudgetIsSpent() {
+        properties.setTimeBudget(Duration.ofMillis(50));
+        given(categoryService.getAllParentCategories()).willAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        underTest.warmUp();
+
+        assertThat(underTest.isCompleted()).isTrue();
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.utility.Representation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CatalogConditionalGetInterceptorTest {
+
+    private static final long VERSION = 1_700_000_000_000L;
+
+    private CatalogVersionTracker catalogVersionTracker;
+    private CatalogConditionalGetInterceptor underTest;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersionTracker = mock(CatalogVersionTracker.class);
+        underTest = new CatalogConditionalGetInterceptor(catalogVersionTracker);
+    }
+
+    @Test
+    void shouldResolveTheScopeOfEachCatalogEndpoint() {
+        assertThat(CatalogConditionalGetInterceptor.scopeOf("/api/v1/products/42")).isEqualTo(CacheKeys.productTag(42));
+        assertThat(CatalogConditionalGetInterceptor.scopeOf("/api/v1/products/category/7/page")).isEqualTo(CacheKeys.categoryTag(7));
+        assertThat(CatalogConditionalGetInterceptor.scopeOf("/api/v1/products/page")).isEqualTo(CatalogVersionTracker.ALL_PRODUCTS);
+        assertThat(CatalogConditionalGetInterceptor.scopeOf("/api/v1/categories/3")).isEqualTo(CatalogVersionTracker.ALL_CATEGORIES);
+        assertThat(CatalogConditionalGetInterceptor.scopeOf("/api/v1/products/search")).isNull();
+        assertThat(CatalogConditionalGetInterceptor.scopeOf("/api/v1/products/stream")).isNull();
+    }
+
+    @Test
+    void shouldSendValidatorsWithTheFullResponse() {
+        given(catalogVersionTracker.version(any(), eq(CacheKeys.productTag(42)))).willReturn(VERSION);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = underTest.preHandle(new MockHttpServletRequest("GET", "/api/v1/products/42"), response, new Object());
+
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(CatalogConditionalGetInterceptor.etag(VERSION));
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(VERSION);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenTheETagMatches() {
+        given(catalogVersionTracker.version(any(), eq(CatalogVersionTracker.ALL_PRODUCTS))).willReturn(VERSION);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/page");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, CatalogConditionalGetInterceptor.etag(VERSION));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = underTest.preHandle(request, response, new Object());
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void shouldGiveTheLeanRepresentationItsOwnETag() {
+        given(catalogVersionTracker.version(any(), eq(CatalogVersionTracker.ALL_PRODUCTS))).willReturn(VERSION);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader(HttpHeaders.ACCEPT, Representation.LEAN_MEDIA_TYPE_VALUE);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, CatalogConditionalGetInterceptor.etag(VERSION));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(underTest.preHandle(request, response, new Object())).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(CatalogConditionalGetInterceptor.etag(VERSION, true));
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void shouldAnswerInFullOnceTheVersionMoved() {
+        given(catalogVersionTracker.version(any(), eq(CatalogVersionTracker.ALL_PRODUCTS))).willReturn(VERSION + 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, CatalogConditionalGetInterceptor.etag(VERSION));
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, VERSION);
+
+        assertThat(underTest.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    void shouldSkipWritesAndUnavailableVersions() {
+        assertThat(underTest.preHandle(new MockHttpServletRequest("PUT", "/api/v1/products/42"),
+                new MockHttpServletResponse(), new Object())).isTrue();
+        verify(catalogVersionTracker, never()).version(any(), anyString());
+
+        given(catalogVersionTracker.version(any(), eq(CacheKeys.productTag(42)))).willReturn(-1L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(underTest.preHandle(new MockHttpServletRequest("GET", "/api/v1/products/42"), response, new Object())).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+}
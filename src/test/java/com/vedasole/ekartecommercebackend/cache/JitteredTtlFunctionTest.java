@@ -0,0 +1,41 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JitteredTtlFunctionTest {
+
+    @Test
+    void shouldSpreadTheTimeToLiveAroundTheBaseOne() {
+        JitteredTtlFunction underTest = new JitteredTtlFunction(Duration.ofMinutes(15), 0.1);
+        Set<Duration> timesToLive = new HashSet<>();
+
+        for (int i = 0; i < 100; i++) {
+            Duration timeToLive = underTest.getTimeToLive("key", "value");
+            assertThat(timeToLive).isBetween(Duration.ofSeconds(810), Duration.ofSeconds(990));
+            timesToLive.add(timeToLive);
+        }
+
+        assertThat(timesToLive).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void shouldKeepEntriesWithoutExpiryPersistent() {
+        assertThat(new JitteredTtlFunction(Duration.ZERO, 0.1).getTimeToLive("key", "value")).isZero();
+        assertThat(new JitteredTtlFunction(Duration.ofMinutes(15), 0).getTimeToLive("key", "value"))
+                .isEqualTo(Duration.ofMinutes(15));
+    }
+
+    @Test
+    void shouldRejectAJitterOfTheWholeTimeToLive() {
+        assertThatThrownBy(() -> new JitteredTtlFunction(Duration.ofMinutes(15), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final RedisCircuitBreaker underTest =
+            new RedisCircuitBreaker(1, Duration.ofSeconds(30), Duration.ofSeconds(10), clock);
+
+    @Test
+    void shouldLetASingleProbeThroughOnceOpenLongEnough() {
+        // Given
+        underTest.onFailure(new IllegalStateException("Redis is unavailable"));
+
+        // When
+        boolean whileOpen = underTest.allowRequest();
+        clock.advance(Duration.ofSeconds(30));
+        boolean probe = underTest.allowRequest();
+        boolean duringProbe = underTest.allowRequest();
+
+        // Then
+        assertThat(whileOpen).isFalse();
+        assertThat(probe).isTrue();
+        assertThat(duringProbe).isFalse();
+        assertThat(underTest.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void shouldOpenTheCircuitAgainWhenTheProbeDoesNotReportBack() {
+        // Given
+        underTest.onFailure(new IllegalStateException("Redis is unavailable"));
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(underTest.allowRequest()).isTrue();
+
+        // When
+        clock.advance(Duration.ofSeconds(10));
+        boolean afterProbeTimeout = underTest.allowRequest();
+
+        // Then
+        assertThat(afterProbeTimeout).isFalse();
+        assertThat(underTest.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(underTest.allowRequest()).isTrue();
+        underTest.onSuccess();
+        assertThat(underTest.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-03-09T18:45:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.config.EkartCacheProperties;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ResponseBodyCacheFilterTest {
+
+    private static final long VERSION = 1_700_000_000_000L;
+    private static final String BODY = "{\"content\":[" + "{\"name\":\"product\"},".repeat(100) + "{}]}";
+
+    private CatalogVersionTracker catalogVersionTracker;
+    private ResponseBodyCacheFilter underTest;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersionTracker = mock(CatalogVersionTracker.class);
+        given(catalogVersionTracker.version(any(), eq(CatalogVersionTracker.ALL_PRODUCTS))).willReturn(VERSION);
+        underTest = new ResponseBodyCacheFilter(catalogVersionTracker, new EkartCacheProperties());
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeTheSecondRequestFromTheCachedBytes() throws Exception {
+        MockHttpServletResponse first = get("/api/v1/products/page", null);
+        MockHttpServletResponse second = get("/api/v1/products/page", null);
+
+        assertThat(renders).hasValue(1);
+        assertThat(first.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(CatalogConditionalGetInterceptor.etag(VERSION));
+    }
+
+    @Test
+    void shouldServeTheGzippedCopyWhenAccepted() throws Exception {
+        get("/api/v1/products/page", null);
+        MockHttpServletResponse response = get("/api/v1/products/page", "gzip, deflate");
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void shouldRenderAgainOnceTheCatalogChanged() throws Exception {
+        get("/api/v1/products/page", null);
+        given(catalogVersionTracker.version(any(), eq(CatalogVersionTracker.ALL_PRODUCTS))).willReturn(VERSION + 1000);
+        underTest.onCatalogChanged(new CatalogChangedEvent(Set.of(CatalogVersionTracker.ALL_PRODUCTS)));
+        get("/api/v1/products/page", null);
+
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheOtherEndpoints() throws Exception {
+        get("/api/v1/products", null);
+        get("/api/v1/products", null);
+
+        assertThat(renders).hasValue(2);
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (acceptEncoding != null) request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        underTest.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                renders.incrementAndGet();
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+}
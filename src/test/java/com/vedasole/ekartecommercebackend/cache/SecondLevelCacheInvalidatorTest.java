@@ -0,0 +1,78 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SecondLevelCacheInvalidatorTest {
+
+    private CacheInvalidationBus invalidationBus;
+    private CacheImplementor cache;
+    private SecondLevelCacheInvalidator underTest;
+    private Consumer<CacheInvalidationMessage> remoteHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        cache = mock(CacheImplementor.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        given(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).willReturn(sessionFactory);
+        given(sessionFactory.getCache()).willReturn(cache);
+        given(sessionFactory.getServiceRegistry()).willReturn(mock(ServiceRegistryImplementor.class));
+        underTest = new SecondLevelCacheInvalidator(entityManagerFactory, invalidationBus);
+
+        ArgumentCaptor<Consumer<CacheInvalidationMessage>> handlerCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).addLocalHandler(handlerCaptor.capture());
+        remoteHandler = handlerCaptor.getValue();
+    }
+
+    @Test
+    void shouldBroadcastANewCategory() {
+        Category category = new Category();
+        category.setCategoryId(3);
+
+        underTest.onPostInsert(new PostInsertEvent(category, 3L, null, null, null));
+
+        verify(invalidationBus).publishEvict(SecondLevelCacheInvalidator.REGION_PREFIX + Category.CACHE_REGION, 3L);
+    }
+
+    @Test
+    void shouldNotBroadcastANewProduct() {
+        Product product = new Product();
+        product.setProductId(7);
+
+        underTest.onPostInsert(new PostInsertEvent(product, 7L, null, null, null));
+
+        verify(invalidationBus, never()).publishEvict(anyString(), any());
+    }
+
+    @Test
+    void shouldDropTheParentCategoriesQueryOnARemoteCategoryChange() {
+        remoteHandler.accept(new CacheInvalidationMessage(
+                "other-node", SecondLevelCacheInvalidator.REGION_PREFIX + Category.CACHE_REGION, "3"
+        ));
+
+        verify(cache).evictEntityData(Category.class, 3L);
+        verify(cache).evictQueryRegion(CategoryRepo.PARENT_CATEGORIES_QUERY_REGION);
+    }
+
+}
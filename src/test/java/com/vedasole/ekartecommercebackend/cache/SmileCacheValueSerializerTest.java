@@ -0,0 +1,83 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmileCacheValueSerializerTest {
+
+    private final ObjectMapper smileMapper = SmileCacheValueSerializer.smileMapper();
+    private final SmileCacheValueSerializer underTest = new SmileCacheValueSerializer(
+            smileMapper, smileMapper.getTypeFactory().constructCollectionType(List.class, ProductDto.class)
+    );
+
+    @Test
+    void shouldReadBackTheDtosExactlyAsCached() {
+        List<ProductDto> products = List.of(ProductDto.builder()
+                .productId(7)
+                .name("Headphones")
+                .price(99.5)
+                .categoryId(3)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123456789))
+                .build());
+
+        assertThat(underTest.deserialize(underTest.serialize(products))).isEqualTo(products);
+    }
+
+    @Test
+    void shouldWriteSmallerValuesThanTheJdkSerializer() {
+        List<ProductDto> products = List.of(ProductDto.builder().productId(7).name("Headphones").price(99.5).build());
+
+        assertThat(underTest.serialize(products).length)
+                .isLessThan(new JdkSerializationRedisSerializer().serialize(products).length);
+    }
+
+    @Test
+    void shouldReadBackACachedPage() {
+        SmileCacheValueSerializer pageSerializer = new SmileCacheValueSerializer(
+                smileMapper, smileMapper.getTypeFactory().constructParametricType(CachedPage.class, ProductDto.class)
+        );
+        Page<ProductDto> page = new PageImpl<>(
+                List.of(ProductDto.builder().productId(7).name("Headphones").build()),
+                PageRequest.of(2, 1, Sort.by("name")),
+                5
+        );
+
+        CachedPage<?> cached = (CachedPage<?>) pageSerializer.deserialize(pageSerializer.serialize(CachedPage.of(page)));
+
+        assertThat(cached.toPage(Sort.by("name"))).isEqualTo(page);
+    }
+
+    @Test
+    void shouldReadBackACachedNull() {
+        assertThat(underTest.deserialize(underTest.serialize(NullValue.INSTANCE))).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    void shouldKeepTheCodecHeaderAndMissUnreadableEntries() {
+        CacheValueCodec codec = new CacheValueCodec("allProducts", underTest, 2, 1024, new SimpleMeterRegistry());
+        CacheValueCodec jdkCodec = new CacheValueCodec(
+                "allProducts", new JdkSerializationRedisSerializer(), 2, 1024, new SimpleMeterRegistry()
+        );
+        List<ProductDto> products = List.of(ProductDto.builder().productId(7).name("Headphones").build());
+
+        byte[] encoded = codec.serialize(products);
+
+        assertThat(encoded[0]).isEqualTo(CacheValueCodec.MAGIC);
+        assertThat(codec.deserialize(encoded)).isEqualTo(products);
+        assertThat(codec.deserialize(jdkCodec.serialize(products))).isNull();
+    }
+
+}
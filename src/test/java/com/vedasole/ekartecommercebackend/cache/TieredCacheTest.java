@@ -0,0 +1,222 @@
+package com.vedasole.ekartecommercebackend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TieredCacheTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+    private ConcurrentMapCache redisCache;
+    private TieredCache tieredCache;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = new ConcurrentMapCache("product");
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> localCache =
+                Caffeine.newBuilder().maximumSize(10).build();
+        tieredCache = new TieredCache(
+                "product", redisCache, localCache, null, invalidationBus, new RedisCircuitBreaker(5, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromLocalTier() {
+        // Given
+        redisCache.put(1L, "product-1");
+
+        // When
+        tieredCache.get(1L);
+        redisCache.evict(1L);
+        Cache.ValueWrapper second = tieredCache.get(1L);
+
+        // Then
+        assertThat(second).isNotNull();
+        assertThat(second.get()).isEqualTo("product-1");
+        assertThat(tieredCache.getL2Hits()).isEqualTo(1);
+        assertThat(tieredCache.getL1Hits()).isEqualTo(1);
+        assertThat(tieredCache.getL1HitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldCountMissWhenValueIsLoaded() {
+        // When
+        String value = tieredCache.get(2L, () -> "loaded");
+
+        // Then
+        assertThat(value).isEqualTo("loaded");
+        assertThat(tieredCache.getMisses()).isEqualTo(1);
+        assertThat(redisCache.get(2L)).isNotNull();
+        assertThat(tieredCache.getL1Size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLookUpManyKeysAcrossBothTiers() {
+        // Given
+        tieredCache.put(4L, "product-4");
+        redisCache.put(5L, "product-5");
+
+        // When
+        Map<Object, Object> found = tieredCache.getAll(List.of(4L, 5L, 6L));
+        tieredCache.putAll(Map.of(6L, "product-6"));
+
+        // Then
+        assertThat(found).containsOnly(entry(4L, "product-4"), entry(5L, "product-5"));
+        assertThat(tieredCache.getL1Hits()).isEqualTo(1);
+        assertThat(tieredCache.getL2Hits()).isEqualTo(1);
+        assertThat(tieredCache.getMisses()).isEqualTo(1);
+        assertThat(redisCache.get(6L)).isNotNull();
+        assertThat(tieredCache.getAll(List.of(5L, 6L))).hasSize(2);
+        assertThat(tieredCache.getL1Hits()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldEvictBothTiersAndBroadcast() {
+        // Given
+        tieredCache.put(3L, "product-3");
+
+        // When
+        tieredCache.evict(3L);
+
+        // Then
+        assertThat(redisCache.get(3L)).isNull();
+        assertThat(tieredCache.get(3L)).isNull();
+        verify(invalidationBus).publishEvict("product", 3L);
+    }
+
+    @Test
+    void shouldOnlyDropLocalEntryOnRemoteEviction() {
+        // Given
+        tieredCache.put(4L, "product-4");
+
+        // When
+        tieredCache.evictLocal(TieredCache.localKey(4L));
+
+        // Then
+        assertThat(tieredCache.getL1Size()).isZero();
+        assertThat(redisCache.get(4L)).isNotNull();
+    }
+
+    @Test
+    void shouldLoadFromTheDatabaseAndStopCallingRedisOnceItFails() {
+        // Given
+        UnavailableCache unavailableCache = new UnavailableCache();
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(2, Duration.ofHours(1));
+        TieredCache degradedCache = new TieredCache(
+                "customers", unavailableCache, null, Caffeine.newBuilder().maximumSize(10).build(),
+                invalidationBus, circuitBreaker);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(degradedCache.get(1L, () -> "customer-" + loads.incrementAndGet())).isEqualTo("customer-1");
+        }
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(unavailableCache.calls).hasValue(2);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(degradedCache.getDegradedCalls()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReplayTheEvictionsRedisMissedOnceItIsBack() {
+        // Given
+        UnavailableCache unavailableCache = new UnavailableCache();
+        unavailableCache.getNativeCache().put(5L, "stale");
+        TieredCache degradedCache = new TieredCache(
+                "customers", unavailableCache, null, null, invalidationBus, new RedisCircuitBreaker(1, Duration.ZERO));
+        degradedCache.evict(5L);
+
+        // When
+        unavailableCache.available = true;
+        Cache.ValueWrapper value = degradedCache.get(5L);
+
+        // Then
+        assertThat(value).isNull();
+        assertThat(unavailableCache.getNativeCache()).doesNotContainKey(5L);
+    }
+
+    @Test
+    void shouldCloseTheCircuitWhenTheLoaderOfTheProbeFails() {
+        // Given
+        UnavailableCache unavailableCache = new UnavailableCache();
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(1, Duration.ZERO);
+        TieredCache degradedCache = new TieredCache(
+                "customers", unavailableCache, null, null, invalidationBus, circuitBreaker);
+        degradedCache.get(6L, () -> "customer-6");
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        unavailableCache.available = true;
+
+        // When
+        assertThatThrownBy(() -> degradedCache.get(7L, () -> {
+            throw new IllegalArgumentException("No property 'bogus' found");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(degradedCache.get(8L, () -> "customer-8")).isEqualTo("customer-8");
+        assertThat(unavailableCache.getNativeCache()).containsKey(8L);
+    }
+
+    /**
+     * A Redis tier which fails every call until it is made available.
+     */
+    private static class UnavailableCache extends ConcurrentMapCache {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean available;
+
+        UnavailableCache() {
+            super("customers");
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            check();
+            return super.lookup(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            check();
+            return super.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            check();
+            super.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            check();
+            super.evict(key);
+        }
+
+        private void check() {
+            calls.incrementAndGet();
+            if (!available) throw new IllegalStateException("Redis is unavailable");
+        }
+
+    }
+
+}
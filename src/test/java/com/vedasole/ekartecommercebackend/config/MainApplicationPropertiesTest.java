@@ -0,0 +1,88 @@
+package com.vedasole.ekartecommercebackend.config;
+
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import com.vedasole.ekartecommercebackend.repository.DailyIncomeRepo;
+import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
+import com.vedasole.ekartecommercebackend.repository.OrderRepo;
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import com.vedasole.ekartecommercebackend.search.ProductSearchEngine;
+import com.vedasole.ekartecommercebackend.search.ProductSearchIndexer;
+import com.vedasole.ekartecommercebackend.search.ProductSearchRefresher;
+import com.vedasole.ekartecommercebackend.search.ProductSuggester;
+import com.vedasole.ekartecommercebackend.service.service_impl.IncomeRollupServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Starts the property bound and scheduled beans with the main {@code application.properties}, which the test
+ * {@code application.properties} shadows on the test classpath, so that a value the application cannot start with
+ * fails here rather than on deployment.
+ */
+class MainApplicationPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getEnvironment().getPropertySources().addFirst(mainProperties()))
+            .withUserConfiguration(PropertiesAndSchedulingConfig.class)
+            .withBean(ProductSearchEngine.class, () -> mock(ProductSearchEngine.class))
+            .withBean(ProductRepo.class, () -> mock(ProductRepo.class))
+            .withBean(CategoryRepo.class, () -> mock(CategoryRepo.class))
+            .withBean(OrderItemRepo.class, () -> mock(OrderItemRepo.class))
+            .withBean(OrderRepo.class, () -> mock(OrderRepo.class))
+            .withBean(DailyIncomeRepo.class, () -> mock(DailyIncomeRepo.class))
+            .withBean(EntityManager.class, () -> mock(EntityManager.class))
+            .withBean(PlatformTransactionManager.class, () -> mock(PlatformTransactionManager.class))
+            .withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+            .withBean(ProductSearchIndexer.class)
+            .withBean(ProductSearchRefresher.class)
+            .withBean(ProductSuggester.class)
+            .withBean(IncomeRollupServiceImpl.class);
+
+    @Test
+    void shouldBindTheEkartProperties() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean(EkartSearchProperties.class).getRefreshInterval()).isEqualTo(Duration.ofMinutes(5));
+            assertThat(context.getBean(EkartCacheProperties.class).getNear().getTimeToLive()).isEqualTo(Duration.ofSeconds(60));
+            assertThat(context.getBean(EkartImportProperties.class).getChunkSize()).isEqualTo(500);
+        });
+    }
+
+    @Test
+    void shouldScheduleTheRefreshAndRebuildJobs() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean(ScheduledTaskHolder.class).getScheduledTasks()).hasSize(2);
+        });
+    }
+
+    private static ResourcePropertySource mainProperties() {
+        try {
+            return new ResourcePropertySource("main", new FileSystemResource("src/main/resources/application.properties"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @EnableConfigurationProperties({EkartSearchProperties.class, EkartCacheProperties.class, EkartImportProperties.class})
+    static class PropertiesAndSchedulingConfig {
+    }
+
+}
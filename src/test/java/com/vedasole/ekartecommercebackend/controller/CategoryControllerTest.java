@@ -17,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -26,6 +27,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.vedasole.ekartecommercebackend.utility.AppConstant.MAX_PAGE_SIZE;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -192,6 +194,28 @@ class CategoryControllerTest {
         compareCategoryDto("$._embedded.categories[1]", resultActions, category);
     }
 
+    /**
+     * This test method is responsible for serving a page larger than the cursor endpoints allow, as before.
+     *
+     * @throws Exception If any error occurs during the test.
+     */
+    @Test
+    void getAllCategoriesByPageAcceptsLargeSize() throws Exception {
+        //given
+        int size = MAX_PAGE_SIZE + 1;
+        given(categoryService.getAllCategoriesByPage(0, size, "categoryId", "asc"))
+                .willReturn(new PageImpl<>(List.of(convertToCategoryDto(expected))));
+
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl.concat("/page"))
+                        .param("size", String.valueOf(size))
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray());
+    }
+
     public void compareCategoryDto(String startingPathExpression, ResultActions resultActions, Category compareWith) throws Exception {
         if (compareWith== null) compareWith = expected;
         resultActions.andExpect(jsonPath("$").exists())
@@ -0,0 +1,114 @@
+package com.vedasole.ekartecommercebackend.mapper;
+
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.payload.OrderItemDto;
+import com.vedasole.ekartecommercebackend.utility.AppConstant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderMapperTest {
+
+    private OrderMapper underTest;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new OrderMapper(new CustomerMapper(), new AddressMapper(), new OrderItemMapper());
+
+        Category category = new Category();
+        category.setCategoryId(3);
+        Product product = new Product();
+        product.setProductId(7);
+        product.setName("Headphones");
+        product.setPrice(99.5);
+        product.setCategory(category);
+
+        Customer customer = new Customer();
+        customer.setCustomerId(11);
+        customer.setFirstName("Jane");
+        customer.setUser(new User(5, "jane@ekart.com", "secret", AppConstant.Role.USER));
+
+        order = new Order();
+        order.setOrderId(21);
+        order.setCustomer(customer);
+        order.setAddress(new Address(4, "1 Main St", "Floor 2", "Pune", "MH", "India", 411001));
+        order.setOrderStatus(AppConstant.OrderStatus.ORDER_CREATED);
+        OrderItem orderItem = new OrderItem(order, product, 2);
+        orderItem.setOrderItemId(100);
+        order.setOrderItems(List.of(orderItem));
+        order.setTotal(199);
+    }
+
+    @Test
+    void shouldMapOrderWithCustomerAddressAndItems() {
+        OrderDto orderDto = underTest.toDto(order);
+
+        assertThat(orderDto.getOrderId()).isEqualTo(21);
+        assertThat(orderDto.getTotal()).isEqualTo(199);
+        assertThat(orderDto.getOrderStatus()).isEqualTo(AppConstant.OrderStatus.ORDER_CREATED);
+        assertThat(orderDto.getCustomer().getEmail()).isEqualTo("jane@ekart.com");
+        assertThat(orderDto.getCustomer().getRole()).isEqualTo(AppConstant.Role.USER);
+        assertThat(orderDto.getCustomer().getPassword()).isNull();
+        assertThat(orderDto.getAddress().getCity()).isEqualTo("Pune");
+        assertThat(orderDto.getOrderItems()).singleElement().satisfies(orderItemDto -> {
+            assertThat(orderItemDto.getOrderItemId()).isEqualTo(100);
+            assertThat(orderItemDto.getOrderId()).isEqualTo(21);
+            assertThat(orderItemDto.getQuantity()).isEqualTo(2);
+            assertThat(orderItemDto.getProduct().getProductId()).isEqualTo(7);
+            assertThat(orderItemDto.getProduct().getName()).isEqualTo("Headphones");
+            assertThat(orderItemDto.getProduct().getPrice()).isEqualTo(99.5);
+        });
+    }
+
+    @Test
+    void shouldMapItemsFromTheirPriceSnapshot() {
+        Product product = order.getOrderItems().get(0).getProduct();
+        product.setName("Renamed");
+        product.setPrice(150);
+
+        OrderDto orderDto = underTest.toDto(order);
+
+        assertThat(orderDto.getOrderItems()).singleElement().satisfies(orderItemDto -> {
+            assertThat(orderItemDto.getProduct().getName()).isEqualTo("Headphones");
+            assertThat(orderItemDto.getProduct().getPrice()).isEqualTo(99.5);
+        });
+    }
+
+    @Test
+    void shouldMapOrderWithoutTrustingTheItemsOfTheDto() {
+        Order mapped = underTest.toEntity(underTest.toDto(order));
+
+        assertThat(mapped.getOrderId()).isEqualTo(21);
+        assertThat(mapped.getCustomer().getCustomerId()).isEqualTo(11);
+        assertThat(mapped.getAddress().getPostalCode()).isEqualTo(411001);
+        assertThat(mapped.getOrderItems()).isNull();
+    }
+
+    @Test
+    void shouldSnapshotItemsFromTheGivenProduct() {
+        OrderItemDto orderItemDto = underTest.toDto(order).getOrderItems().get(0);
+        orderItemDto.getProduct().setName("Tampered");
+        orderItemDto.getProduct().setPrice(0.5);
+        Product storedProduct = order.getOrderItems().get(0).getProduct();
+
+        OrderItem orderItem = new OrderItemMapper().toEntity(orderItemDto, order, storedProduct);
+
+        assertThat(orderItem.getOrder()).isSameAs(order);
+        assertThat(orderItem.getProduct()).isSameAs(storedProduct);
+        assertThat(orderItem.getProductName()).isEqualTo("Headphones");
+        assertThat(orderItem.getUnitPrice()).isEqualTo(99.5);
+        assertThat(orderItem.getQuantity()).isEqualTo(2);
+    }
+
+}
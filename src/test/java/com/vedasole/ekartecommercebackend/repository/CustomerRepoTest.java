@@ -3,6 +3,7 @@ package com.vedasole.ekartecommercebackend.repository;
 import com.vedasole.ekartecommercebackend.entity.Customer;
 import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
 import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.payload.CustomerDto;
 import com.vedasole.ekartecommercebackend.utility.AppConstant;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -83,4 +84,20 @@ class CustomerRepoTest {
         assertThatThrownBy(expected::get).isInstanceOf(NoSuchElementException.class);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReadCustomerDtoProjectionByEmail() {
+
+        //when
+        Optional<CustomerDto> customerDto = underTest.findCustomerDtoByEmail("johndoe@email.com");
+
+        //then
+        assertThat(customerDto).isPresent();
+        assertThat(customerDto.get().getFirstName()).isEqualTo("John");
+        assertThat(customerDto.get().getEmail()).isEqualTo("johndoe@email.com");
+        assertThat(customerDto.get().getRole()).isEqualTo(AppConstant.Role.USER);
+        assertThat(customerDto.get().getPassword()).isNull();
+        assertThat(customerDto.get().getShoppingCart()).isNull();
+
+    }
+
+}
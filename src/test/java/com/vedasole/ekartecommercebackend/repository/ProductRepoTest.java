@@ -2,12 +2,17 @@ package com.vedasole.ekartecommercebackend.repository;
 
 import com.vedasole.ekartecommercebackend.entity.Category;
 import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.search.IndexedProduct;
+import com.vedasole.ekartecommercebackend.utility.FieldSet;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -157,4 +162,76 @@ class ProductRepoTest {
         assertTrue(savedProducts.isEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReadProductDtoProjectionsPerPage() {
+
+        //When
+        Page<ProductDto> products = underTest.findAllProductDtos(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price")));
+
+        //Then
+        assertThat(products.getTotalElements()).isEqualTo(3);
+        assertThat(products.getContent())
+                .extracting(ProductDto::getPrice)
+                .containsExactly(300.0, 200.0);
+        ProductDto first = products.getContent().get(0);
+        Product expected = underTest.findById(first.getProductId()).orElseThrow();
+        assertThat(first.getName()).isEqualTo(expected.getName());
+        assertThat(first.getCategoryId()).isEqualTo(expected.getCategory().getCategoryId());
+
+    }
+
+    @Test
+    void shouldReadOnlyTheRequestedColumnsOfTheCategoryProducts() {
+
+        //Given
+        long categoryId = underTest.findAll(Sort.by("productId")).get(0).getCategory().getCategoryId();
+        FieldSet fields = FieldSet.parse(ProductDto.class, "productId", "name,price");
+
+        //When
+        Page<ProductDto> products = underTest.findProductDtos(categoryId, fields, PageRequest.of(0, 1, Sort.by("price")));
+
+        //Then
+        assertThat(products.getTotalElements()).isEqualTo(2);
+        assertThat(products.getContent()).hasSize(1);
+        ProductDto first = products.getContent().get(0);
+        assertThat(first.getPrice()).isEqualTo(100.0);
+        assertThat(first.getName()).isNotNull();
+        assertThat(first.getDesc()).isNull();
+        assertThat(first.getCreatedAt()).isNull();
+    }
+
+    @Test
+    void shouldReadProductDtoProjectionById() {
+
+        //Given
+        Product product = underTest.findAll(Sort.by("productId")).get(0);
+
+        //When
+        Optional<ProductDto> productDto = underTest.findProductDtoById(product.getProductId());
+
+        //Then
+        assertThat(productDto).isPresent();
+        assertThat(productDto.get().getDesc()).isEqualTo(product.getDesc());
+        assertThat(productDto.get().getQtyInStock()).isEqualTo(product.getQtyInStock());
+        assertThat(underTest.findProductDtoById(0L)).isEmpty();
+
+    }
+
+    @Test
+    void shouldReadTheIndexedColumnsOfEveryProduct() {
+
+        //Given
+        Product product = underTest.findAll(Sort.by("productId")).get(0);
+
+        //When
+        List<IndexedProduct> products = underTest.findAllIndexedProducts();
+
+        //Then
+        assertThat(products).hasSize(3);
+        assertThat(products).contains(new IndexedProduct(
+                product.getProductId(), product.getName(), product.getDesc(), product.getCategory().getCategoryId()
+        ));
+
+    }
+
+}
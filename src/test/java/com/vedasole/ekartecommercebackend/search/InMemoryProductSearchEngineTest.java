@@ -0,0 +1,68 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import com.vedasole.ekartecommercebackend.config.EkartSearchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryProductSearchEngineTest {
+
+    private InMemoryProductSearchEngine underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new InMemoryProductSearchEngine(new EkartSearchProperties());
+        underTest.rebuild(List.of(
+                new ProductSearchDocument(1, "Running Shoes", "Lightweight shoes for running"),
+                new ProductSearchDocument(2, "Leather Wallet", "A slim wallet which also fits in shoes"),
+                new ProductSearchDocument(3, "AA Batteries", "Pack of rechargeable batteries"),
+                new ProductSearchDocument(4, "Smartphone Case", "Protective case for your smartphone")
+        ));
+    }
+
+    @Test
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        assertThat(underTest.search("shoe", 0, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldMatchStemmedWords() {
+        assertThat(underTest.search("battery", 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void shouldMatchPartiallyTypedLastWord() {
+        assertThat(underTest.search("smar", 0, 10)).containsExactly(4L);
+    }
+
+    @Test
+    void shouldTolerateTypos() {
+        assertThat(underTest.search("walet", 0, 10)).containsExactly(2L);
+        assertThat(underTest.search("smartphnoe", 0, 10)).containsExactly(4L);
+    }
+
+    @Test
+    void shouldReturnNothingForStopWordsOnly() {
+        assertThat(underTest.search("the", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldApplyIncrementalUpdates() {
+        // When
+        underTest.remove(1L);
+        underTest.index(new ProductSearchDocument(2, "Canvas Shoes", "Casual shoes"));
+
+        // Then
+        assertThat(underTest.search("wallet", 0, 10)).isEmpty();
+        assertThat(underTest.search("shoes", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void shouldPageResults() {
+        assertThat(underTest.search("shoe", 1, 1)).containsExactly(2L);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import com.vedasole.ekartecommercebackend.config.EkartSearchProperties;
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import com.vedasole.ekartecommercebackend.repository.OrderItemRepo;
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductSearchIndexerTest {
+
+    private ProductRepo productRepo;
+    private InMemoryProductSearchEngine searchEngine;
+    private ProductSuggester suggester;
+    private ProductSearchIndexer underTest;
+
+    @BeforeEach
+    void setUp() {
+        productRepo = mock(ProductRepo.class);
+        searchEngine = new InMemoryProductSearchEngine(new EkartSearchProperties());
+        suggester = new ProductSuggester(mock(CategoryRepo.class), mock(OrderItemRepo.class), new EkartSearchProperties());
+        underTest = new ProductSearchIndexer(searchEngine, suggester, productRepo);
+    }
+
+    @Test
+    void shouldLoadTheProductsOnceForTheIndexAndTheSuggestions() {
+        // Given
+        given(productRepo.findAllIndexedProducts()).willReturn(List.of(new IndexedProduct(1, "Running Shoes", "", 3)));
+
+        // When
+        underTest.rebuild();
+
+        // Then
+        verify(productRepo, times(1)).findAllIndexedProducts();
+        assertThat(searchEngine.search("shoes", 0, 10)).containsExactly(1L);
+        assertThat(suggester.suggest("run", 10)).extracting(Suggestion::id).containsExactly(1L);
+    }
+
+    @Test
+    void shouldKeepTheWritesCommittedWhileRebuilding() {
+        // Given
+        given(productRepo.findAllIndexedProducts()).willAnswer(invocation -> {
+            underTest.onProductChanged(ProductChangedEvent.saved(new ProductSearchDocument(2, "Leather Wallet", "")));
+            underTest.onProductChanged(ProductChangedEvent.deleted(1));
+            return List.of(new IndexedProduct(1, "Running Shoes", "", 3));
+        });
+
+        // When
+        underTest.rebuild();
+
+        // Then
+        assertThat(searchEngine.search("shoes", 0, 10)).isEmpty();
+        assertThat(searchEngine.search("wallet", 0, 10)).containsExactly(2L);
+        assertThat(suggester.suggest("run", 10)).isEmpty();
+        assertThat(suggester.suggest("lea", 10)).extracting(Suggestion::id).containsExactly(2L);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.vedasole.ekartecommercebackend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = SuggestionIndex.build(List.of(
+                new Suggestion("Running Shoes", Suggestion.PRODUCT, 1, 5),
+                new Suggestion("Shoe Rack", Suggestion.PRODUCT, 2, 9),
+                new Suggestion("Shoes", Suggestion.CATEGORY, 3, 20),
+                new Suggestion("Shirt", Suggestion.PRODUCT, 4, 1)
+        ), 10);
+    }
+
+    @Test
+    void shouldReturnCompletionsByPopularity() {
+        assertThat(underTest.complete("Sho", 10))
+                .extracting(Suggestion::id)
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void shouldMatchFromTheStartOfEveryWord() {
+        assertThat(underTest.complete("rack", 10))
+                .extracting(Suggestion::text)
+                .containsExactly("Shoe Rack");
+    }
+
+    @Test
+    void shouldRespectLimit() {
+        assertThat(underTest.complete("s", 2))
+                .extracting(Suggestion::id)
+                .containsExactly(3L, 2L);
+    }
+
+    @Test
+    void shouldReturnNothingForUnknownOrBlankPrefix() {
+        assertThat(underTest.complete("xyz", 10)).isEmpty();
+        assertThat(underTest.complete("  ", 10)).isEmpty();
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.vedasole.ekartecommercebackend.service.serviceImpl;
+
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCartItem;
+import com.vedasole.ekartecommercebackend.service.service_impl.CheckoutOrderBuilder;
+import com.vedasole.ekartecommercebackend.utility.AppConstant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckoutOrderBuilderTest {
+
+    private final CheckoutOrderBuilder underTest = new CheckoutOrderBuilder();
+
+    @Test
+    void shouldPriceTheCartIntoANewOrder() {
+        // Given
+        Customer customer = new Customer();
+        customer.setCustomerId(11);
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.setCustomer(customer);
+        shoppingCart.setShoppingCartItems(new ArrayList<>(List.of(
+                cartItem(product(7, 200, 10), 2),
+                cartItem(product(8, 50, 0), 3)
+        )));
+
+        // When
+        Order order = underTest.build(shoppingCart);
+
+        // Then
+        assertThat(order.getOrderId()).isZero();
+        assertThat(order.getCustomer()).isSameAs(customer);
+        assertThat(order.getOrderStatus()).isEqualTo(AppConstant.OrderStatus.ORDER_CREATED);
+        assertThat(order.getAddress().getAddressId()).isZero();
+        assertThat(order.getTotal()).isEqualTo(510);
+        assertThat(order.getOrderItems()).hasSize(2).allSatisfy(orderItem -> {
+            assertThat(orderItem.getOrder()).isSameAs(order);
+            assertThat(orderItem.getOrderItemId()).isZero();
+        });
+        assertThat(order.getOrderItems().get(1).getProduct().getProductId()).isEqualTo(8);
+        assertThat(order.getOrderItems().get(1).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldBuildAnEmptyOrderFromAnEmptyCart() {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.setCustomer(new Customer());
+
+        Order order = underTest.build(shoppingCart);
+
+        assertThat(order.getOrderItems()).isEmpty();
+        assertThat(order.getTotal()).isZero();
+    }
+
+    private static Product product(long productId, double price, double discount) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setPrice(price);
+        product.setDiscount(discount);
+        return product;
+    }
+
+    private static ShoppingCartItem cartItem(Product product, long quantity) {
+        ShoppingCartItem cartItem = new ShoppingCartItem();
+        cartItem.setProduct(product);
+        cartItem.setQuantity(quantity);
+        return cartItem;
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.vedasole.ekartecommercebackend.service.serviceImpl;
+
+import com.vedasole.ekartecommercebackend.entity.DailyIncome;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.repository.DailyIncomeRepo;
+import com.vedasole.ekartecommercebackend.repository.OrderRepo;
+import com.vedasole.ekartecommercebackend.service.service_impl.IncomeRollupServiceImpl;
+import com.vedasole.ekartecommercebackend.utility.AppConstant.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IncomeRollupServiceImplTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 9, 18, 45);
+    private static final LocalDate DAY = CREATED_AT.toLocalDate();
+
+    @Mock
+    private DailyIncomeRepo dailyIncomeRepo;
+    @Mock
+    private OrderRepo orderRepo;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    private IncomeRollupServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new IncomeRollupServiceImpl(
+                dailyIncomeRepo, orderRepo, entityManager, transactionManager, redisTemplate);
+    }
+
+    @Test
+    void shouldAddAPlacedOrderToItsDay() {
+        // Given
+        given(dailyIncomeRepo.addIncome(DAY, 510, 1)).willReturn(1);
+
+        // When
+        underTest.recordChange(order(OrderStatus.ORDER_PLACED, 510), OrderStatus.ORDER_CREATED, 509.6);
+
+        // Then
+        verify(dailyIncomeRepo).addIncome(DAY, 510, 1);
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void shouldCreateTheDayOfItsFirstOrderInItsOwnTransaction() {
+        // Given
+        given(dailyIncomeRepo.addIncome(DAY, 510, 1)).willReturn(0, 1);
+        given(dailyIncomeRepo.existsById(DAY)).willReturn(false);
+
+        // When
+        underTest.recordChange(order(OrderStatus.ORDER_PLACED, 510), OrderStatus.ORDER_CREATED, 510);
+
+        // Then
+        ArgumentCaptor<DailyIncome> dailyIncomeCaptor = ArgumentCaptor.forClass(DailyIncome.class);
+        var inOrder = inOrder(transactionManager, entityManager, dailyIncomeRepo);
+        inOrder.verify(dailyIncomeRepo).addIncome(DAY, 510, 1);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(entityManager).persist(dailyIncomeCaptor.capture());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(dailyIncomeRepo).addIncome(DAY, 510, 1);
+        assertThat(dailyIncomeCaptor.getValue()).isEqualTo(new DailyIncome(DAY, "2024-03", 0, 0));
+    }
+
+    @Test
+    void shouldAddToTheDayCreatedByAConcurrentTransaction() {
+        // Given
+        given(dailyIncomeRepo.addIncome(DAY, 510, 1)).willReturn(0, 1);
+        given(dailyIncomeRepo.existsById(DAY)).willReturn(false);
+        willThrow(new DataIntegrityViolationException("duplicate key")).given(transactionManager).commit(any());
+
+        // When
+        underTest.recordChange(order(OrderStatus.ORDER_PLACED, 510), OrderStatus.ORDER_CREATED, 510);
+
+        // Then
+        verify(dailyIncomeRepo, times(2)).addIncome(DAY, 510, 1);
+    }
+
+    @Test
+    void shouldNotCountAnOrderPlacedTwice() {
+        underTest.recordChange(order(OrderStatus.ORDER_PLACED, 510), OrderStatus.ORDER_PLACED, 510);
+        underTest.recordChange(order(OrderStatus.ORDER_SHIPPED, 510), OrderStatus.ORDER_PLACED, 510);
+
+        verify(dailyIncomeRepo, never()).addIncome(any(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void shouldNotCountAnOrderWhichIsNotPlaced() {
+        underTest.recordChange(order(OrderStatus.ORDER_EXPIRED, 510), OrderStatus.ORDER_CREATED, 510);
+
+        verify(dailyIncomeRepo, never()).addIncome(any(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void shouldTakeACancelledOrRefundedOrderBack() {
+        given(dailyIncomeRepo.addIncome(DAY, -510, -1)).willReturn(1);
+
+        underTest.recordChange(order(OrderStatus.ORDER_CANCELLED, 510), OrderStatus.ORDER_PLACED, 510);
+        underTest.recordChange(order(OrderStatus.ORDER_REFUNDED, 510), OrderStatus.ORDER_DELIVERED, 510);
+
+        verify(dailyIncomeRepo, times(2)).addIncome(DAY, -510, -1);
+    }
+
+    @Test
+    void shouldApplyTheChangeOfTheTotalOfAPlacedOrder() {
+        given(dailyIncomeRepo.addIncome(DAY, -60, 0)).willReturn(1);
+
+        underTest.recordChange(order(OrderStatus.ORDER_PLACED, 450), OrderStatus.ORDER_PLACED, 510);
+
+        verify(dailyIncomeRepo).addIncome(DAY, -60, 0);
+    }
+
+    @Test
+    void shouldTakeADeletedOrderBack() {
+        given(dailyIncomeRepo.addIncome(DAY, -510, -1)).willReturn(1);
+
+        underTest.recordRemoval(order(OrderStatus.ORDER_COMPLETED, 510));
+        underTest.recordRemoval(order(OrderStatus.ORDER_FAILED, 510));
+
+        verify(dailyIncomeRepo).addIncome(DAY, -510, -1);
+    }
+
+    @Test
+    void shouldRebuildTheRollupFromTheOrders() {
+        // Given
+        List<DailyIncome> dailyIncomes = List.of(
+                new DailyIncome(DAY, 510.0, 1L),
+                new DailyIncome(DAY.plusDays(1), 360.0, 2L)
+        );
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(eq("ekart:income:rebuild"), anyString(), any(Duration.class))).willReturn(true);
+        given(orderRepo.getDailyIncome(IncomeRollupServiceImpl.INCOME_STATUSES)).willReturn(dailyIncomes);
+
+        // When
+        underTest.rebuild();
+
+        // Then
+        var inOrder = inOrder(dailyIncomeRepo, entityManager);
+        inOrder.verify(dailyIncomeRepo).deleteAllInBatch();
+        inOrder.verify(entityManager).persist(dailyIncomes.get(0));
+        inOrder.verify(entityManager).persist(dailyIncomes.get(1));
+        assertThat(dailyIncomes.get(1).getMonth()).isEqualTo("2024-03");
+    }
+
+    @Test
+    void shouldLeaveTheRebuildToTheNodeHoldingTheLock() {
+        // Given
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(eq("ekart:income:rebuild"), anyString(), any(Duration.class))).willReturn(false);
+
+        // When
+        underTest.rebuild();
+
+        // Then
+        verify(orderRepo, never()).getDailyIncome(any());
+        verify(dailyIncomeRepo, never()).deleteAllInBatch();
+    }
+
+    private static Order order(OrderStatus orderStatus, double total) {
+        Order order = new Order();
+        order.setOrderStatus(orderStatus);
+        order.setTotal(total);
+        order.setCreatedAt(CREATED_AT);
+        return order;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.vedasole.ekartecommercebackend.service.serviceImpl;
+
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.exception.ResourceNotFoundException;
+import com.vedasole.ekartecommercebackend.mapper.OrderItemMapper;
+import com.vedasole.ekartecommercebackend.payload.OrderItemDto;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import com.vedasole.ekartecommercebackend.service.service_impl.OrderItemAssembler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderItemAssemblerTest {
+
+    @Mock
+    private ProductRepo productRepo;
+    private OrderItemAssembler underTest;
+    private Product headphones;
+    private Product speaker;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new OrderItemAssembler(productRepo, new OrderItemMapper());
+        headphones = product(7, "Headphones", 99.5);
+        speaker = product(8, "Speaker", 150);
+    }
+
+    @Test
+    void shouldSnapshotNewItemsFromTheStoredProducts() {
+        given(productRepo.findAllById(Set.of(7L))).willReturn(List.of(headphones));
+        Order order = new Order();
+
+        List<OrderItem> orderItems = underTest.build(List.of(itemDto(0, 7, "Tampered", 0.5, 2)), order);
+
+        assertThat(orderItems).singleElement().satisfies(orderItem -> {
+            assertThat(orderItem.getOrder()).isSameAs(order);
+            assertThat(orderItem.getProduct()).isSameAs(headphones);
+            assertThat(orderItem.getProductName()).isEqualTo("Headphones");
+            assertThat(orderItem.getUnitPrice()).isEqualTo(99.5);
+        });
+        assertThat(OrderItemAssembler.total(orderItems)).isEqualTo(199);
+    }
+
+    @Test
+    void shouldRejectItemsOfMissingProducts() {
+        given(productRepo.findAllById(Set.of(9L))).willReturn(List.of());
+        List<OrderItemDto> orderItemDtos = List.of(itemDto(0, 9, "Ghost", 1, 1));
+        Order order = new Order();
+
+        assertThatThrownBy(() -> underTest.build(orderItemDtos, order))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void shouldKeepTheSnapshotOfAnItemEditedWithoutChangingItsProduct() {
+        Order order = new Order();
+        OrderItem storedItem = new OrderItem(order, headphones, 1);
+        storedItem.setOrderItemId(100);
+        order.setOrderItems(new ArrayList<>(List.of(storedItem)));
+        headphones.setPrice(120);
+
+        List<OrderItem> orderItems = underTest.merge(order, List.of(itemDto(100, 7, "Tampered", 0.5, 3)));
+
+        assertThat(orderItems).containsExactly(storedItem);
+        assertThat(storedItem.getUnitPrice()).isEqualTo(99.5);
+        assertThat(storedItem.getProductName()).isEqualTo("Headphones");
+        assertThat(storedItem.getQuantity()).isEqualTo(3);
+        verify(productRepo, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldTakeANewSnapshotWhenTheProductOfAnItemChanges() {
+        Order order = new Order();
+        OrderItem storedItem = new OrderItem(order, headphones, 1);
+        storedItem.setOrderItemId(100);
+        order.setOrderItems(new ArrayList<>(List.of(storedItem)));
+        given(productRepo.findAllById(Set.of(8L))).willReturn(List.of(speaker));
+
+        underTest.merge(storedItem, itemDto(100, 8, "Tampered", 0.5, 1));
+
+        assertThat(storedItem.getProduct()).isSameAs(speaker);
+        assertThat(storedItem.getProductName()).isEqualTo("Speaker");
+        assertThat(storedItem.getUnitPrice()).isEqualTo(150);
+    }
+
+    private static Product product(long productId, String name, double price) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setName(name);
+        product.setPrice(price);
+        return product;
+    }
+
+    private static OrderItemDto itemDto(long orderItemId, long productId, String name, double price, long quantity) {
+        OrderItemDto orderItemDto = new OrderItemDto();
+        orderItemDto.setOrderItemId(orderItemId);
+        orderItemDto.setProduct(ProductDto.builder().productId(productId).name(name).price(price).build());
+        orderItemDto.setQuantity(quantity);
+        return orderItemDto;
+    }
+
+}
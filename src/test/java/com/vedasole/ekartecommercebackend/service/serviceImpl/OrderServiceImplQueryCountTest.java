@@ -0,0 +1,180 @@
+package com.vedasole.ekartecommercebackend.service.serviceImpl;
+
+import com.vedasole.ekartecommercebackend.entity.Address;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Customer;
+import com.vedasole.ekartecommercebackend.entity.Order;
+import com.vedasole.ekartecommercebackend.entity.OrderItem;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.entity.ShoppingCart;
+import com.vedasole.ekartecommercebackend.entity.User;
+import com.vedasole.ekartecommercebackend.mapper.AddressMapper;
+import com.vedasole.ekartecommercebackend.mapper.CustomerMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderItemMapper;
+import com.vedasole.ekartecommercebackend.mapper.OrderMapper;
+import com.vedasole.ekartecommercebackend.payload.OrderDto;
+import com.vedasole.ekartecommercebackend.service.service_impl.IncomeRollupServiceImpl;
+import com.vedasole.ekartecommercebackend.service.service_impl.OrderItemAssembler;
+import com.vedasole.ekartecommercebackend.service.service_impl.OrderServiceImpl;
+import com.vedasole.ekartecommercebackend.service.service_interface.OrderService;
+import com.vedasole.ekartecommercebackend.utility.AppConstant;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements run to read the order listings, which must not grow with the number of orders, their items
+ * or their customers.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+        OrderServiceImpl.class,
+        IncomeRollupServiceImpl.class,
+        OrderMapper.class,
+        CustomerMapper.class,
+        AddressMapper.class,
+        OrderItemMapper.class,
+        OrderItemAssembler.class
+})
+class OrderServiceImplQueryCountTest {
+
+    private static final int CUSTOMERS = 3;
+    private static final int ORDERS_PER_CUSTOMER = 4;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @MockBean
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private OrderService underTest;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private long customerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setActive(true);
+        testEntityManager.persist(category);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            Product product = new Product();
+            product.setName("Headphones " + i);
+            product.setImage("headphones.png");
+            product.setSku("ELE-HeadX-" + i);
+            product.setPrice(99.5);
+            product.setDiscount(10);
+            product.setQtyInStock(40);
+            product.setCategory(category);
+            products.add(testEntityManager.persist(product));
+        }
+
+        for (int c = 0; c < CUSTOMERS; c++) {
+            String email = "customer" + c + "@email.com";
+            Customer customer = new Customer();
+            customer.setFirstName("John");
+            customer.setLastName("Doe");
+            customer.setPhoneNumber("1234567890");
+            customer.setEmail(email);
+            customer.setUser(new User(email, "password", AppConstant.Role.USER));
+            ShoppingCart shoppingCart = new ShoppingCart();
+            shoppingCart.setCustomer(customer);
+            customer.setShoppingCart(shoppingCart);
+            customerId = testEntityManager.persist(customer).getCustomerId();
+
+            for (int o = 0; o < ORDERS_PER_CUSTOMER; o++) {
+                Order order = new Order();
+                order.setCustomer(customer);
+                order.setAddress(testEntityManager.persist(new Address("1 Main St", "Floor 2", "Pune", "MH", "India", 411001)));
+                order.setOrderStatus(AppConstant.OrderStatus.ORDER_PLACED);
+                List<OrderItem> orderItems = new ArrayList<>();
+                for (Product product : products) orderItems.add(new OrderItem(order, product, 2));
+                order.setOrderItems(orderItems);
+                testEntityManager.persist(order);
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void shouldReadAPageOfAllOrdersWithAConstantNumberOfStatements() {
+        // The orders with their customer and address, their count, and their items
+        assertThat(statementsToRead(() -> underTest.getAllOrdersPerPage(0, 2, "orderId", "asc").getContent(), 2))
+                .isEqualTo(3);
+        assertThat(statementsToRead(() -> underTest.getAllOrdersPerPage(0, 10, "orderId", "asc").getContent(), 10))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldReadAPageOfTheOrdersOfACustomerWithAConstantNumberOfStatements() {
+        assertThat(statementsToRead(
+                () -> underTest.getAllOrdersbyCustomerPerPage(customerId, 0, 2, "orderId", "asc").getContent(), 2
+        )).isEqualTo(3);
+        assertThat(statementsToRead(
+                () -> underTest.getAllOrdersbyCustomerPerPage(customerId, 1, 2, "orderId", "asc").getContent(), 2
+        )).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReadASliceOfOrdersWithAConstantNumberOfStatements() {
+        // The orders with their customer, user, cart and address, and their items
+        assertThat(statementsToRead(() -> underTest.getAllOrdersByCursor(null, 2, "orderId", "asc").getContent(), 2))
+                .isEqualTo(2);
+        assertThat(statementsToRead(() -> underTest.getAllOrdersByCursor(null, 10, "orderId", "asc").getContent(), 10))
+                .isEqualTo(2);
+        assertThat(statementsToRead(
+                () -> underTest.getAllOrdersByCustomerByCursor(customerId, null, 3, "orderId", "asc").getContent(), 3
+        )).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReadAnOrderWithItsItemsInTwoStatements() {
+        long orderId = underTest.getAllOrdersPerPage(0, 1, "orderId", "asc").getContent().get(0).getOrderId();
+        testEntityManager.clear();
+
+        statistics.clear();
+        OrderDto orderDto = underTest.getOrder(orderId);
+
+        assertThat(orderDto.getOrderItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private long statementsToRead(Supplier<List<OrderDto>> read, int expectedOrders) {
+        testEntityManager.clear();
+        statistics.clear();
+        List<OrderDto> orders = read.get();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(orders).hasSize(expectedOrders).allSatisfy(orderDto -> {
+            assertThat(orderDto.getCustomer().getEmail()).isNotNull();
+            assertThat(orderDto.getAddress().getCity()).isEqualTo("Pune");
+            assertThat(orderDto.getOrderItems()).hasSize(ITEMS_PER_ORDER);
+        });
+        return statements;
+    }
+
+}
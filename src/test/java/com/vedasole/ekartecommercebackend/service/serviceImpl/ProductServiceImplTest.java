@@ -0,0 +1,145 @@
+package com.vedasole.ekartecommercebackend.service.serviceImpl;
+
+import com.vedasole.ekartecommercebackend.cache.CacheKeys;
+import com.vedasole.ekartecommercebackend.cache.CacheTagIndex;
+import com.vedasole.ekartecommercebackend.cache.CatalogVersionTracker;
+import com.vedasole.ekartecommercebackend.entity.Category;
+import com.vedasole.ekartecommercebackend.entity.Product;
+import com.vedasole.ekartecommercebackend.mapper.ProductMapper;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import com.vedasole.ekartecommercebackend.repository.CategoryRepo;
+import com.vedasole.ekartecommercebackend.repository.ProductRepo;
+import com.vedasole.ekartecommercebackend.search.ProductSearchEngine;
+import com.vedasole.ekartecommercebackend.search.ProductSuggester;
+import com.vedasole.ekartecommercebackend.service.service_impl.ProductServiceImpl;
+import com.vedasole.ekartecommercebackend.service.service_interface.ProductService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceImplTest {
+
+    @Mock
+    private ProductRepo productRepo;
+    @Mock
+    private CategoryRepo categoryRepo;
+    @Mock
+    private CacheTagIndex cacheTagIndex;
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private ProductSearchEngine productSearchEngine;
+    @Mock
+    private ProductSuggester productSuggester;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EntityManager entityManager;
+    @Captor
+    private ArgumentCaptor<Collection<String>> scopesCaptor;
+    private final ProductMapper productMapper = new ProductMapper();
+    private ProductService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ProductServiceImpl(
+                productRepo,
+                categoryRepo,
+                cacheTagIndex,
+                catalogVersionTracker,
+                cacheManager,
+                productSearchEngine,
+                productSuggester,
+                eventPublisher,
+                entityManager,
+                productMapper
+        );
+    }
+
+    @Test
+    void shouldUpdateAProductWithinItsCategory() {
+        // Given
+        Category category = category(3);
+        Product productInDB = product(7, category);
+        given(productRepo.findById(7L)).willReturn(Optional.of(productInDB));
+        given(categoryRepo.findById(3L)).willReturn(Optional.of(category));
+        ProductDto productDto = productMapper.toDto(productInDB);
+        productDto.setPrice(120);
+
+        // When
+        ProductDto updatedProduct = underTest.updateProduct(productDto, 7L);
+
+        // Then
+        assertThat(updatedProduct.getPrice()).isEqualTo(120);
+        verify(productRepo).save(productInDB);
+        verify(catalogVersionTracker).changed(scopesCaptor.capture());
+        assertThat(scopesCaptor.getValue()).containsExactlyInAnyOrder(
+                CatalogVersionTracker.ALL_PRODUCTS,
+                CacheKeys.productTag(7),
+                CacheKeys.categoryTag(3)
+        );
+    }
+
+    @Test
+    void shouldUpdateAProductMovedToAnotherCategory() {
+        // Given
+        Product productInDB = product(7, category(3));
+        Category newCategory = category(4);
+        given(productRepo.findById(7L)).willReturn(Optional.of(productInDB));
+        given(categoryRepo.findById(4L)).willReturn(Optional.of(newCategory));
+        ProductDto productDto = productMapper.toDto(productInDB);
+        productDto.setCategoryId(4);
+
+        // When
+        ProductDto updatedProduct = underTest.updateProduct(productDto, 7L);
+
+        // Then
+        assertThat(updatedProduct.getCategoryId()).isEqualTo(4);
+        verify(catalogVersionTracker).changed(scopesCaptor.capture());
+        assertThat(scopesCaptor.getValue()).containsExactlyInAnyOrder(
+                CatalogVersionTracker.ALL_PRODUCTS,
+                CacheKeys.productTag(7),
+                CacheKeys.categoryTag(3),
+                CacheKeys.categoryTag(4)
+        );
+    }
+
+    private static Category category(long categoryId) {
+        Category category = new Category();
+        category.setCategoryId(categoryId);
+        category.setName("Electronics");
+        category.setActive(true);
+        return category;
+    }
+
+    private static Product product(long productId, Category category) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setName("Headphones");
+        product.setImage("headphones.png");
+        product.setSku("ELE-HeadX-1");
+        product.setPrice(99.5);
+        product.setDiscount(10);
+        product.setQtyInStock(40);
+        product.setCategory(category);
+        return product;
+    }
+
+}
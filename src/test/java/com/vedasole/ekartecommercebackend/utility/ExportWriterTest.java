@@ -0,0 +1,55 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedasole.ekartecommercebackend.exception.APIException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldWriteOneJsonDocumentPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = new ExportWriter(ExportWriter.Format.NDJSON, out, objectMapper)) {
+            writer.write(row(1, "Shoes"));
+            writer.write(row(2, "Shirt"));
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":1,\"name\":\"Shoes\"}\n{\"id\":2,\"name\":\"Shirt\"}\n");
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndEscaping() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = new ExportWriter(ExportWriter.Format.CSV, out, objectMapper)) {
+            writer.write(row(1, "Shoes, \"red\""));
+            writer.write(row(2, null));
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,name\n1,\"Shoes, \"\"red\"\"\"\n2,\n");
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> ExportWriter.Format.fromString("xml"))
+                .isInstanceOf(APIException.class);
+    }
+
+    private static Map<String, Object> row(long id, String name) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        return row;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedasole.ekartecommercebackend.exception.APIException;
+import com.vedasole.ekartecommercebackend.payload.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSetTest {
+
+    @Test
+    void shouldAlwaysIncludeTheIdField() {
+        FieldSet fields = FieldSet.parse(ProductDto.class, "productId", "price, name,,image");
+
+        assertThat(fields.names()).containsExactly("productId", "name", "image", "price");
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> FieldSet.parse(ProductDto.class, "productId", "name,password"))
+                .isInstanceOf(APIException.class)
+                .hasMessage("Field password is not supported");
+    }
+
+    @Test
+    void shouldWriteOnlyTheRequestedFields() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().setFilterProvider(FieldSet.SERIALIZE_ALL);
+        ProductDto product = new ProductDto("Headphones", "headphones.png", "Wireless headphones", 99.5, 10, 40, 3);
+        product.setProductId(7);
+        FieldSet fields = FieldSet.parse(ProductDto.class, "productId", "name,price");
+
+        String json = objectMapper.writer(fields.filter(List.of(product)).getFilters())
+                .writeValueAsString(List.of(product));
+
+        assertThat(json).isEqualTo("[{\"productId\":7,\"name\":\"Headphones\",\"price\":99.5}]");
+        assertThat(objectMapper.writeValueAsString(product)).contains("\"desc\":\"Wireless headphones\"");
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldReadCsvRowsAsObjectsKeyedByHeader() throws IOException {
+        String csv = "name,price,desc\n\nShoes,12.5,\"Red, \"\"fast\"\"\nshoes\"\nShirt,,Blue\n";
+        try (ImportReader reader = reader(ExportWriter.Format.CSV, csv)) {
+            JsonNode first = reader.next();
+            assertThat(reader.getRowNumber()).isEqualTo(1);
+            assertThat(first.get("name").asText()).isEqualTo("Shoes");
+            assertThat(first.get("price").asText()).isEqualTo("12.5");
+            assertThat(first.get("desc").asText()).isEqualTo("Red, \"fast\"\nshoes");
+
+            JsonNode second = reader.next();
+            assertThat(reader.getRowNumber()).isEqualTo(2);
+            assertThat(second.has("price")).isFalse();
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void shouldSkipMalformedRowAndContinue() throws IOException {
+        String ndjson = "{\"name\":\"a\"}\nnot json\n{\"name\":\"b\"}\n";
+        try (ImportReader reader = reader(ExportWriter.Format.NDJSON, ndjson)) {
+            assertThat(reader.next().get("name").asText()).isEqualTo("a");
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+            assertThat(reader.getRowNumber()).isEqualTo(2);
+            assertThat(reader.next().get("name").asText()).isEqualTo("b");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void shouldRejectCsvRowWithMoreValuesThanHeader() throws IOException {
+        try (ImportReader reader = reader(ExportWriter.Format.CSV, "name,price\nShoes,1,extra\n")) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Row 1");
+        }
+    }
+
+    private ImportReader reader(ExportWriter.Format format, String content) {
+        return new ImportReader(format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper);
+    }
+
+}
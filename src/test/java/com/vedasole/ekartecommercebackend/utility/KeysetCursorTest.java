@@ -0,0 +1,71 @@
+package com.vedasole.ekartecommercebackend.utility;
+
+import com.vedasole.ekartecommercebackend.exception.APIException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static final Map<String, Class<?>> SORT_FIELDS = Map.of(
+            "orderId", Long.class,
+            "total", Double.class,
+            "createdAt", LocalDateTime.class
+    );
+
+    @Test
+    void shouldStartFromTheBeginningWithoutToken() {
+        KeysetCursor cursor = KeysetCursor.resolve(null, "total", "desc", SORT_FIELDS, "orderId");
+
+        assertThat(cursor.getPosition().isInitial()).isTrue();
+        assertThat(cursor.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "total", "orderId"));
+    }
+
+    @Test
+    void shouldRoundTripTheLastKeysOfTheWindow() {
+        // Given
+        KeysetCursor first = KeysetCursor.resolve(null, "createdAt", "asc", SORT_FIELDS, "orderId");
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 15, 30);
+        Map<String, Object> lastKeys = new LinkedHashMap<>();
+        lastKeys.put("createdAt", createdAt);
+        lastKeys.put("orderId", 42L);
+        Window<String> window = Window.from(List.of("a", "b"), index -> ScrollPosition.forward(lastKeys), true);
+
+        // When
+        String token = first.next(window);
+        KeysetCursor next = KeysetCursor.resolve(token, "orderId", "desc", SORT_FIELDS, "orderId");
+
+        // Then
+        assertThat(next.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "createdAt", "orderId"));
+        assertThat(((KeysetScrollPosition) next.getPosition()).getKeys())
+                .containsEntry("createdAt", createdAt)
+                .containsEntry("orderId", 42L);
+    }
+
+    @Test
+    void shouldNotReturnTokenAfterTheLastWindow() {
+        KeysetCursor cursor = KeysetCursor.resolve(null, "orderId", "asc", SORT_FIELDS, "orderId");
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("orderId", 1L)), false);
+
+        assertThat(cursor.next(window)).isNull();
+    }
+
+    @Test
+    void shouldRejectUnknownSortFieldsAndMalformedTokens() {
+        assertThatThrownBy(() -> KeysetCursor.resolve(null, "password", "asc", SORT_FIELDS, "orderId"))
+                .isInstanceOf(APIException.class);
+        assertThatThrownBy(() -> KeysetCursor.resolve("not-a-cursor", "orderId", "asc", SORT_FIELDS, "orderId"))
+                .isInstanceOf(APIException.class);
+    }
+
+}